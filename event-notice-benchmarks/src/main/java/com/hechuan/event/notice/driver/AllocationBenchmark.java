@@ -0,0 +1,109 @@
+package com.hechuan.event.notice.driver;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+
+/**
+ * 同步投递每个事件的堆分配：每次新建 PostEvent 与从回收池取得后归还的对比
+ * <p>
+ * 分配量由 {@code ThreadMXBean.getThreadAllocatedBytes} 按投递线程统计，作为次要结果 {@code bytesPerPost} 报告，
+ * 仅供参考；回收池投递不分配堆内存由 event-notice 的单元测试 {@code PostAllocationTest} 检查。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AllocationBenchmark {
+
+	static final String TASK_ID = "alloc";
+
+	private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory
+			.getThreadMXBean();
+
+	@Param({ "create", "pooled" })
+	String mode;
+
+	TaskEventBus bus;
+	PostBenchmark.BenchEvent event;
+
+	@Setup(Level.Trial)
+	public void setUp(Blackhole blackhole) {
+		bus = new TaskEventBus("allocation");
+		bus.register(new Listener(blackhole));
+		event = new PostBenchmark.BenchEvent(42);
+	}
+
+	@Benchmark
+	public void post(Allocation allocation) {
+		if ("pooled".equals(mode)) {
+			PostEvent postEvent = PostEvent.obtain().setTaskId(TASK_ID).setEvent(event);
+			bus.post(postEvent);
+			postEvent.release();
+		} else {
+			bus.post(PostEvent.create().setTaskId(TASK_ID).setEvent(event));
+		}
+		allocation.posts++;
+	}
+
+	/**
+	 * Heap allocated by the posting thread over an iteration, per post.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Allocation {
+
+		private long threadId;
+		private long allocatedAtStart;
+		private long posts;
+
+		@Setup(Level.Iteration)
+		public void startCounting() {
+			threadId = Thread.currentThread().getId();
+			posts = 0L;
+			allocatedAtStart = THREADS.getThreadAllocatedBytes(threadId);
+		}
+
+		public double bytesPerPost() {
+			return posts == 0L ? 0D : (double) (THREADS.getThreadAllocatedBytes(threadId) - allocatedAtStart) / posts;
+		}
+	}
+
+	public static class Listener {
+		private final Blackhole blackhole;
+
+		public Listener(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Subscribe(taskId = TASK_ID)
+		@AllowConcurrentEvents
+		public void on(PostBenchmark.BenchEvent event) {
+			blackhole.consume(event.value);
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package com.hechuan.event.notice.driver;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * 投递速度超过监听方法处理速度时，有界总线各溢出策略下的投递吞吐与受理比例
+ * <p>
+ * 不设上限时积压随测试时间线性增长直至内存耗尽，因此不作为对照参数。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BackPressureBenchmark {
+
+	static final String TASK_ID = "flood";
+
+	@Param({ "BLOCK", "DROP_NEWEST", "DROP_OLDEST", "REJECT", "CALLER_RUNS" })
+	OverflowPolicy overflow;
+
+	@Param({ "1024" })
+	int capacity;
+
+	ExecutorService executor;
+	TaskEventBus bus;
+	PostEvent postEvent;
+
+	@Setup(Level.Trial)
+	public void setUp(Blackhole blackhole) {
+		executor = Executors.newSingleThreadExecutor(
+				new ThreadFactoryBuilder().setNameFormat("flood-subscriber").setDaemon(true).build());
+		bus = new TaskEventBus("flood", executor);
+		bus.register(new Listener(blackhole));
+		bus.setCapacity(capacity, overflow, 10, TimeUnit.MILLISECONDS);
+		postEvent = PostEvent.create().setTaskId(TASK_ID).setEvent(Long.valueOf(7));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Benchmark
+	public PostResult post(Outcomes outcomes) {
+		PostResult result = bus.post(postEvent);
+		if (result.isAccepted()) {
+			outcomes.accepted++;
+		} else {
+			outcomes.refused++;
+		}
+		return result;
+	}
+
+	/**
+	 * Posts accepted and refused by the full bus.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Outcomes {
+		public long accepted;
+		public long refused;
+	}
+
+	public static class Listener {
+		private final Blackhole blackhole;
+
+		public Listener(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Subscribe(taskId = TASK_ID)
+		@AllowConcurrentEvents
+		public void on(Long event) {
+			Blackhole.consumeCPU(500);
+			blackhole.consume(event);
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package com.hechuan.event.notice.driver;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+
+/**
+ * 监听方法阻塞 1ms（模拟 I/O）时，虚拟线程执行器与固定大小线程池的吞吐对比。需要 JDK 21+ 运行。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class BlockingSubscriberBenchmark {
+
+	static final String TASK_ID = "blocking";
+	static final int EVENTS = 1000;
+
+	@Param({ "virtual", "fixedPool" })
+	String executor;
+
+	ExecutorService pool;
+	TaskEventBus bus;
+	Listener listener;
+	PostEvent postEvent;
+
+	@Setup
+	public void setUp() {
+		if ("virtual".equals(executor)) {
+			VirtualThreadExecutor virtual = VirtualThreadExecutor.create().orElseThrow(new Supplier<RuntimeException>() {
+				@Override
+				public RuntimeException get() {
+					return new IllegalStateException("virtual threads require JDK 21 or later");
+				}
+			});
+			bus = new TaskEventBus("blocking", virtual);
+		} else {
+			pool = Executors.newFixedThreadPool(64);
+			bus = new TaskEventBus("blocking", pool);
+		}
+		listener = new Listener();
+		bus.register(listener);
+		postEvent = PostEvent.create().setTaskId(TASK_ID).setEvent(Long.valueOf(1));
+	}
+
+	@TearDown
+	public void tearDown() {
+		if (pool != null) {
+			pool.shutdownNow();
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(EVENTS)
+	public void postBlocking() throws InterruptedException {
+		CountDownLatch done = new CountDownLatch(EVENTS);
+		listener.done = done;
+		for (int i = 0; i < EVENTS; i++) {
+			bus.post(postEvent);
+		}
+		done.await();
+	}
+
+	public static class Listener {
+		volatile CountDownLatch done;
+
+		@Subscribe(taskId = TASK_ID)
+		@AllowConcurrentEvents
+		public void on(Long event) throws InterruptedException {
+			Thread.sleep(1);
+			done.countDown();
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package com.hechuan.event.notice.driver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hechuan.event.notice.codec.BinaryEventSerializer;
+import com.hechuan.event.notice.codec.BufferPool;
+import com.hechuan.event.notice.event.TaskEvent;
+import com.hechuan.event.notice.journal.EventSerializer;
+import com.hechuan.event.notice.journal.JavaEventSerializer;
+
+/**
+ * 事件序列化吞吐：紧凑二进制格式（注册类型与任务ID字典、未注册按类名反射）与 Java 序列化对比，
+ * 事件为 {@link TaskEvent} 和一个普通 POJO；二进制编码写入池化的直接缓冲
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+	static final String TASK_ID = "codec";
+
+	@Param({ "binary", "binaryUnregistered", "java" })
+	String format;
+
+	@Param({ "taskEvent", "pojo" })
+	String event;
+
+	EventSerializer serializer;
+	BufferPool pool;
+	PostEvent postEvent;
+	ByteBuffer encoded;
+
+	@Setup
+	public void setUp() throws IOException {
+		if ("java".equals(format)) {
+			serializer = new JavaEventSerializer();
+		} else {
+			BinaryEventSerializer binary = new BinaryEventSerializer();
+			if ("binary".equals(format)) {
+				binary.codec().register(32, TaskEvent.class).register(33, OrderPlaced.class).registerTaskId(TASK_ID);
+			}
+			serializer = binary;
+		}
+		pool = new BufferPool(4096, 16, true);
+		postEvent = PostEvent.create().setTaskId(TASK_ID)
+				.setEvent("pojo".equals(event) ? new OrderPlaced() : new TaskEvent("order-20261017-0001"));
+
+		encoded = ByteBuffer.allocateDirect(4096);
+		serializer.serialize(postEvent, encoded);
+		encoded.flip();
+	}
+
+	@Benchmark
+	public int encode() throws IOException {
+		ByteBuffer buffer = pool.acquire();
+		serializer.serialize(postEvent, buffer);
+		int size = buffer.position();
+		pool.release(buffer);
+		return size;
+	}
+
+	@Benchmark
+	public PostEvent decode() throws IOException {
+		return serializer.deserialize(encoded.duplicate());
+	}
+
+	public static class OrderPlaced implements java.io.Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private long orderId = 20261017000001L;
+		private String customer = "hechuan";
+		private int quantity = 3;
+		private double amount = 299.5;
+		private boolean express = true;
+		private TaskEvent task = new TaskEvent("order-20261017-0001");
+
+		@Override
+		public String toString() {
+			return orderId + "/" + customer + "/" + quantity + "/" + amount + "/" + express + "/" + task;
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package com.hechuan.event.notice.driver;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+
+/**
+ * 多线程并发广播下各 Dispatcher 的吞吐（异步分发器只统计投递端）
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class ConcurrentPostBenchmark {
+
+	static final String TASK_ID = "concurrent";
+
+	@Param({ "perThread", "legacyAsync", "immediate", "ringBuffer" })
+	String dispatcher;
+
+	TaskEventBus bus;
+	PostEvent postEvent;
+
+	@Setup
+	public void setUp(Blackhole blackhole) {
+		bus = new TaskEventBus("concurrent", dispatcher(dispatcher));
+		bus.register(new Listener(blackhole));
+		postEvent = PostEvent.create().setTaskId(TASK_ID).setEvent(Long.valueOf(7));
+	}
+
+	@TearDown
+	public void tearDown() {
+		if (bus.dispatcher() instanceof RingBufferDispatcher) {
+			((RingBufferDispatcher) bus.dispatcher()).halt();
+		}
+	}
+
+	@Benchmark
+	public void post() {
+		bus.post(postEvent);
+	}
+
+	static Dispatcher dispatcher(String name) {
+		if ("perThread".equals(name)) {
+			return Dispatcher.perThreadDispatchQueue();
+		} else if ("legacyAsync".equals(name)) {
+			return Dispatcher.legacyAsync();
+		} else if ("immediate".equals(name)) {
+			return Dispatcher.immediate();
+		} else if ("ringBuffer".equals(name)) {
+			return Dispatcher.ringBuffer(8192, 1, 256, WaitStrategy.parking());
+		}
+		throw new IllegalArgumentException(name);
+	}
+
+	public static class Listener {
+		private final Blackhole blackhole;
+
+		public Listener(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Subscribe(taskId = TASK_ID)
+		@AllowConcurrentEvents
+		public void on(Long event) {
+			blackhole.consume(event);
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package com.hechuan.event.notice.driver;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 突发状态更新投递到慢速监听方法：合并与逐个处理的对比。每次操作投递一批更新并等待每个任务的最新版本被处理，
+ * 避免投递速度超过处理速度时无限堆积。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConflationBenchmark {
+
+	static final int TASKS = 4;
+	static final int BURST = 100;
+
+	@Param({ "true", "false" })
+	boolean conflate;
+
+	ExecutorService executor;
+	TaskEventBus bus;
+	String[] taskIds;
+	final AtomicLongArray handled = new AtomicLongArray(TASKS);
+	long version;
+
+	@Setup
+	public void setUp() {
+		executor = Executors.newSingleThreadExecutor();
+		bus = new TaskEventBus("conflation", executor);
+		bus.register(conflate ? new ConflatingListener(handled) : new Listener(handled));
+		taskIds = new String[TASKS];
+		for (int i = 0; i < TASKS; i++) {
+			taskIds[i] = "update-" + i;
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BURST)
+	public void postBurst() {
+		for (int i = 0; i < BURST; i++) {
+			int task = i % TASKS;
+			bus.post(PostEvent.create().setTaskId(taskIds[task]).setEvent(new Update(task, ++version)));
+		}
+		for (int task = 0; task < TASKS; task++) {
+			while (handled.get(task) < version - TASKS + 1 + task) {
+				Thread.yield();
+			}
+		}
+	}
+
+	public static final class Update {
+		final int task;
+		final long version;
+
+		Update(int task, long version) {
+			this.task = task;
+			this.version = version;
+		}
+	}
+
+	public static class Listener {
+		private final AtomicLongArray handled;
+
+		public Listener(AtomicLongArray handled) {
+			this.handled = handled;
+		}
+
+		@Subscribe(taskId = "update-*")
+		public void on(Update update) {
+			Blackhole.consumeCPU(500);
+			handled.lazySet(update.task, update.version);
+		}
+	}
+
+	public static class ConflatingListener {
+		private final AtomicLongArray handled;
+
+		public ConflatingListener(AtomicLongArray handled) {
+			this.handled = handled;
+		}
+
+		@Subscribe(taskId = "update-*", conflate = true)
+		public void on(Update update) {
+			Blackhole.consumeCPU(500);
+			handled.lazySet(update.task, update.version);
+		}
+	}
+}
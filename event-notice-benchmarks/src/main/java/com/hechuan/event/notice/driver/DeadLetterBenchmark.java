@@ -0,0 +1,77 @@
+package com.hechuan.event.notice.driver;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+
+/**
+ * 失败路径的开销：无人监听的事件进入死信队列，以及监听方法失败后放弃处理
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeadLetterBenchmark {
+
+	private static final IllegalStateException FAILURE = new IllegalStateException("failed");
+
+	TaskEventBus bus;
+	PostEvent unrouted;
+	PostEvent failing;
+
+	@Setup
+	public void setUp() {
+		bus = new TaskEventBus(new SubscriberExceptionHandler() {
+			@Override
+			public void handleException(Throwable exception, SubscriberExceptionContext context) {
+			}
+		});
+		bus.register(new Listener());
+		unrouted = PostEvent.create().setTaskId("nobody").setEvent(Long.valueOf(7));
+		failing = PostEvent.create().setTaskId("failing").setEvent(Long.valueOf(7));
+	}
+
+	/**
+	 * An event nobody listens to, stored as a dead letter.
+	 */
+	@Benchmark
+	public void unrouted() {
+		bus.post(unrouted);
+	}
+
+	/**
+	 * A subscriber failing without retries, its event stored as a dead
+	 * letter.
+	 */
+	@Benchmark
+	public void failed() {
+		bus.post(failing);
+	}
+
+	public static class Listener {
+		@Subscribe(taskId = "failing")
+		@AllowConcurrentEvents
+		public void on(Long event) {
+			throw FAILURE;
+		}
+	}
+}
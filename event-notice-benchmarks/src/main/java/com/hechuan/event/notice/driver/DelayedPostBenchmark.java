@@ -0,0 +1,91 @@
+package com.hechuan.event.notice.driver;
+
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.Lists;
+
+/**
+ * 大量延时广播待触发时，时间轮与 {@link ScheduledThreadPoolExecutor} 的调度加取消开销对比
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DelayedPostBenchmark {
+
+	@Param({ "1000", "1000000" })
+	int pending;
+
+	TaskEventBus bus;
+	PostEvent postEvent;
+	List<ScheduledPost> pendingPosts;
+
+	ScheduledThreadPoolExecutor executor;
+	Runnable post;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		bus = new TaskEventBus("delayed");
+		postEvent = PostEvent.create().setTaskId("delayed").setEvent(Long.valueOf(7));
+		pendingPosts = Lists.newArrayListWithCapacity(pending);
+		for (int i = 0; i < pending; i++) {
+			pendingPosts.add(bus.postDelayed(postEvent, 1 + i % 3600, TimeUnit.SECONDS));
+		}
+
+		executor = new ScheduledThreadPoolExecutor(1);
+		executor.setRemoveOnCancelPolicy(true);
+		post = new Runnable() {
+			@Override
+			public void run() {
+				bus.post(postEvent);
+			}
+		};
+		for (int i = 0; i < pending; i++) {
+			executor.schedule(post, 1 + i % 3600, TimeUnit.SECONDS);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		for (ScheduledPost scheduled : pendingPosts) {
+			scheduled.cancel();
+		}
+		executor.shutdownNow();
+	}
+
+	@Benchmark
+	public boolean wheel() {
+		return bus.postDelayed(postEvent, 30, TimeUnit.MINUTES).cancel();
+	}
+
+	@Benchmark
+	public boolean scheduledExecutor() {
+		Future<?> future = executor.schedule(post, 30, TimeUnit.MINUTES);
+		return future.cancel(false);
+	}
+}
@@ -0,0 +1,137 @@
+package com.hechuan.event.notice.driver;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+
+/**
+ * 深层事件继承体系下的路由：已缓存路由的广播，以及注册变化后经 flattenHierarchy 重新解析路由
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HierarchyBenchmark {
+
+	static final String TASK_ID = "deep";
+
+	TaskEventBus bus;
+	PostEvent deepEvent;
+	PostEvent flatEvent;
+	Object churnListener;
+
+	@Setup
+	public void setUp(Blackhole blackhole) {
+		bus = new TaskEventBus("hierarchy");
+		bus.register(new RootListener(blackhole));
+		bus.register(new MarkerListener(blackhole));
+		deepEvent = PostEvent.create().setTaskId(TASK_ID).setEvent(new Level8());
+		flatEvent = PostEvent.create().setTaskId(TASK_ID).setEvent(new Level0());
+		churnListener = new MarkerListener(blackhole);
+	}
+
+	@Benchmark
+	public void postFlatEvent() {
+		bus.post(flatEvent);
+	}
+
+	@Benchmark
+	public void postDeepEvent() {
+		bus.post(deepEvent);
+	}
+
+	/**
+	 * Every registration change rebuilds the routes of the deep event through
+	 * the flattened hierarchy.
+	 */
+	@Benchmark
+	public void registerThenPostDeepEvent() {
+		bus.register(churnListener);
+		bus.post(deepEvent);
+		bus.unregister(churnListener);
+	}
+
+	public interface Marker1 {
+	}
+
+	public interface Marker2 extends Marker1 {
+	}
+
+	public interface Marker3 {
+	}
+
+	public static class Level0 {
+	}
+
+	public static class Level1 extends Level0 implements Marker1 {
+	}
+
+	public static class Level2 extends Level1 {
+	}
+
+	public static class Level3 extends Level2 implements Marker2 {
+	}
+
+	public static class Level4 extends Level3 {
+	}
+
+	public static class Level5 extends Level4 implements Marker3 {
+	}
+
+	public static class Level6 extends Level5 {
+	}
+
+	public static class Level7 extends Level6 {
+	}
+
+	public static class Level8 extends Level7 {
+	}
+
+	public static class RootListener {
+		private final Blackhole blackhole;
+
+		public RootListener(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Subscribe(taskId = TASK_ID)
+		@AllowConcurrentEvents
+		public void on(Level0 event) {
+			blackhole.consume(event);
+		}
+	}
+
+	public static class MarkerListener {
+		private final Blackhole blackhole;
+
+		public MarkerListener(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Subscribe(taskId = TASK_ID)
+		@AllowConcurrentEvents
+		public void on(Marker2 event) {
+			blackhole.consume(event);
+		}
+	}
+}
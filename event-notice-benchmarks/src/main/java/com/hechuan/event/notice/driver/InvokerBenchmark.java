@@ -0,0 +1,125 @@
+package com.hechuan.event.notice.driver;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 监听方法调用方式对比：反射 {@link Method#invoke}、生成类调用器和 MethodHandle 调用器。
+ * {@code types=4} 时同一调用点轮流调用四个不同的监听类，用于观察多态调用点下的表现。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvokerBenchmark {
+
+	static final int CALLS = 4;
+
+	@Param({ "1", "4" })
+	int types;
+
+	final Object event = new Object();
+
+	Object[] targets = new Object[CALLS];
+	Method[] methods = new Method[CALLS];
+	SubscriberInvoker[] generated = new SubscriberInvoker[CALLS];
+	SubscriberInvoker[] methodHandles = new SubscriberInvoker[CALLS];
+
+	@Setup
+	public void setUp() throws Exception {
+		Object[] listeners = { new ListenerA(), new ListenerB(), new ListenerC(), new ListenerD() };
+		for (int i = 0; i < CALLS; i++) {
+			targets[i] = listeners[i % types];
+			methods[i] = targets[i].getClass().getMethod("on", Object.class);
+			methods[i].setAccessible(true);
+			generated[i] = SubscriberInvoker.create(methods[i]);
+			methodHandles[i] = SubscriberInvoker.create(targets[i].getClass().getDeclaredMethod("onHidden", Object.class));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(CALLS)
+	public void reflective(Blackhole blackhole) throws Exception {
+		for (int i = 0; i < CALLS; i++) {
+			blackhole.consume(methods[i].invoke(targets[i], event));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(CALLS)
+	public void generated(Blackhole blackhole) throws Throwable {
+		for (int i = 0; i < CALLS; i++) {
+			blackhole.consume(generated[i].invoke(targets[i], PostEvent.DEFAULT, event));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(CALLS)
+	public void methodHandle(Blackhole blackhole) throws Throwable {
+		for (int i = 0; i < CALLS; i++) {
+			blackhole.consume(methodHandles[i].invoke(targets[i], PostEvent.DEFAULT, event));
+		}
+	}
+
+	public static class ListenerA {
+		public Object on(Object event) {
+			return event;
+		}
+
+		Object onHidden(Object event) {
+			return event;
+		}
+	}
+
+	public static class ListenerB {
+		public Object on(Object event) {
+			return event;
+		}
+
+		Object onHidden(Object event) {
+			return event;
+		}
+	}
+
+	public static class ListenerC {
+		public Object on(Object event) {
+			return event;
+		}
+
+		Object onHidden(Object event) {
+			return event;
+		}
+	}
+
+	public static class ListenerD {
+		public Object on(Object event) {
+			return event;
+		}
+
+		Object onHidden(Object event) {
+			return event;
+		}
+	}
+}
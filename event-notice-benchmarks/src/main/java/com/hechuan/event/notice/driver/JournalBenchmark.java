@@ -0,0 +1,98 @@
+package com.hechuan.event.notice.driver;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+import com.hechuan.event.notice.codec.BinaryEventSerializer;
+import com.hechuan.event.notice.event.TaskEvent;
+import com.hechuan.event.notice.journal.DurableTaskEventBus;
+import com.hechuan.event.notice.journal.EventJournal;
+import com.hechuan.event.notice.journal.JavaEventSerializer;
+
+/**
+ * 预写日志的开销：日志追加加确认，以及经 {@link DurableTaskEventBus} 的完整广播
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JournalBenchmark {
+
+	static final String TASK_ID = "journal";
+
+	@Param({ "binary", "java" })
+	String serializer;
+
+	File directory;
+	EventJournal journal;
+	DurableTaskEventBus bus;
+	PostEvent postEvent;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("task-event-journal").toFile();
+		journal = new EventJournal(directory, EventJournal.DEFAULT_SEGMENT_SIZE,
+				EventJournal.DEFAULT_FLUSH_INTERVAL_MILLIS,
+				"java".equals(serializer) ? new JavaEventSerializer() : new BinaryEventSerializer());
+		bus = new DurableTaskEventBus("journal", journal);
+		bus.register(new Listener());
+		postEvent = PostEvent.create().setTaskId(TASK_ID).setEvent(new TaskEvent("order-20261017-0001"));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		journal.close();
+		File[] files = directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		directory.delete();
+	}
+
+	@Benchmark
+	public long appendAndAcknowledge() throws IOException {
+		long sequence = journal.append(postEvent);
+		journal.acknowledge(sequence);
+		return sequence;
+	}
+
+	@Benchmark
+	public void durablePost() {
+		bus.post(postEvent);
+	}
+
+	public static class Listener {
+
+		@Subscribe(taskId = TASK_ID)
+		@AllowConcurrentEvents
+		public void on(TaskEvent event) {
+		}
+	}
+}
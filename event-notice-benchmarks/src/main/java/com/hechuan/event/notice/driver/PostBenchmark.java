@@ -0,0 +1,84 @@
+package com.hechuan.event.notice.driver;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+
+/**
+ * TaskEventBus.post 在不同订阅者数量下的吞吐
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostBenchmark {
+
+	static final String TASK_ID = "bench";
+
+	@Param({ "0", "1", "10", "100" })
+	int subscribers;
+
+	TaskEventBus bus;
+	PostEvent postEvent;
+
+	@Setup
+	public void setUp(Blackhole blackhole) {
+		bus = new TaskEventBus("post");
+		for (int i = 0; i < subscribers; i++) {
+			bus.register(new Listener(blackhole));
+		}
+		postEvent = PostEvent.create().setTaskId(TASK_ID).setEvent(new BenchEvent(42));
+	}
+
+	@Benchmark
+	public void post() {
+		try {
+			bus.post(postEvent);
+		} catch (RuntimeException e) {
+			// no subscriber: measures the unrouted path
+		}
+	}
+
+	public static class BenchEvent {
+		final int value;
+
+		public BenchEvent(int value) {
+			this.value = value;
+		}
+	}
+
+	public static class Listener {
+		private final Blackhole blackhole;
+
+		public Listener(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Subscribe(taskId = TASK_ID)
+		@AllowConcurrentEvents
+		public void on(BenchEvent event) {
+			blackhole.consume(event.value);
+		}
+	}
+}
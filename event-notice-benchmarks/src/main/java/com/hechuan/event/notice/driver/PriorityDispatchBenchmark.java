@@ -0,0 +1,118 @@
+package com.hechuan.event.notice.driver;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+
+/**
+ * 积压大量批量事件时紧急事件的端到端延迟：按优先级分道与单一环形缓冲的对比。每次操作前排空上一次的积压并投递一批
+ * 低优先级的慢事件（不计入耗时），操作本身投递一个高优先级事件并挂起等待监听方法唤醒。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriorityDispatchBenchmark {
+
+	@Param({ "priorityLanes", "ringBuffer" })
+	String dispatcher;
+
+	@Param({ "100", "1000" })
+	int backlog;
+
+	TaskEventBus bus;
+	PostEvent bulk;
+	final AtomicLong bulkHandled = new AtomicLong();
+	final AtomicLong urgentHandled = new AtomicLong();
+	long bulkPosted;
+	long urgentPosted;
+
+	@Setup
+	public void setUp() {
+		bus = new TaskEventBus("priority", "priorityLanes".equals(dispatcher) ? Dispatcher.priorityLanes(1)
+				: Dispatcher.ringBuffer(4096, WaitStrategy.parking()));
+		bus.register(new Listener(bulkHandled, urgentHandled, Thread.currentThread()));
+		bulk = PostEvent.create().setTaskId("bulk").setEvent(Long.valueOf(7)).setPriority(Priority.LOW);
+	}
+
+	@Setup(Level.Invocation)
+	public void fillBacklog() {
+		while (bulkHandled.get() < bulkPosted) {
+			LockSupport.parkNanos(100000L);
+		}
+		for (int i = 0; i < backlog; i++) {
+			bus.post(bulk);
+		}
+		bulkPosted += backlog;
+	}
+
+	@TearDown
+	public void tearDown() {
+		Dispatcher halted = bus.dispatcher();
+		if (halted instanceof PriorityDispatcher) {
+			((PriorityDispatcher) halted).halt();
+		} else {
+			((RingBufferDispatcher) halted).halt();
+		}
+	}
+
+	@Benchmark
+	public void urgentBehindBacklog() {
+		long sequence = ++urgentPosted;
+		bus.post(PostEvent.create().setTaskId("urgent").setEvent(Long.valueOf(sequence)).setPriority(Priority.HIGH));
+		while (urgentHandled.get() < sequence) {
+			LockSupport.park(this);
+		}
+	}
+
+	public static class Listener {
+		private final AtomicLong bulkHandled;
+		private final AtomicLong urgentHandled;
+		private final Thread waiter;
+
+		public Listener(AtomicLong bulkHandled, AtomicLong urgentHandled, Thread waiter) {
+			this.bulkHandled = bulkHandled;
+			this.urgentHandled = urgentHandled;
+			this.waiter = waiter;
+		}
+
+		@Subscribe(taskId = "bulk")
+		@AllowConcurrentEvents
+		public void onBulk(Long event) {
+			Blackhole.consumeCPU(2000);
+			bulkHandled.lazySet(bulkHandled.get() + 1);
+		}
+
+		@Subscribe(taskId = "urgent")
+		@AllowConcurrentEvents
+		public void onUrgent(Long sequence) {
+			urgentHandled.set(sequence);
+			LockSupport.unpark(waiter);
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package com.hechuan.event.notice.driver;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+
+/**
+ * 注册/注销与广播并发进行时双方的吞吐
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistryChurnBenchmark {
+
+	static final String TASK_ID = "churn";
+
+	@State(Scope.Group)
+	public static class Bus {
+		TaskEventBus bus;
+		PostEvent postEvent;
+
+		@Setup
+		public void setUp(Blackhole blackhole) {
+			bus = new TaskEventBus("churn");
+			// one permanent subscriber so posts never hit the unrouted path
+			bus.register(new Listener(blackhole));
+			postEvent = PostEvent.create().setTaskId(TASK_ID).setEvent("churn");
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class ThreadListener {
+		Listener listener;
+
+		@Setup
+		public void setUp(Blackhole blackhole) {
+			listener = new Listener(blackhole);
+		}
+	}
+
+	@Benchmark
+	@Group("churn")
+	@GroupThreads(2)
+	public void registerUnregister(Bus bus, ThreadListener listener) {
+		bus.bus.register(listener.listener);
+		bus.bus.unregister(listener.listener);
+	}
+
+	@Benchmark
+	@Group("churn")
+	@GroupThreads(2)
+	public void post(Bus bus) {
+		bus.bus.post(bus.postEvent);
+	}
+
+	public static class Listener {
+		private final Blackhole blackhole;
+
+		public Listener(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Subscribe(taskId = TASK_ID)
+		@AllowConcurrentEvents
+		public void on(String event) {
+			blackhole.consume(event);
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package com.hechuan.event.notice.driver;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.base.Predicates;
+import com.google.common.eventbus.AllowConcurrentEvents;
+import com.hechuan.event.notice.codec.BinaryEventSerializer;
+import com.hechuan.event.notice.transport.ForwardingSubscriber;
+import com.hechuan.event.notice.transport.InboundEndpoint;
+import com.hechuan.event.notice.transport.NioTransport;
+import com.hechuan.event.notice.transport.NioTransportServer;
+
+/**
+ * 两个进程内总线经回环套接字转发事件的端到端吞吐：每个事件单独写一次与按批聚集写的对比
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RemoteForwardBenchmark {
+
+	static final int EVENTS = 1000;
+	static final String TASK_ID = "remote";
+
+	@Param({ "1", "1024" })
+	int maxBatch;
+
+	TaskEventBus local;
+	TaskEventBus remote;
+	NioTransportServer server;
+	NioTransport transport;
+	PostEvent postEvent;
+
+	@Setup(Level.Trial)
+	public void setUp(Blackhole blackhole) throws IOException {
+		remote = new TaskEventBus("remote");
+		remote.register(new Listener(blackhole));
+		server = new NioTransportServer(new InetSocketAddress("127.0.0.1", 0), new InboundEndpoint(remote),
+				serializer());
+		server.start();
+
+		transport = new NioTransport(server.localAddress(), serializer(), 64 * 1024, maxBatch);
+		local = new TaskEventBus("local");
+		local.register(new ForwardingSubscriber(transport, Predicates.<String> alwaysTrue()));
+		postEvent = PostEvent.create().setTaskId(TASK_ID).setEvent(Long.valueOf(7));
+	}
+
+	/**
+	 * Codec of one side; both register the same task ids.
+	 */
+	static BinaryEventSerializer serializer() {
+		BinaryEventSerializer serializer = new BinaryEventSerializer();
+		serializer.codec().registerTaskId(TASK_ID);
+		return serializer;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		transport.close();
+		server.close();
+	}
+
+	/**
+	 * Posts {@link #EVENTS} events locally and waits until the remote side
+	 * decoded them all.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(EVENTS)
+	public long forward() {
+		long target = server.getReceived() + EVENTS;
+		for (int i = 0; i < EVENTS; i++) {
+			local.post(postEvent);
+		}
+		while (server.getReceived() < target) {
+			Thread.yield();
+		}
+		return target;
+	}
+
+	public static class Listener {
+		private final Blackhole blackhole;
+
+		public Listener(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Subscribe(taskId = TASK_ID)
+		@AllowConcurrentEvents
+		public void on(Long event) {
+			blackhole.consume(event);
+		}
+	}
+}
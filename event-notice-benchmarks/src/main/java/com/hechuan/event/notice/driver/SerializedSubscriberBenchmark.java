@@ -0,0 +1,119 @@
+package com.hechuan.event.notice.driver;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+
+/**
+ * 多线程投递到同一个非线程安全监听方法：邮箱串行化与监听方法上加锁的对比。每次操作投递一批事件并等待本线程的事件处理完，
+ * 避免投递速度超过处理速度时邮箱无限堆积。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class SerializedSubscriberBenchmark {
+
+	static final String TASK_ID = "serialized";
+	static final int BURST = 100;
+	static final int MAX_PRODUCERS = 64;
+
+	/** {@code mailbox} relies on the bus; {@code monitor} synchronizes the method itself. */
+	@Param({ "mailbox", "monitor" })
+	String serialization;
+
+	TaskEventBus bus;
+	final AtomicLongArray handled = new AtomicLongArray(MAX_PRODUCERS);
+	final AtomicInteger producers = new AtomicInteger();
+
+	@Setup
+	public void setUp(Blackhole blackhole) {
+		bus = new TaskEventBus("serialized", Dispatcher.immediate());
+		bus.register("mailbox".equals(serialization) ? new MailboxListener(handled, blackhole)
+				: new MonitorListener(handled, blackhole));
+	}
+
+	@State(Scope.Thread)
+	public static class Producer {
+		int index;
+		long expected;
+		PostEvent postEvent;
+
+		@Setup
+		public void setUp(SerializedSubscriberBenchmark benchmark) {
+			index = benchmark.producers.getAndIncrement();
+			postEvent = PostEvent.create().setTaskId(TASK_ID).setEvent(Integer.valueOf(index));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BURST)
+	public void postBurst(Producer producer) {
+		for (int i = 0; i < BURST; i++) {
+			bus.post(producer.postEvent);
+		}
+		producer.expected += BURST;
+		while (handled.get(producer.index) < producer.expected) {
+			Thread.yield();
+		}
+	}
+
+	public static class MailboxListener {
+		private final AtomicLongArray handled;
+		private final Blackhole blackhole;
+
+		public MailboxListener(AtomicLongArray handled, Blackhole blackhole) {
+			this.handled = handled;
+			this.blackhole = blackhole;
+		}
+
+		@Subscribe(taskId = TASK_ID)
+		public void on(Integer producer) {
+			blackhole.consume(producer);
+			handled.lazySet(producer, handled.get(producer) + 1);
+		}
+	}
+
+	public static class MonitorListener {
+		private final AtomicLongArray handled;
+		private final Blackhole blackhole;
+
+		public MonitorListener(AtomicLongArray handled, Blackhole blackhole) {
+			this.handled = handled;
+			this.blackhole = blackhole;
+		}
+
+		@Subscribe(taskId = TASK_ID)
+		@AllowConcurrentEvents
+		public synchronized void on(Integer producer) {
+			blackhole.consume(producer);
+			handled.lazySet(producer, handled.get(producer) + 1);
+		}
+	}
+}
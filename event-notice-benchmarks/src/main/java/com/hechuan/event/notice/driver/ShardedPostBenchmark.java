@@ -0,0 +1,106 @@
+package com.hechuan.event.notice.driver;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+
+/**
+ * 多个投递线程同时广播时，分片数对端到端吞吐的影响；每个分片一个消费线程，分片数为 1 即单一总线
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ShardedPostBenchmark {
+
+	static final int TASKS_PER_THREAD = 64;
+
+	@Param({ "1", "2", "4" })
+	int shards;
+
+	ShardedTaskEventBus bus;
+
+	final AtomicInteger nextThread = new AtomicInteger();
+
+	@Setup(Level.Trial)
+	public void setUp(Blackhole blackhole) {
+		bus = new ShardedTaskEventBus("sharded", shards);
+		bus.register(new Listener(blackhole));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		bus.halt();
+	}
+
+	@Benchmark
+	public PostResult post(Producer producer) {
+		return bus.post(producer.next());
+	}
+
+	/**
+	 * Posts events of its own task ids, spread over the shards.
+	 */
+	@State(Scope.Thread)
+	public static class Producer {
+
+		PostEvent[] postEvents;
+		int index;
+
+		@Setup(Level.Trial)
+		public void setUp(ShardedPostBenchmark benchmark) {
+			int thread = benchmark.nextThread.getAndIncrement();
+			postEvents = new PostEvent[TASKS_PER_THREAD];
+			for (int i = 0; i < TASKS_PER_THREAD; i++) {
+				postEvents[i] = PostEvent.create().setTaskId("shard." + thread + "." + i).setEvent(Long.valueOf(i));
+			}
+		}
+
+		PostEvent next() {
+			PostEvent postEvent = postEvents[index];
+			index = (index + 1) % TASKS_PER_THREAD;
+			return postEvent;
+		}
+	}
+
+	public static class Listener {
+		private final Blackhole blackhole;
+
+		public Listener(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Subscribe(taskId = "shard.*")
+		@AllowConcurrentEvents
+		public void on(Long event) {
+			Blackhole.consumeCPU(100);
+			blackhole.consume(event);
+		}
+	}
+}
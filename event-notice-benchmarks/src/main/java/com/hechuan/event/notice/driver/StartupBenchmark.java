@@ -0,0 +1,189 @@
+package com.hechuan.event.notice.driver;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.Lists;
+import com.hechuan.event.notice.processor.SubscriberIndexProcessor;
+
+/**
+ * 启动时注册 {@value #LISTENERS} 个不同监听类的耗时：按编译期索引定位监听方法与反射扫描的对比
+ * <p>
+ * 监听类在试验开始时生成并编译，{@code index} 启用索引生成器，{@code reflection} 关闭注解处理；每轮测量用新的类加载器加载，
+ * 注册器的按类缓存因此总是冷的，如同应用刚启动。需要 JDK 运行。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class StartupBenchmark {
+
+	static final int LISTENERS = 1000;
+	static final String PACKAGE = "com.hechuan.event.notice.startup";
+
+	@Param({ "index", "reflection" })
+	String scan;
+
+	Path classes;
+	URLClassLoader loader;
+	List<Object> listeners;
+	TaskEventBus bus;
+
+	@Setup(Level.Trial)
+	public void compile() throws IOException {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		checkState(compiler != null, "StartupBenchmark compiles its listeners and needs a JDK");
+		Path sources = Files.createTempDirectory("startup-sources");
+		classes = Files.createTempDirectory("startup-classes");
+		List<Path> files = Lists.newArrayList();
+		files.add(write(sources, "BaseListener", baseListener()));
+		for (int i = 0; i < LISTENERS; i++) {
+			files.add(write(sources, "Listener" + i, listener(i)));
+		}
+
+		List<String> options = Lists.newArrayList("-d", classes.toString(), "-classpath",
+				System.getProperty("java.class.path"), "-nowarn");
+		if ("index".equals(scan)) {
+			options.add("-processor");
+			options.add(SubscriberIndexProcessor.class.getName());
+		} else {
+			options.add("-proc:none");
+		}
+		StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+		try {
+			Boolean compiled = compiler
+					.getTask(null, fileManager, null, options, null, fileManager.getJavaFileObjects(toFiles(files)))
+					.call();
+			checkState(Boolean.TRUE.equals(compiled), "listeners did not compile");
+		} finally {
+			fileManager.close();
+			delete(sources);
+		}
+	}
+
+	/**
+	 * Loads and instantiates the listeners afresh, leaving their subscriber
+	 * methods unscanned.
+	 */
+	@Setup(Level.Iteration)
+	public void load() throws ReflectiveOperationException, IOException {
+		loader = new URLClassLoader(new URL[] { classes.toUri().toURL() }, StartupBenchmark.class.getClassLoader());
+		listeners = Lists.newArrayListWithCapacity(LISTENERS);
+		for (int i = 0; i < LISTENERS; i++) {
+			listeners.add(loader.loadClass(PACKAGE + ".Listener" + i).getDeclaredConstructor().newInstance());
+		}
+		bus = new TaskEventBus("startup");
+	}
+
+	@Benchmark
+	public TaskEventBus register() {
+		for (Object listener : listeners) {
+			bus.register(listener);
+		}
+		return bus;
+	}
+
+	@TearDown(Level.Iteration)
+	public void unload() throws IOException {
+		listeners = null;
+		loader.close();
+	}
+
+	@TearDown(Level.Trial)
+	public void clean() throws IOException {
+		delete(classes);
+	}
+
+	private static String baseListener() {
+		return "package " + PACKAGE + ";\n" //
+				+ "public abstract class BaseListener {\n" //
+				+ "	protected long handled;\n" //
+				+ "	public long getHandled() { return handled; }\n" //
+				+ "	public void afterPropertiesSet() {}\n" //
+				+ "}\n";
+	}
+
+	/**
+	 * A listener of its own order task, and of every audit task.
+	 */
+	private static String listener(int i) {
+		return "package " + PACKAGE + ";\n" //
+				+ "import com.google.common.eventbus.AllowConcurrentEvents;\n" //
+				+ "import com.hechuan.event.notice.driver.Subscribe;\n" //
+				+ "import com.hechuan.event.notice.event.TaskEvent;\n" //
+				+ "public class Listener" + i + " extends BaseListener {\n" //
+				+ "	@Subscribe(taskId = \"order." + i + "\")\n" //
+				+ "	public void onOrder(TaskEvent event) { handled++; }\n" //
+				+ "	@Subscribe(taskId = \"audit.*\")\n" //
+				+ "	@AllowConcurrentEvents\n" //
+				+ "	public void onAudit(String taskId, TaskEvent event) { handled++; }\n" //
+				+ "	public String describe() { return \"listener " + i + "\"; }\n" //
+				+ "}\n";
+	}
+
+	private static Path write(Path directory, String className, String source) throws IOException {
+		return Files.write(directory.resolve(className + ".java"), source.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static File[] toFiles(List<Path> paths) {
+		File[] files = new File[paths.size()];
+		for (int i = 0; i < files.length; i++) {
+			files[i] = paths.get(i).toFile();
+		}
+		return files;
+	}
+
+	private static void delete(Path directory) throws IOException {
+		Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				Files.delete(file);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+				Files.delete(dir);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+}
@@ -0,0 +1,91 @@
+package com.hechuan.event.notice.driver;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.collect.Lists;
+import com.google.common.eventbus.AllowConcurrentEvents;
+
+/**
+ * 任务ID通配模式路由：前缀树匹配开销随模式数量的变化，以及命中路由缓存后的广播吞吐
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskIdPatternBenchmark {
+
+	static final String TASK_ID = "tenant7.order.20261017";
+
+	@Param({ "10", "1000" })
+	int patterns;
+
+	TaskIdTrie trie;
+	TaskEventBus bus;
+	PostEvent postEvent;
+
+	@Setup
+	public void setUp(Blackhole blackhole) {
+		List<String> taskIds = Lists.newArrayList();
+		for (int i = 0; i < patterns; i++) {
+			taskIds.add("tenant" + i + ".*");
+			taskIds.add("tenant" + i + ".order.*");
+		}
+		trie = TaskIdTrie.of(taskIds);
+
+		bus = new TaskEventBus("pattern");
+		bus.register(new Listener(blackhole));
+		postEvent = PostEvent.create().setTaskId(TASK_ID).setEvent(Long.valueOf(7));
+	}
+
+	/**
+	 * Route miss: the patterns matching a concrete task id.
+	 */
+	@Benchmark
+	public List<String> match() {
+		return trie.match(TASK_ID);
+	}
+
+	/**
+	 * Route hit: a post to a task id reached through a pattern.
+	 */
+	@Benchmark
+	public void post() {
+		bus.post(postEvent);
+	}
+
+	public static class Listener {
+		private final Blackhole blackhole;
+
+		public Listener(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Subscribe(taskId = "tenant7.*")
+		@AllowConcurrentEvents
+		public void on(Long event) {
+			blackhole.consume(event);
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package com.hechuan.event.notice.driver;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+
+/**
+ * 大量不同任务ID轮流广播时，字符串任务ID与驻留句柄 {@link TaskKey} 的路由开销对比
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskKeyBenchmark {
+
+	@Param({ "16", "4000" })
+	int taskIds;
+
+	TaskEventBus bus;
+	PostEvent[] byString;
+	PostEvent[] byKey;
+	int next;
+
+	@Setup
+	public void setUp(Blackhole blackhole) {
+		bus = new TaskEventBus("taskKey");
+		bus.register(new Listener(blackhole));
+		byString = new PostEvent[taskIds];
+		byKey = new PostEvent[taskIds];
+		Long event = Long.valueOf(7);
+		for (int i = 0; i < taskIds; i++) {
+			// a fresh String per post event, as when ids come off the wire
+			String taskId = new String("task-" + i);
+			byString[i] = PostEvent.create().setTaskId(taskId).setEvent(event);
+			byKey[i] = PostEvent.create().setTaskKey(TaskKey.of(taskId)).setEvent(event);
+		}
+	}
+
+	@Benchmark
+	public void postString() {
+		bus.post(byString[nextIndex()]);
+	}
+
+	@Benchmark
+	public void postTaskKey() {
+		bus.post(byKey[nextIndex()]);
+	}
+
+	/**
+	 * Route lookup alone, without the delivery.
+	 */
+	@Benchmark
+	public Subscriber[] routeString() {
+		return bus.registry().getSubscribers(byString[nextIndex()]);
+	}
+
+	@Benchmark
+	public Subscriber[] routeTaskKey() {
+		return bus.registry().getSubscribers(byKey[nextIndex()]);
+	}
+
+	private int nextIndex() {
+		int index = next + 1;
+		if (index == taskIds) {
+			index = 0;
+		}
+		return next = index;
+	}
+
+	public static class Listener {
+		private final Blackhole blackhole;
+
+		public Listener(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Subscribe(taskId = "*")
+		@AllowConcurrentEvents
+		public void on(Long event) {
+			blackhole.consume(event);
+		}
+	}
+}
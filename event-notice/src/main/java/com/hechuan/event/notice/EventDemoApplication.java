@@ -2,6 +2,13 @@ package com.hechuan.event.notice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hechuan.event.notice.controller.BulkIngestServlet;
+import com.hechuan.event.notice.driver.TaskEventBus;
+import com.hechuan.event.notice.transport.NioTransport;
 
 /**
  * 事件驱动DEMO
@@ -17,4 +24,15 @@ public class EventDemoApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(EventDemoApplication.class, args);
 	}
+
+	/**
+	 * 批量接入 {@code POST /event/bulk}；二进制帧只接受登记过的事件类型，不对外部请求开放按类名或 Java 序列化解码
+	 */
+	@Bean
+	public ServletRegistrationBean bulkIngestServlet(TaskEventBus taskEventBus, ObjectMapper objectMapper) {
+		ServletRegistrationBean registration = new ServletRegistrationBean(
+				new BulkIngestServlet(taskEventBus, objectMapper, NioTransport.defaultSerializer()), "/event/bulk");
+		registration.setAsyncSupported(true);
+		return registration;
+	}
 }
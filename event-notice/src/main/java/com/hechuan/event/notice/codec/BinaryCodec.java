@@ -0,0 +1,466 @@
+package com.hechuan.event.notice.codec;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * 紧凑二进制编解码器
+ * <p>
+ * 每个值以变长类型编号开头：注册过的类只写编号，常用 JDK 类型（字符串、包装类型、{@code byte[]}、List、Map）有内置编号；
+ * 未注册的类写类名后按字段反射编码，没有无参构造方法但可序列化的类退化为 Java 序列化。任务ID可预先登记到字典中，
+ * 编码时只写字典下标。
+ * <p>
+ * 注册的类型编号和任务ID字典必须在编码端和解码端一致，且应在使用前完成注册。读取不可信的输入时应关闭
+ * {@link #setAllowUnregistered allowUnregistered}，或以 {@link #allowUnregisteredPrefix} 限定可按类名及 Java 序列化解码的类。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class BinaryCodec {
+
+	/** Smallest type id available to {@link #register}. */
+	public static final int FIRST_USER_TYPE = 32;
+
+	/** Deepest nesting of lists, maps and objects {@link #readValue} accepts. */
+	public static final int MAX_DEPTH = 64;
+
+	private static final int NULL = 0;
+	private static final int BY_NAME = 1;
+	private static final int SERIALIZED = 2;
+	private static final int STRING = 3;
+	private static final int INTEGER = 4;
+	private static final int LONG = 5;
+	private static final int BOOLEAN = 6;
+	private static final int DOUBLE = 7;
+	private static final int FLOAT = 8;
+	private static final int SHORT = 9;
+	private static final int BYTE = 10;
+	private static final int CHARACTER = 11;
+	private static final int BYTES = 12;
+	private static final int LIST = 13;
+	private static final int MAP = 14;
+
+	private final ConcurrentMap<Class<?>, Registration> byClass = Maps.newConcurrentMap();
+	private volatile Registration[] byId = new Registration[FIRST_USER_TYPE];
+
+	private final ConcurrentMap<String, Integer> taskIds = Maps.newConcurrentMap();
+	private volatile String[] taskIdsByIndex = new String[0];
+
+	/** Reflective codecs of unregistered classes, written with their name. */
+	private final ConcurrentMap<Class<?>, ReflectiveCodec> unregistered = Maps.newConcurrentMap();
+	private final ConcurrentMap<String, Class<?>> classesByName = Maps.newConcurrentMap();
+
+	private volatile boolean allowUnregistered = true;
+
+	/** Levels of values {@link #readValue} is currently in, by reading thread. */
+	private static final ThreadLocal<int[]> readDepth = new ThreadLocal<int[]>() {
+		@Override
+		protected int[] initialValue() {
+			return new int[1];
+		}
+	};
+
+	/** Name prefixes of the unregistered classes that may be read, any class when empty. */
+	private volatile String[] allowedPrefixes = new String[0];
+
+	/**
+	 * JDK value and collection packages a serialized object graph may always
+	 * reference once {@link #allowUnregisteredPrefix} restricts it.
+	 */
+	private static final String[] JDK_PREFIXES = { "java.lang.", "java.util.", "java.math.", "java.time." };
+
+	/**
+	 * Registers {@code type} under {@code typeId}, encoded field by field
+	 * through reflection. The class needs a no-argument constructor; the
+	 * writer and the reader must share the same version of it.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> BinaryCodec register(int typeId, Class<T> type) {
+		return register(typeId, type, (Codec<T>) (Codec<?>) ReflectiveCodec.of(type));
+	}
+
+	/**
+	 * Registers {@code type} under {@code typeId} with its own codec.
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T> BinaryCodec register(int typeId, Class<T> type, Codec<T> codec) {
+		checkArgument(typeId >= FIRST_USER_TYPE, "typeId %s is reserved, must be at least %s", typeId,
+				FIRST_USER_TYPE);
+		checkNotNull(type);
+		checkNotNull(codec);
+		Registration[] registrations = byId;
+		checkArgument(typeId >= registrations.length || registrations[typeId] == null,
+				"typeId %s already registered for %s", typeId,
+				typeId < registrations.length && registrations[typeId] != null ? registrations[typeId].type : null);
+		checkArgument(!byClass.containsKey(type), "%s already registered", type);
+
+		Registration registration = new Registration(typeId, type, (Codec<Object>) codec);
+		registrations = Arrays.copyOf(registrations, Math.max(registrations.length, typeId + 1));
+		registrations[typeId] = registration;
+		byId = registrations;
+		byClass.put(type, registration);
+		return this;
+	}
+
+	/**
+	 * Adds {@code taskId} to the dictionary; it is then encoded as its
+	 * index, in order of registration.
+	 */
+	public synchronized BinaryCodec registerTaskId(String taskId) {
+		checkNotNull(taskId);
+		if (!taskIds.containsKey(taskId)) {
+			String[] dictionary = Arrays.copyOf(taskIdsByIndex, taskIdsByIndex.length + 1);
+			dictionary[dictionary.length - 1] = taskId;
+			taskIdsByIndex = dictionary;
+			taskIds.put(taskId, dictionary.length - 1);
+		}
+		return this;
+	}
+
+	/**
+	 * Whether values of unregistered classes are accepted, written with
+	 * their class name or through Java serialization. Turn it off when
+	 * reading from untrusted peers, so that only registered classes can be
+	 * instantiated. Defaults to {@code true}.
+	 */
+	public void setAllowUnregistered(boolean allowUnregistered) {
+		this.allowUnregistered = allowUnregistered;
+	}
+
+	/**
+	 * Restricts the unregistered classes read by name or through Java
+	 * serialization to those whose name starts with one of the prefixes
+	 * given, such as a package name followed by a dot. Registered classes and
+	 * the JDK value and collection types stay readable; until a first prefix
+	 * is added, any class is.
+	 */
+	public synchronized BinaryCodec allowUnregisteredPrefix(String prefix) {
+		checkArgument(!checkNotNull(prefix).isEmpty(), "empty class name prefix");
+		String[] prefixes = Arrays.copyOf(allowedPrefixes, allowedPrefixes.length + 1);
+		prefixes[prefixes.length - 1] = prefix;
+		allowedPrefixes = prefixes;
+		return this;
+	}
+
+	public void writeTaskId(String taskId, ByteBuffer target) {
+		Integer index = taskIds.get(taskId);
+		if (index != null) {
+			Varints.writeUnsignedInt(target, index + 1);
+		} else {
+			target.put((byte) 0);
+			Varints.writeString(target, taskId);
+		}
+	}
+
+	public String readTaskId(ByteBuffer source) {
+		int index = Varints.readUnsignedInt(source);
+		if (index == 0) {
+			return Varints.readString(source);
+		}
+		String[] dictionary = taskIdsByIndex;
+		checkArgument(index <= dictionary.length, "Unknown taskId dictionary index %s", index - 1);
+		return dictionary[index - 1];
+	}
+
+	/**
+	 * Writes {@code value}, possibly {@code null}, preceded by its type id.
+	 */
+	public void writeValue(Object value, ByteBuffer target) {
+		if (value == null) {
+			target.put((byte) NULL);
+			return;
+		}
+		Class<?> type = value instanceof Enum ? ((Enum<?>) value).getDeclaringClass() : value.getClass();
+		Registration registration = byClass.get(type);
+		if (registration != null) {
+			Varints.writeUnsignedInt(target, registration.typeId);
+			registration.codec.encode(this, value, target);
+		} else if (type == String.class) {
+			target.put((byte) STRING);
+			Varints.writeString(target, (String) value);
+		} else if (type == Integer.class) {
+			target.put((byte) INTEGER);
+			Varints.writeInt(target, (Integer) value);
+		} else if (type == Long.class) {
+			target.put((byte) LONG);
+			Varints.writeLong(target, (Long) value);
+		} else if (type == Boolean.class) {
+			target.put((byte) BOOLEAN);
+			target.put((byte) ((Boolean) value ? 1 : 0));
+		} else if (type == Double.class) {
+			target.put((byte) DOUBLE);
+			target.putDouble((Double) value);
+		} else if (type == Float.class) {
+			target.put((byte) FLOAT);
+			target.putFloat((Float) value);
+		} else if (type == Short.class) {
+			target.put((byte) SHORT);
+			Varints.writeInt(target, (Short) value);
+		} else if (type == Byte.class) {
+			target.put((byte) BYTE);
+			target.put((Byte) value);
+		} else if (type == Character.class) {
+			target.put((byte) CHARACTER);
+			Varints.writeUnsignedInt(target, (Character) value);
+		} else if (type == byte[].class) {
+			byte[] bytes = (byte[]) value;
+			target.put((byte) BYTES);
+			Varints.writeUnsignedInt(target, bytes.length);
+			target.put(bytes);
+		} else if (value instanceof List) {
+			List<?> list = (List<?>) value;
+			target.put((byte) LIST);
+			Varints.writeUnsignedInt(target, list.size());
+			for (Object element : list) {
+				writeValue(element, target);
+			}
+		} else if (value instanceof Map) {
+			Map<?, ?> map = (Map<?, ?>) value;
+			target.put((byte) MAP);
+			Varints.writeUnsignedInt(target, map.size());
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				writeValue(entry.getKey(), target);
+				writeValue(entry.getValue(), target);
+			}
+		} else {
+			writeUnregistered(value, type, target);
+		}
+	}
+
+	/**
+	 * Reads a value written by {@link #writeValue}. Input that is truncated,
+	 * declares more bytes or elements than remain, or nests values deeper
+	 * than {@link #MAX_DEPTH} is rejected with an
+	 * {@link IllegalArgumentException}.
+	 */
+	public Object readValue(ByteBuffer source) {
+		try {
+			int typeId = Varints.readUnsignedInt(source);
+			switch (typeId) {
+			case NULL:
+				return null;
+			case SERIALIZED:
+				return deserialize(source);
+			case STRING:
+				return Varints.readString(source);
+			case INTEGER:
+				return Varints.readInt(source);
+			case LONG:
+				return Varints.readLong(source);
+			case BOOLEAN:
+				return source.get() != 0;
+			case DOUBLE:
+				return source.getDouble();
+			case FLOAT:
+				return source.getFloat();
+			case SHORT:
+				return (short) Varints.readInt(source);
+			case BYTE:
+				return source.get();
+			case CHARACTER:
+				return (char) Varints.readUnsignedInt(source);
+			case BYTES:
+				byte[] bytes = new byte[readLength(source, 1)];
+				source.get(bytes);
+				return bytes;
+			default:
+				return readNested(typeId, source);
+			}
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("Truncated value", e);
+		}
+	}
+
+	/**
+	 * Reads a value holding other values, one level deeper.
+	 */
+	private Object readNested(int typeId, ByteBuffer source) {
+		int[] depth = readDepth.get();
+		checkArgument(depth[0] < MAX_DEPTH, "Value nested deeper than %s", MAX_DEPTH);
+		depth[0]++;
+		try {
+			switch (typeId) {
+			case BY_NAME:
+				return unregisteredCodec(classForName(Varints.readString(source))).decode(this, source);
+			case LIST:
+				int size = readLength(source, 1);
+				List<Object> list = Lists.newArrayListWithCapacity(size);
+				for (int i = 0; i < size; i++) {
+					list.add(readValue(source));
+				}
+				return list;
+			case MAP:
+				int entries = readLength(source, 2);
+				Map<Object, Object> map = Maps.newLinkedHashMapWithExpectedSize(entries);
+				for (int i = 0; i < entries; i++) {
+					map.put(readValue(source), readValue(source));
+				}
+				return map;
+			default:
+				Registration[] registrations = byId;
+				checkArgument(typeId < registrations.length && registrations[typeId] != null,
+						"Unregistered type id %s", typeId);
+				return registrations[typeId].codec.decode(this, source);
+			}
+		} finally {
+			depth[0]--;
+		}
+	}
+
+	/**
+	 * Reads the count of a byte array or collection whose items take at
+	 * least {@code minItemBytes} each, checked against what remains.
+	 */
+	private static int readLength(ByteBuffer source, int minItemBytes) {
+		int length = Varints.readUnsignedInt(source);
+		checkArgument(length >= 0 && length <= source.remaining() / minItemBytes,
+				"Length %s exceeds the %s bytes remaining", length, source.remaining());
+		return length;
+	}
+
+	private void writeUnregistered(Object value, Class<?> type, ByteBuffer target) {
+		checkArgument(allowUnregistered, "Unregistered event type %s", type);
+		ReflectiveCodec codec = unregisteredCodec(type);
+		if (codec != null) {
+			target.put((byte) BY_NAME);
+			Varints.writeString(target, type.getName());
+			codec.encode(this, value, target);
+		} else if (value instanceof Serializable) {
+			target.put((byte) SERIALIZED);
+			serialize(value, target);
+		} else {
+			throw new IllegalArgumentException(type + " is neither registered, constructible nor serializable");
+		}
+	}
+
+	/**
+	 * Reflective codec of an unregistered class, {@code null} when the class
+	 * cannot be instantiated without arguments.
+	 */
+	private ReflectiveCodec unregisteredCodec(Class<?> type) {
+		ReflectiveCodec codec = unregistered.get(type);
+		if (codec == null && !unregistered.containsKey(type)) {
+			codec = ReflectiveCodec.isSupported(type) ? ReflectiveCodec.of(type) : null;
+			if (codec != null) {
+				unregistered.putIfAbsent(type, codec);
+			}
+		}
+		return codec;
+	}
+
+	private Class<?> classForName(String name) {
+		checkArgument(allowUnregistered, "Unregistered event type %s", name);
+		Class<?> type = classesByName.get(name);
+		if (type == null) {
+			ClassLoader loader = Thread.currentThread().getContextClassLoader();
+			try {
+				type = Class.forName(name, false, loader != null ? loader : BinaryCodec.class.getClassLoader());
+			} catch (ClassNotFoundException e) {
+				throw new IllegalArgumentException("Cannot load event type " + name, e);
+			}
+			checkArgument(isAllowed(type), "Event type %s is not allowed", name);
+			classesByName.putIfAbsent(name, type);
+		}
+		return type;
+	}
+
+	/**
+	 * Whether an unregistered value may be read as {@code type}, checked
+	 * before the class is initialized.
+	 */
+	boolean isAllowed(Class<?> type) {
+		String[] prefixes = allowedPrefixes;
+		if (prefixes.length == 0) {
+			return true;
+		}
+		while (type.isArray()) {
+			type = type.getComponentType();
+		}
+		if (type.isPrimitive() || byClass.containsKey(type)) {
+			return true;
+		}
+		String name = type.getName();
+		for (String prefix : JDK_PREFIXES) {
+			if (name.startsWith(prefix)) {
+				return true;
+			}
+		}
+		for (String prefix : prefixes) {
+			if (name.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Whether {@link #allowUnregisteredPrefix} restricts the unregistered
+	 * classes that may be read.
+	 */
+	boolean restrictsClasses() {
+		return allowedPrefixes.length > 0;
+	}
+
+	/**
+	 * Java serialization behind a 4-byte length, patched once the object is
+	 * written.
+	 */
+	private void serialize(Object value, ByteBuffer target) {
+		int lengthPosition = target.position();
+		target.putInt(0);
+		try {
+			ObjectOutputStream out = new ObjectOutputStream(ByteBufferStreams.output(target));
+			out.writeObject(value);
+			out.flush();
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Cannot serialize " + value, e);
+		}
+		target.putInt(lengthPosition, target.position() - lengthPosition - 4);
+	}
+
+	private Object deserialize(ByteBuffer source) {
+		checkArgument(allowUnregistered, "Unregistered serialized event");
+		int length = source.getInt();
+		checkArgument(length >= 0 && length <= source.remaining(), "Length %s exceeds the %s bytes remaining", length,
+				source.remaining());
+		ByteBuffer serialized = source.slice();
+		serialized.limit(length);
+		source.position(source.position() + length);
+		try {
+			return ByteBufferStreams.objectInput(serialized, this).readObject();
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Cannot deserialize an event", e);
+		} catch (ClassNotFoundException e) {
+			throw new IllegalArgumentException("Cannot load the class of a serialized event", e);
+		}
+	}
+
+	private static final class Registration {
+
+		private final int typeId;
+		private final Class<?> type;
+		private final Codec<Object> codec;
+
+		Registration(int typeId, Class<?> type, Codec<Object> codec) {
+			this.typeId = typeId;
+			this.type = type;
+			this.codec = codec;
+		}
+	}
+}
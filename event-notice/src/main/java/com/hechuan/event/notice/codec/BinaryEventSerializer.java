@@ -0,0 +1,99 @@
+package com.hechuan.event.notice.codec;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import com.hechuan.event.notice.driver.PostEvent;
+import com.hechuan.event.notice.driver.Priority;
+import com.hechuan.event.notice.journal.EventSerializer;
+
+/**
+ * 基于 {@link BinaryCodec} 的事件序列化实现：任务ID（字典下标或字符串）、一个字节的优先级，后接带类型编号的事件对象
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class BinaryEventSerializer implements EventSerializer {
+
+	private static final Priority[] PRIORITIES = Priority.values();
+
+	private final BinaryCodec codec;
+
+	public BinaryEventSerializer() {
+		this(new BinaryCodec());
+	}
+
+	public BinaryEventSerializer(BinaryCodec codec) {
+		this.codec = checkNotNull(codec);
+	}
+
+	/**
+	 * The codec, to register event types and task ids on.
+	 */
+	public BinaryCodec codec() {
+		return codec;
+	}
+
+	@Override
+	public void serialize(PostEvent postEvent, ByteBuffer target) {
+		codec.writeTaskId(postEvent.getTaskId(), target);
+		target.put((byte) postEvent.getPriority().ordinal());
+		codec.writeValue(postEvent.getEvent(), target);
+	}
+
+	@Override
+	public PostEvent deserialize(ByteBuffer source) {
+		String taskId = codec.readTaskId(source);
+		Priority priority = readPriority(source);
+		return PostEvent.create().setTaskId(taskId).setPriority(priority).setEvent(codec.readValue(source));
+	}
+
+	/**
+	 * Reads a post as {@link #deserialize} does into an entity taken from
+	 * the {@linkplain PostEvent#obtain() pool}, for the caller to release
+	 * once posted. Nothing is taken when the post cannot be read.
+	 */
+	public PostEvent decode(ByteBuffer source) {
+		String taskId = codec.readTaskId(source);
+		Priority priority = readPriority(source);
+		Object event = codec.readValue(source);
+		return PostEvent.obtain().setTaskId(taskId).setPriority(priority).setEvent(event);
+	}
+
+	private static Priority readPriority(ByteBuffer source) {
+		if (!source.hasRemaining()) {
+			throw new IllegalArgumentException("Truncated event, no priority");
+		}
+		int ordinal = source.get();
+		if (ordinal < 0 || ordinal >= PRIORITIES.length) {
+			throw new IllegalArgumentException("Unknown priority " + ordinal);
+		}
+		return PRIORITIES[ordinal];
+	}
+
+	/**
+	 * Encodes {@code postEvent} into a buffer taken from {@code pool},
+	 * returned flipped for reading. An event too large for the pool's buffers
+	 * gets a larger buffer, which the pool drops on release.
+	 */
+	public ByteBuffer encode(PostEvent postEvent, BufferPool pool) {
+		ByteBuffer buffer = pool.acquire();
+		while (true) {
+			try {
+				serialize(postEvent, buffer);
+				buffer.flip();
+				return buffer;
+			} catch (BufferOverflowException e) {
+				int capacity = buffer.capacity() * 2;
+				boolean direct = buffer.isDirect();
+				pool.release(buffer);
+				buffer = direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+			}
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.hechuan.event.notice.codec;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 固定大小的 {@link ByteBuffer} 池，避免编码和网络收发时反复分配缓冲；池满时归还的缓冲直接丢弃
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public final class BufferPool {
+
+	private final int bufferSize;
+	private final boolean direct;
+	private final BlockingQueue<ByteBuffer> pooled;
+
+	/**
+	 * @param bufferSize
+	 *            capacity of every buffer of the pool
+	 * @param maxPooled
+	 *            number of released buffers kept for reuse
+	 * @param direct
+	 *            whether to allocate direct buffers, preferable for channel
+	 *            I/O
+	 */
+	public BufferPool(int bufferSize, int maxPooled, boolean direct) {
+		checkArgument(bufferSize > 0, "bufferSize must be positive: %s", bufferSize);
+		checkArgument(maxPooled > 0, "maxPooled must be positive: %s", maxPooled);
+		this.bufferSize = bufferSize;
+		this.direct = direct;
+		this.pooled = new ArrayBlockingQueue<ByteBuffer>(maxPooled);
+	}
+
+	/**
+	 * Takes a cleared buffer from the pool, allocating one when the pool is
+	 * empty.
+	 */
+	public ByteBuffer acquire() {
+		ByteBuffer buffer = pooled.poll();
+		if (buffer == null) {
+			return direct ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize);
+		}
+		buffer.clear();
+		return buffer;
+	}
+
+	/**
+	 * Gives {@code buffer} back. Buffers of another size, such as ones
+	 * allocated to hold an oversized value, are dropped.
+	 */
+	public void release(ByteBuffer buffer) {
+		if (buffer.capacity() == bufferSize && buffer.isDirect() == direct) {
+			pooled.offer(buffer);
+		}
+	}
+
+	public int bufferSize() {
+		return bufferSize;
+	}
+}
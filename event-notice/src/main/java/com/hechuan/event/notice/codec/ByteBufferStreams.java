@@ -0,0 +1,143 @@
+package com.hechuan.event.notice.codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * 基于 {@link ByteBuffer} 的输入输出流，供 Java 序列化直接读写缓冲区，不经过中间字节数组
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public final class ByteBufferStreams {
+
+	private ByteBufferStreams() {
+	}
+
+	/**
+	 * Stream writing to {@code target} from its position on; overflowing it
+	 * throws a {@link java.nio.BufferOverflowException}.
+	 */
+	public static OutputStream output(ByteBuffer target) {
+		return new ByteBufferOutputStream(target);
+	}
+
+	/**
+	 * Stream reading the remaining bytes of {@code source}.
+	 */
+	public static InputStream input(ByteBuffer source) {
+		return new ByteBufferInputStream(source);
+	}
+
+	/**
+	 * Object stream reading {@code source}, resolving classes through the
+	 * context class loader so that the classes of an application packaged as
+	 * a Spring Boot jar can be read back.
+	 */
+	public static ObjectInputStream objectInput(ByteBuffer source) throws IOException {
+		return new ContextObjectInputStream(new ByteBufferInputStream(source), null);
+	}
+
+	/**
+	 * Same as {@link #objectInput(ByteBuffer)}, refusing every class of the
+	 * object graph {@code codec} does not allow.
+	 */
+	static ObjectInputStream objectInput(ByteBuffer source, BinaryCodec codec) throws IOException {
+		return new ContextObjectInputStream(new ByteBufferInputStream(source), codec);
+	}
+
+	private static final class ByteBufferOutputStream extends OutputStream {
+
+		private final ByteBuffer target;
+
+		ByteBufferOutputStream(ByteBuffer target) {
+			this.target = target;
+		}
+
+		@Override
+		public void write(int b) {
+			target.put((byte) b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			target.put(b, off, len);
+		}
+	}
+
+	private static final class ByteBufferInputStream extends InputStream {
+
+		private final ByteBuffer source;
+
+		ByteBufferInputStream(ByteBuffer source) {
+			this.source = source;
+		}
+
+		@Override
+		public int read() {
+			return source.hasRemaining() ? source.get() & 0xff : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (!source.hasRemaining()) {
+				return -1;
+			}
+			int n = Math.min(len, source.remaining());
+			source.get(b, off, n);
+			return n;
+		}
+
+		@Override
+		public int available() {
+			return source.remaining();
+		}
+	}
+
+	private static final class ContextObjectInputStream extends ObjectInputStream {
+
+		/** Codec whose allow-list applies, none when {@code null}. */
+		private final BinaryCodec codec;
+
+		ContextObjectInputStream(InputStream in, BinaryCodec codec) throws IOException {
+			super(in);
+			this.codec = codec;
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			Class<?> type = null;
+			ClassLoader loader = Thread.currentThread().getContextClassLoader();
+			if (loader != null) {
+				try {
+					type = Class.forName(desc.getName(), false, loader);
+				} catch (ClassNotFoundException e) {
+					// fall back to the default resolution
+				}
+			}
+			if (type == null) {
+				type = super.resolveClass(desc);
+			}
+			if (codec != null && !codec.isAllowed(type)) {
+				throw new InvalidClassException(desc.getName(), "not allowed in a serialized event");
+			}
+			return type;
+		}
+
+		@Override
+		protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+			if (codec != null && codec.restrictsClasses()) {
+				throw new InvalidClassException("proxy", "not allowed in a serialized event");
+			}
+			return super.resolveProxyClass(interfaces);
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package com.hechuan.event.notice.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 单个类型的二进制编解码器，通过 {@link BinaryCodec#register(int, Class, Codec)} 注册
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public interface Codec<T> {
+
+	/**
+	 * Writes {@code value} into {@code target}. Nested values of other types
+	 * can be written through {@link BinaryCodec#writeValue}.
+	 */
+	void encode(BinaryCodec codec, T value, ByteBuffer target);
+
+	/**
+	 * Reads back a value written by {@link #encode}.
+	 */
+	T decode(BinaryCodec codec, ByteBuffer source);
+}
@@ -0,0 +1,265 @@
+package com.hechuan.event.notice.codec;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+
+/**
+ * 按字段反射编解码的 POJO 编解码器：依次编码自身及父类的全部非静态、非 transient 字段（父类字段在前，同一类中按字段名排序）；
+ * 枚举只编码序号
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+final class ReflectiveCodec implements Codec<Object> {
+
+	private final Constructor<?> constructor;
+	private final FieldCodec[] fields;
+	private final Object[] enumConstants;
+
+	private ReflectiveCodec(Constructor<?> constructor, FieldCodec[] fields, Object[] enumConstants) {
+		this.constructor = constructor;
+		this.fields = fields;
+		this.enumConstants = enumConstants;
+	}
+
+	/**
+	 * Checks whether {@code type} is an enum or has a no-argument
+	 * constructor.
+	 */
+	static boolean isSupported(Class<?> type) {
+		if (type.isEnum()) {
+			return true;
+		}
+		if (type.isInterface() || type.isArray() || Modifier.isAbstract(type.getModifiers())) {
+			return false;
+		}
+		try {
+			type.getDeclaredConstructor();
+			return true;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	static ReflectiveCodec of(Class<?> type) {
+		checkArgument(isSupported(type), "%s needs a no-argument constructor", type);
+		if (type.isEnum()) {
+			return new ReflectiveCodec(null, null, type.getEnumConstants());
+		}
+		try {
+			Constructor<?> constructor = type.getDeclaredConstructor();
+			constructor.setAccessible(true);
+			return new ReflectiveCodec(constructor, fieldsOf(type), null);
+		} catch (NoSuchMethodException e) {
+			throw new IllegalArgumentException(type + " needs a no-argument constructor", e);
+		}
+	}
+
+	private static FieldCodec[] fieldsOf(Class<?> type) {
+		List<Class<?>> hierarchy = Lists.newArrayList();
+		for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+			hierarchy.add(0, c);
+		}
+		List<FieldCodec> fields = Lists.newArrayList();
+		for (Class<?> c : hierarchy) {
+			Field[] declared = c.getDeclaredFields();
+			Arrays.sort(declared, new Comparator<Field>() {
+				@Override
+				public int compare(Field a, Field b) {
+					return a.getName().compareTo(b.getName());
+				}
+			});
+			for (Field field : declared) {
+				int modifiers = field.getModifiers();
+				if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+					field.setAccessible(true);
+					fields.add(new FieldCodec(field));
+				}
+			}
+		}
+		return fields.toArray(new FieldCodec[fields.size()]);
+	}
+
+	@Override
+	public void encode(BinaryCodec codec, Object value, ByteBuffer target) {
+		if (enumConstants != null) {
+			Varints.writeUnsignedInt(target, ((Enum<?>) value).ordinal());
+			return;
+		}
+		try {
+			for (FieldCodec field : fields) {
+				field.write(codec, value, target);
+			}
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public Object decode(BinaryCodec codec, ByteBuffer source) {
+		if (enumConstants != null) {
+			return constantAt(enumConstants, Varints.readUnsignedInt(source));
+		}
+		try {
+			Object value = constructor.newInstance();
+			for (FieldCodec field : fields) {
+				field.read(codec, value, source);
+			}
+			return value;
+		} catch (ReflectiveOperationException e) {
+			throw Throwables.propagate(e);
+		}
+	}
+
+	private static Object constantAt(Object[] constants, int ordinal) {
+		if (ordinal < 0 || ordinal >= constants.length) {
+			throw new IllegalArgumentException("Unknown ordinal " + ordinal + " of "
+					+ constants.getClass().getComponentType().getName());
+		}
+		return constants[ordinal];
+	}
+
+	/**
+	 * Codec of a single field, specialized on its declared type so that
+	 * primitives are never boxed.
+	 */
+	private static final class FieldCodec {
+
+		private static final int BOOLEAN = 0;
+		private static final int BYTE = 1;
+		private static final int SHORT = 2;
+		private static final int CHAR = 3;
+		private static final int INT = 4;
+		private static final int LONG = 5;
+		private static final int FLOAT = 6;
+		private static final int DOUBLE = 7;
+		private static final int STRING = 8;
+		private static final int ENUM = 9;
+		private static final int OBJECT = 10;
+
+		private final Field field;
+		private final int kind;
+		private final Object[] enumConstants;
+
+		FieldCodec(Field field) {
+			this.field = field;
+			Class<?> type = field.getType();
+			this.kind = kindOf(type);
+			this.enumConstants = kind == ENUM ? type.getEnumConstants() : null;
+		}
+
+		private static int kindOf(Class<?> type) {
+			if (type == boolean.class) {
+				return BOOLEAN;
+			} else if (type == byte.class) {
+				return BYTE;
+			} else if (type == short.class) {
+				return SHORT;
+			} else if (type == char.class) {
+				return CHAR;
+			} else if (type == int.class) {
+				return INT;
+			} else if (type == long.class) {
+				return LONG;
+			} else if (type == float.class) {
+				return FLOAT;
+			} else if (type == double.class) {
+				return DOUBLE;
+			} else if (type == String.class) {
+				return STRING;
+			} else if (type.isEnum()) {
+				return ENUM;
+			}
+			return OBJECT;
+		}
+
+		void write(BinaryCodec codec, Object owner, ByteBuffer target) throws IllegalAccessException {
+			switch (kind) {
+			case BOOLEAN:
+				target.put((byte) (field.getBoolean(owner) ? 1 : 0));
+				break;
+			case BYTE:
+				target.put(field.getByte(owner));
+				break;
+			case SHORT:
+				Varints.writeInt(target, field.getShort(owner));
+				break;
+			case CHAR:
+				Varints.writeUnsignedInt(target, field.getChar(owner));
+				break;
+			case INT:
+				Varints.writeInt(target, field.getInt(owner));
+				break;
+			case LONG:
+				Varints.writeLong(target, field.getLong(owner));
+				break;
+			case FLOAT:
+				target.putFloat(field.getFloat(owner));
+				break;
+			case DOUBLE:
+				target.putDouble(field.getDouble(owner));
+				break;
+			case STRING:
+				Varints.writeString(target, (String) field.get(owner));
+				break;
+			case ENUM:
+				Enum<?> constant = (Enum<?>) field.get(owner);
+				Varints.writeUnsignedInt(target, constant == null ? 0 : constant.ordinal() + 1);
+				break;
+			default:
+				codec.writeValue(field.get(owner), target);
+			}
+		}
+
+		void read(BinaryCodec codec, Object owner, ByteBuffer source) throws IllegalAccessException {
+			switch (kind) {
+			case BOOLEAN:
+				field.setBoolean(owner, source.get() != 0);
+				break;
+			case BYTE:
+				field.setByte(owner, source.get());
+				break;
+			case SHORT:
+				field.setShort(owner, (short) Varints.readInt(source));
+				break;
+			case CHAR:
+				field.setChar(owner, (char) Varints.readUnsignedInt(source));
+				break;
+			case INT:
+				field.setInt(owner, Varints.readInt(source));
+				break;
+			case LONG:
+				field.setLong(owner, Varints.readLong(source));
+				break;
+			case FLOAT:
+				field.setFloat(owner, source.getFloat());
+				break;
+			case DOUBLE:
+				field.setDouble(owner, source.getDouble());
+				break;
+			case STRING:
+				field.set(owner, Varints.readString(source));
+				break;
+			case ENUM:
+				int ordinal = Varints.readUnsignedInt(source);
+				field.set(owner, ordinal == 0 ? null : constantAt(enumConstants, ordinal - 1));
+				break;
+			default:
+				field.set(owner, codec.readValue(source));
+			}
+		}
+	}
+}
@@ -0,0 +1,201 @@
+package com.hechuan.event.notice.codec;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * 变长整数与字符串的编解码工具：无符号整数按 7 位一组小端编码，有符号整数先做 ZigZag 变换；
+ * 字符串直接以 UTF-8 写入目标缓冲，不经过中间字节数组
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public final class Varints {
+
+	private Varints() {
+	}
+
+	public static void writeUnsignedInt(ByteBuffer target, int value) {
+		while ((value & ~0x7f) != 0) {
+			target.put((byte) ((value & 0x7f) | 0x80));
+			value >>>= 7;
+		}
+		target.put((byte) value);
+	}
+
+	public static int readUnsignedInt(ByteBuffer source) {
+		int value = 0;
+		try {
+			for (int shift = 0; shift < 35; shift += 7) {
+				byte b = source.get();
+				value |= (b & 0x7f) << shift;
+				if (b >= 0) {
+					return value;
+				}
+			}
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("Truncated varint", e);
+		}
+		throw new IllegalArgumentException("Malformed varint");
+	}
+
+	public static void writeUnsignedLong(ByteBuffer target, long value) {
+		while ((value & ~0x7fL) != 0) {
+			target.put((byte) ((value & 0x7f) | 0x80));
+			value >>>= 7;
+		}
+		target.put((byte) value);
+	}
+
+	public static long readUnsignedLong(ByteBuffer source) {
+		long value = 0;
+		try {
+			for (int shift = 0; shift < 70; shift += 7) {
+				byte b = source.get();
+				value |= (long) (b & 0x7f) << shift;
+				if (b >= 0) {
+					return value;
+				}
+			}
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("Truncated varint", e);
+		}
+		throw new IllegalArgumentException("Malformed varint");
+	}
+
+	public static void writeInt(ByteBuffer target, int value) {
+		writeUnsignedInt(target, (value << 1) ^ (value >> 31));
+	}
+
+	public static int readInt(ByteBuffer source) {
+		int value = readUnsignedInt(source);
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	public static void writeLong(ByteBuffer target, long value) {
+		writeUnsignedLong(target, (value << 1) ^ (value >> 63));
+	}
+
+	public static long readLong(ByteBuffer source) {
+		long value = readUnsignedLong(source);
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * Writes {@code value}, possibly {@code null}, as its UTF-8 length plus
+	 * one followed by its UTF-8 bytes; {@code null} is a single 0.
+	 */
+	public static void writeString(ByteBuffer target, String value) {
+		if (value == null) {
+			target.put((byte) 0);
+			return;
+		}
+		int length = value.length();
+		int utf8Length = utf8Length(value);
+		writeUnsignedInt(target, utf8Length + 1);
+		if (utf8Length == length) {
+			for (int i = 0; i < length; i++) {
+				target.put((byte) value.charAt(i));
+			}
+			return;
+		}
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c < 0x80) {
+				target.put((byte) c);
+			} else if (c < 0x800) {
+				target.put((byte) (0xc0 | c >>> 6));
+				target.put((byte) (0x80 | c & 0x3f));
+			} else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+				int codePoint = Character.toCodePoint(c, value.charAt(++i));
+				target.put((byte) (0xf0 | codePoint >>> 18));
+				target.put((byte) (0x80 | codePoint >>> 12 & 0x3f));
+				target.put((byte) (0x80 | codePoint >>> 6 & 0x3f));
+				target.put((byte) (0x80 | codePoint & 0x3f));
+			} else {
+				target.put((byte) (0xe0 | c >>> 12));
+				target.put((byte) (0x80 | c >>> 6 & 0x3f));
+				target.put((byte) (0x80 | c & 0x3f));
+			}
+		}
+	}
+
+	/**
+	 * Reads a string written by {@link #writeString}. A length beyond the
+	 * remaining bytes or a malformed UTF-8 sequence is rejected with an
+	 * {@link IllegalArgumentException}.
+	 */
+	public static String readString(ByteBuffer source) {
+		int utf8Length = readUnsignedInt(source) - 1;
+		if (utf8Length == -1) {
+			return null;
+		}
+		if (utf8Length < 0 || utf8Length > source.remaining()) {
+			throw new IllegalArgumentException(
+					"String length " + utf8Length + " exceeds the " + source.remaining() + " bytes remaining");
+		}
+		// every sequence decodes to at most as many chars as it has bytes
+		char[] chars = new char[utf8Length];
+		int count = 0;
+		int end = source.position() + utf8Length;
+		while (source.position() < end) {
+			int b = source.get() & 0xff;
+			if (b < 0x80) {
+				chars[count++] = (char) b;
+				continue;
+			}
+			int continuations = b < 0xc0 ? 0 : b < 0xe0 ? 1 : b < 0xf0 ? 2 : b < 0xf8 ? 3 : 0;
+			if (continuations == 0 || source.position() + continuations > end) {
+				throw malformed(source);
+			}
+			int codePoint = b & (0x3f >> continuations);
+			for (int i = 0; i < continuations; i++) {
+				int c = source.get();
+				if ((c & 0xc0) != 0x80) {
+					throw malformed(source);
+				}
+				codePoint = codePoint << 6 | c & 0x3f;
+			}
+			if (continuations < 3) {
+				chars[count++] = (char) codePoint;
+			} else if (Character.isSupplementaryCodePoint(codePoint)) {
+				chars[count++] = Character.highSurrogate(codePoint);
+				chars[count++] = Character.lowSurrogate(codePoint);
+			} else {
+				throw malformed(source);
+			}
+		}
+		return new String(chars, 0, count);
+	}
+
+	private static IllegalArgumentException malformed(ByteBuffer source) {
+		return new IllegalArgumentException("Malformed UTF-8 string before position " + source.position());
+	}
+
+	/**
+	 * Number of bytes of the UTF-8 encoding of {@code value}; unpaired
+	 * surrogates count as 3 bytes.
+	 */
+	public static int utf8Length(String value) {
+		int length = value.length();
+		int utf8Length = length;
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c >= 0x80) {
+				if (c < 0x800) {
+					utf8Length += 1;
+				} else if (Character.isHighSurrogate(c) && i + 1 < length
+						&& Character.isLowSurrogate(value.charAt(i + 1))) {
+					utf8Length += 2;
+					i++;
+				} else {
+					utf8Length += 2;
+				}
+			}
+		}
+		return utf8Length;
+	}
+}
@@ -0,0 +1,196 @@
+package com.hechuan.event.notice.controller;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.hechuan.event.notice.transport.NioTransport.FRAME_HEADER;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hechuan.event.notice.codec.BinaryEventSerializer;
+import com.hechuan.event.notice.driver.PostEvent;
+import com.hechuan.event.notice.driver.Priority;
+import com.hechuan.event.notice.event.TaskEvent;
+import com.hechuan.event.notice.transport.NioTransport;
+
+/**
+ * 请求体的增量解码器：按到达的字节块解出事件，只保留末尾尚不完整的一行或一帧，内存占用与请求体大小无关
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+abstract class BodyDecoder {
+
+	/** Longest line or frame accepted, as the transport; a longer one fails the request. */
+	static final int MAX_EVENT_BYTES = NioTransport.MAX_FRAME_LENGTH;
+
+	/** Bytes received and not decoded yet, in write mode. */
+	private ByteBuffer pending = ByteBuffer.allocate(8 * 1024);
+
+	private int malformed;
+
+	/**
+	 * One JSON object per line: {@code {"taskId":"order.1","priority":"HIGH"}}
+	 * posts a {@link TaskEvent} of the task, as {@code /event/do} does; the
+	 * priority is optional.
+	 */
+	static BodyDecoder ndjson(ObjectMapper mapper) {
+		return new NdjsonDecoder(mapper);
+	}
+
+	/**
+	 * Frames of {@code [int length][payload]}, the payload encoded by
+	 * {@code serializer}, as written by {@code NioTransport}.
+	 */
+	static BodyDecoder frames(BinaryEventSerializer serializer) {
+		return new FrameDecoder(serializer);
+	}
+
+	/**
+	 * Decodes the events completed by {@code length} more bytes into
+	 * {@code out}.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the body cannot be decoded any further
+	 */
+	final void feed(byte[] bytes, int offset, int length, List<PostEvent> out) {
+		if (pending.remaining() < length) {
+			ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + length));
+			pending.flip();
+			pending = grown.put(pending);
+		}
+		pending.put(bytes, offset, length);
+		pending.flip();
+		decode(pending, out);
+		pending.compact();
+	}
+
+	/**
+	 * Decodes what is left at the end of the body into {@code out}.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the body ends inside an event
+	 */
+	final void finish(List<PostEvent> out) {
+		pending.flip();
+		decodeLast(pending, out);
+		pending.clear();
+	}
+
+	/**
+	 * @return Lines or frames skipped because they did not hold a valid
+	 *         event.
+	 */
+	final int malformed() {
+		return malformed;
+	}
+
+	final void skipped() {
+		malformed++;
+	}
+
+	/**
+	 * Decodes the complete events of {@code buffer}, leaving its position at
+	 * the first byte of an incomplete one.
+	 */
+	abstract void decode(ByteBuffer buffer, List<PostEvent> out);
+
+	abstract void decodeLast(ByteBuffer buffer, List<PostEvent> out);
+
+	private static final class NdjsonDecoder extends BodyDecoder {
+
+		private final ObjectMapper mapper;
+
+		/** Bytes of the incomplete line already searched for a line feed. */
+		private int scanned;
+
+		NdjsonDecoder(ObjectMapper mapper) {
+			this.mapper = checkNotNull(mapper);
+		}
+
+		@Override
+		void decode(ByteBuffer buffer, List<PostEvent> out) {
+			int lineStart = buffer.position();
+			for (int i = lineStart + scanned; i < buffer.limit(); i++) {
+				if (buffer.get(i) == '\n') {
+					parseLine(buffer, lineStart, i, out);
+					lineStart = i + 1;
+				}
+			}
+			buffer.position(lineStart);
+			scanned = buffer.remaining();
+			checkArgument(scanned <= MAX_EVENT_BYTES, "line longer than %s bytes", MAX_EVENT_BYTES);
+		}
+
+		@Override
+		void decodeLast(ByteBuffer buffer, List<PostEvent> out) {
+			parseLine(buffer, buffer.position(), buffer.limit(), out);
+			scanned = 0;
+		}
+
+		private void parseLine(ByteBuffer buffer, int start, int end, List<PostEvent> out) {
+			while (end > start && Character.isWhitespace(buffer.get(end - 1))) {
+				end--;
+			}
+			if (end == start) {
+				return;
+			}
+			try {
+				JsonNode line = mapper.readValue(buffer.array(), buffer.arrayOffset() + start, end - start,
+						JsonNode.class);
+				String taskId = line.path("taskId").textValue();
+				if (taskId == null || taskId.isEmpty()) {
+					skipped();
+					return;
+				}
+				String priority = line.path("priority").textValue();
+				// resolved before obtaining the entity, so that a bad priority leaves nothing to release
+				Priority resolved = priority != null ? Priority.valueOf(priority) : Priority.NORMAL;
+				out.add(PostEvent.obtain().setTaskId(taskId).setEvent(new TaskEvent(taskId)).setPriority(resolved));
+			} catch (IOException | IllegalArgumentException e) {
+				skipped();
+			}
+		}
+	}
+
+	private static final class FrameDecoder extends BodyDecoder {
+
+		private final BinaryEventSerializer serializer;
+
+		FrameDecoder(BinaryEventSerializer serializer) {
+			this.serializer = checkNotNull(serializer);
+		}
+
+		@Override
+		void decode(ByteBuffer buffer, List<PostEvent> out) {
+			while (buffer.remaining() >= FRAME_HEADER) {
+				int start = buffer.position();
+				int length = buffer.getInt(start);
+				checkArgument(length > 0 && length <= MAX_EVENT_BYTES, "bad frame length %s", length);
+				if (buffer.remaining() < FRAME_HEADER + length) {
+					return;
+				}
+				ByteBuffer frame = buffer.duplicate();
+				frame.position(start + FRAME_HEADER).limit(start + FRAME_HEADER + length);
+				buffer.position(start + FRAME_HEADER + length);
+				try {
+					out.add(serializer.decode(frame));
+				} catch (RuntimeException e) {
+					skipped();
+				}
+			}
+		}
+
+		@Override
+		void decodeLast(ByteBuffer buffer, List<PostEvent> out) {
+			decode(buffer, out);
+			checkArgument(!buffer.hasRemaining(), "body ends inside a frame");
+		}
+	}
+}
@@ -0,0 +1,239 @@
+package com.hechuan.event.notice.controller;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.hechuan.event.notice.codec.BinaryEventSerializer;
+import com.hechuan.event.notice.driver.PostEvent;
+import com.hechuan.event.notice.driver.TaskEventBus;
+
+/**
+ * 批量事件接入
+ * <p>
+ * 一个请求携带任意多个事件：{@value #NDJSON} 每行一个 JSON 对象，{@value #FRAMES} 为长度前缀的二进制帧。
+ * 请求体通过 Servlet 3.1 的 {@link ReadListener} 非阻塞读取，每读到一块就解出其中完整的事件，攒够
+ * {@link #BATCH_SIZE} 个以一次 {@link TaskEventBus#postAll} 投递，不缓存整个请求体，也不在等待数据时占用容器线程。
+ * <p>
+ * 反压取决于总线的积压策略：{@code BLOCK} 时投递等待期间停止读取，客户端由 TCP 窗口反压；其他策略下未受理的事件计入
+ * {@code refused}。全部事件投递后异步返回统计结果，不等待监听方法执行。
+ * 投递后的 {@link PostEvent} 即归还回收池，NDJSON 解析从池中取得实体。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class BulkIngestServlet extends HttpServlet {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Logger logger = LoggerFactory.getLogger(BulkIngestServlet.class);
+
+	public static final String NDJSON = "application/x-ndjson";
+
+	public static final String FRAMES = "application/octet-stream";
+
+	/** Events posted with one {@link TaskEventBus#postAll} call. */
+	static final int BATCH_SIZE = 256;
+
+	private static final int CHUNK_SIZE = 8 * 1024;
+
+	private static final long TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+	private final transient TaskEventBus bus;
+	private final transient ObjectMapper mapper;
+	private final transient BinaryEventSerializer serializer;
+
+	public BulkIngestServlet(TaskEventBus bus, ObjectMapper mapper, BinaryEventSerializer serializer) {
+		this.bus = checkNotNull(bus);
+		this.mapper = checkNotNull(mapper);
+		this.serializer = checkNotNull(serializer);
+	}
+
+	@Override
+	protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		BodyDecoder decoder = decoderFor(request.getContentType());
+		if (decoder == null) {
+			response.sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE,
+					"Content-Type must be " + NDJSON + " or " + FRAMES);
+			return;
+		}
+		AsyncContext async = request.startAsync();
+		async.setTimeout(TIMEOUT_MILLIS);
+		ServletInputStream input = request.getInputStream();
+		Ingestion ingestion = new Ingestion(async, input, decoder);
+		async.addListener(ingestion);
+		input.setReadListener(ingestion);
+	}
+
+	private BodyDecoder decoderFor(String contentType) {
+		if (contentType == null) {
+			return null;
+		}
+		int parameters = contentType.indexOf(';');
+		String mediaType = (parameters < 0 ? contentType : contentType.substring(0, parameters)).trim()
+				.toLowerCase(Locale.ROOT);
+		if (NDJSON.equals(mediaType)) {
+			return BodyDecoder.ndjson(mapper);
+		}
+		if (FRAMES.equals(mediaType)) {
+			return BodyDecoder.frames(serializer);
+		}
+		return null;
+	}
+
+	/**
+	 * Reading and posting of one request body. Read callbacks of a request
+	 * never run concurrently; the timeout may, so responding is
+	 * synchronized.
+	 */
+	private final class Ingestion implements ReadListener, AsyncListener {
+
+		private final AsyncContext async;
+		private final ServletInputStream input;
+		private final BodyDecoder decoder;
+
+		private final byte[] chunk = new byte[CHUNK_SIZE];
+		private final List<PostEvent> batch = Lists.newArrayListWithCapacity(BATCH_SIZE);
+
+		/** Counts written by the read callbacks, also read on timeout. */
+		private volatile long received;
+		private volatile long accepted;
+
+		private volatile boolean responded;
+
+		Ingestion(AsyncContext async, ServletInputStream input, BodyDecoder decoder) {
+			this.async = async;
+			this.input = input;
+			this.decoder = decoder;
+		}
+
+		@Override
+		public void onDataAvailable() throws IOException {
+			if (responded) {
+				return;
+			}
+			try {
+				while (!responded && input.isReady() && !input.isFinished()) {
+					int read = input.read(chunk);
+					if (read > 0) {
+						decoder.feed(chunk, 0, read, batch);
+						if (batch.size() >= BATCH_SIZE) {
+							post();
+						}
+					}
+				}
+			} catch (IllegalArgumentException e) {
+				post();
+				respond(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+			}
+		}
+
+		@Override
+		public void onAllDataRead() throws IOException {
+			if (responded) {
+				return;
+			}
+			try {
+				decoder.finish(batch);
+				post();
+				respond(HttpServletResponse.SC_OK, null);
+			} catch (IllegalArgumentException e) {
+				post();
+				respond(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+			}
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			logger.warn("BulkIngestServlet failed reading a request body after {} events", received, t);
+			discard();
+			respond(HttpServletResponse.SC_BAD_REQUEST, String.valueOf(t.getMessage()));
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			respond(HttpServletResponse.SC_REQUEST_TIMEOUT, "request body not received in time");
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+		}
+
+		private void post() {
+			if (batch.isEmpty()) {
+				return;
+			}
+			received += batch.size();
+			accepted += bus.postAll(batch);
+			discard();
+		}
+
+		/**
+		 * Returns the events of {@code batch} to their pool and empties it.
+		 */
+		private void discard() {
+			for (PostEvent postEvent : batch) {
+				postEvent.release();
+			}
+			batch.clear();
+		}
+
+		/**
+		 * Answers with the counts so far, the first time only.
+		 */
+		private synchronized void respond(int status, String error) {
+			if (responded) {
+				return;
+			}
+			responded = true;
+			try {
+				HttpServletResponse response = (HttpServletResponse) async.getResponse();
+				response.setStatus(status);
+				response.setContentType("application/json;charset=UTF-8");
+				Map<String, Object> body = Maps.newLinkedHashMap();
+				body.put("received", received);
+				body.put("accepted", accepted);
+				body.put("refused", received - accepted);
+				body.put("malformed", decoder.malformed());
+				if (error != null) {
+					body.put("error", error);
+				}
+				mapper.writeValue(response.getOutputStream(), body);
+			} catch (IOException e) {
+				logger.warn("BulkIngestServlet could not answer a bulk request", e);
+			} finally {
+				async.complete();
+			}
+		}
+	}
+}
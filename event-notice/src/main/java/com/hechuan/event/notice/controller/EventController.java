@@ -1,5 +1,10 @@
 package com.hechuan.event.notice.controller;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,7 +14,10 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 import com.hechuan.event.notice.driver.PostEvent;
+import com.hechuan.event.notice.driver.PostResult;
+import com.hechuan.event.notice.driver.SubscriberResult;
 import com.hechuan.event.notice.driver.TaskEventBus;
 import com.hechuan.event.notice.event.TaskEvent;
 
@@ -30,6 +38,8 @@ public class EventController {
 
 	private static final String SUCCESS = "SUCCESS";
 
+	private static final String FAILED = "FAILED";
+
 	@Autowired
 	private TaskEventBus taskEventBus;
 
@@ -38,7 +48,7 @@ public class EventController {
 	 * 
 	 * @param taskId
 	 *            任务ID
-	 * @return execute SUCCESS|FAILED
+	 * @return execute SUCCESS|FAILED，总线积压已满未受理时返回 FAILED，调用方应稍后重试；没有监听该任务的方法时同样返回 FAILED
 	 */
 	@RequestMapping(value = "/do", method = RequestMethod.POST)
 	public String doTask(@RequestParam String taskId) {
@@ -47,10 +57,42 @@ public class EventController {
 
 		PostEvent postEvent = PostEvent.create().setTaskId(taskId).setEvent(new TaskEvent(taskId));
 
-		taskEventBus.post(postEvent);
+		PostResult result = taskEventBus.post(postEvent);
 
 		logger.info("EventController.doTask execte....end...");
 
+		if (!result.isAccepted()) {
+			logger.warn("EventController.doTask {} not accepted: {}", taskId, result);
+			return FAILED;
+		}
 		return SUCCESS;
 	}
+
+	/**
+	 * 异步执行任务方法，不占用请求线程等待监听者处理结果
+	 * 
+	 * @param taskId
+	 *            任务ID
+	 * @return 各监听方法的返回值；任一监听方法失败时请求失败
+	 */
+	@RequestMapping(value = "/doAsync", method = RequestMethod.POST)
+	public CompletableFuture<List<Object>> doTaskAsync(@RequestParam String taskId) {
+		Preconditions.checkNotNull(taskId);
+
+		PostEvent postEvent = PostEvent.create().setTaskId(taskId).setEvent(new TaskEvent(taskId));
+
+		return taskEventBus.postAsync(postEvent).thenApply(new Function<List<SubscriberResult>, List<Object>>() {
+			@Override
+			public List<Object> apply(List<SubscriberResult> results) {
+				List<Object> values = Lists.newArrayListWithCapacity(results.size());
+				for (SubscriberResult result : results) {
+					if (!result.isSuccess()) {
+						throw new CompletionException(result.getFailure());
+					}
+					values.add(result.getValue());
+				}
+				return values;
+			}
+		});
+	}
 }
@@ -0,0 +1,324 @@
+package com.hechuan.event.notice.driver;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 等待执行的投递计数及其上限
+ * <p>
+ * 总线和每个监听方法各有一个：投递交出时占用，开始执行或被丢弃时归还。超过上限时按 {@link OverflowPolicy}
+ * 处理新的投递；无上限时只计数，计入 {@link LongAdder}，不在投递路径上争用同一个原子变量，设置上限时再并入有上限的计数。
+ * {@link OverflowPolicy#DROP_OLDEST} 另外按交出顺序记录尚未开始的投递，已开始的记录在写入时成批清理。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+final class Backlog {
+
+	static final int UNBOUNDED = Integer.MAX_VALUE;
+
+	/**
+	 * A hand-off that can still be dropped before it starts.
+	 */
+	interface Sheddable {
+
+		boolean isPending();
+
+		/**
+		 * Drops the hand-off unless it already started, returning its units
+		 * to every backlog holding them.
+		 *
+		 * @return the units released, 0 if it already started
+		 */
+		int shed();
+	}
+
+	private volatile Limit limit;
+
+	/** Units counted against a capacity. */
+	private final AtomicInteger occupied = new AtomicInteger();
+
+	/**
+	 * Units taken and returned while unbounded, folded into {@link #occupied}
+	 * once a capacity is set. The sum of both is the backlog.
+	 */
+	private final LongAdder uncounted = new LongAdder();
+
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notFull = lock.newCondition();
+
+	/** Threads blocked for room, only changed under {@link #lock}. */
+	private volatile int waiters;
+
+	/** Hand-offs in order, for {@link OverflowPolicy#DROP_OLDEST}. */
+	private final Deque<Sheddable> sheddable = new ConcurrentLinkedDeque<Sheddable>();
+	private final AtomicInteger tracked = new AtomicInteger();
+	private final AtomicBoolean purging = new AtomicBoolean();
+
+	Backlog() {
+		this(UNBOUNDED, OverflowPolicy.BLOCK, Long.MAX_VALUE);
+	}
+
+	Backlog(int capacity, OverflowPolicy overflow, long blockTimeoutNanos) {
+		setLimit(capacity, overflow, blockTimeoutNanos);
+	}
+
+	/**
+	 * @param blockTimeoutNanos
+	 *            longest wait of {@link OverflowPolicy#BLOCK},
+	 *            {@link Long#MAX_VALUE} for no limit
+	 */
+	void setLimit(int capacity, OverflowPolicy overflow, long blockTimeoutNanos) {
+		checkArgument(capacity > 0, "capacity must be positive: %s", capacity);
+		checkArgument(blockTimeoutNanos >= 0, "blockTimeout must not be negative: %s", blockTimeoutNanos);
+		this.limit = new Limit(capacity, checkNotNull(overflow), blockTimeoutNanos);
+		if (capacity != UNBOUNDED) {
+			fold();
+		}
+		if (overflow != OverflowPolicy.DROP_OLDEST) {
+			sheddable.clear();
+			tracked.set(0);
+		}
+		signalWaiters();
+	}
+
+	/**
+	 * Takes room for {@code units} deliveries, applying the overflow policy
+	 * when there is not enough. A request larger than the capacity is
+	 * admitted once the backlog is empty.
+	 *
+	 * @return {@link PostResult#ACCEPTED} or
+	 *         {@link PostResult#RAN_ON_CALLER} when the room was taken (over
+	 *         the capacity for the latter), otherwise why it was not
+	 */
+	PostResult admit(int units) {
+		Limit current = limit;
+		if (tryAcquire(units, current.capacity)) {
+			return PostResult.ACCEPTED;
+		}
+		switch (current.overflow) {
+		case BLOCK:
+			if (await(units, current)) {
+				return PostResult.ACCEPTED;
+			}
+			rejected.add(units);
+			return PostResult.TIMED_OUT;
+		case DROP_OLDEST:
+			if (shedFor(units, current.capacity)) {
+				return PostResult.ACCEPTED;
+			}
+			dropped.add(units);
+			return PostResult.DROPPED;
+		case DROP_NEWEST:
+			dropped.add(units);
+			return PostResult.DROPPED;
+		case REJECT:
+			rejected.add(units);
+			return PostResult.REJECTED;
+		case CALLER_RUNS:
+			occupied.addAndGet(units);
+			return PostResult.RAN_ON_CALLER;
+		default:
+			throw new AssertionError(current.overflow);
+		}
+	}
+
+	/**
+	 * Takes room for {@code units} deliveries regardless of the capacity.
+	 */
+	void acquire(int units) {
+		if (limit.capacity == UNBOUNDED) {
+			uncounted.add(units);
+		} else {
+			occupied.addAndGet(units);
+		}
+	}
+
+	void release(int units) {
+		if (units == 0) {
+			return;
+		}
+		if (limit.capacity == UNBOUNDED) {
+			uncounted.add(-units);
+		} else {
+			occupied.addAndGet(-units);
+		}
+		if (waiters > 0) {
+			signalWaiters();
+		}
+	}
+
+	/**
+	 * Records a hand-off admitted into this backlog so that
+	 * {@link OverflowPolicy#DROP_OLDEST} can drop it later.
+	 */
+	void track(Sheddable handoff) {
+		Limit current = limit;
+		if (current.overflow != OverflowPolicy.DROP_OLDEST) {
+			return;
+		}
+		sheddable.offerLast(handoff);
+		// at most capacity hand-offs are pending, the rest already started
+		if (tracked.incrementAndGet() > 2L * current.capacity) {
+			purgeStarted();
+		}
+	}
+
+	private boolean tryAcquire(int units, int capacity) {
+		if (capacity == UNBOUNDED) {
+			uncounted.add(units);
+			return true;
+		}
+		while (true) {
+			int current = occupied.get();
+			if (current > 0 && units > capacity - current) {
+				// units a racing call still counted as unbounded may free room
+				if (fold()) {
+					continue;
+				}
+				return false;
+			}
+			if (occupied.compareAndSet(current, current + units)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Moves the units counted while unbounded into {@link #occupied}. Calls
+	 * that read the limit before it was set may still count a few units as
+	 * unbounded afterwards; they are folded in when the backlog looks full.
+	 *
+	 * @return whether any units moved
+	 */
+	private boolean fold() {
+		long moved = uncounted.sum();
+		if (moved == 0L) {
+			return false;
+		}
+		uncounted.add(-moved);
+		occupied.addAndGet((int) moved);
+		return true;
+	}
+
+	/**
+	 * Waits for room. A waiter registers before checking, and a releaser
+	 * checks for waiters after returning room, so no wake-up is lost.
+	 */
+	private boolean await(int units, Limit current) {
+		long remaining = current.blockTimeoutNanos;
+		lock.lock();
+		try {
+			waiters++;
+			while (!tryAcquire(units, current.capacity)) {
+				if (remaining <= 0L) {
+					return false;
+				}
+				remaining = notFull.awaitNanos(remaining);
+			}
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		} finally {
+			waiters--;
+			lock.unlock();
+		}
+	}
+
+	private void signalWaiters() {
+		lock.lock();
+		try {
+			notFull.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Drops the oldest pending hand-offs until {@code units} fit.
+	 */
+	private boolean shedFor(int units, int capacity) {
+		Sheddable oldest;
+		while ((oldest = sheddable.pollFirst()) != null) {
+			tracked.decrementAndGet();
+			dropped.add(oldest.shed());
+			if (tryAcquire(units, capacity)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void purgeStarted() {
+		if (!purging.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			int remaining = 0;
+			for (Iterator<Sheddable> it = sheddable.iterator(); it.hasNext();) {
+				if (it.next().isPending()) {
+					remaining++;
+				} else {
+					it.remove();
+				}
+			}
+			tracked.set(remaining);
+		} finally {
+			purging.set(false);
+		}
+	}
+
+	/**
+	 * @return Deliveries handed over and not started yet.
+	 */
+	int occupied() {
+		return occupied.get() + (int) uncounted.sum();
+	}
+
+	/**
+	 * @return The capacity, {@link #UNBOUNDED} when there is none.
+	 */
+	int capacity() {
+		return limit.capacity;
+	}
+
+	OverflowPolicy overflow() {
+		return limit.overflow;
+	}
+
+	long dropped() {
+		return dropped.sum();
+	}
+
+	long rejected() {
+		return rejected.sum();
+	}
+
+	private static final class Limit {
+		final int capacity;
+		final OverflowPolicy overflow;
+		final long blockTimeoutNanos;
+
+		Limit(int capacity, OverflowPolicy overflow, long blockTimeoutNanos) {
+			this.capacity = capacity;
+			this.overflow = overflow;
+			this.blockTimeoutNanos = blockTimeoutNanos;
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package com.hechuan.event.notice.driver;
+
+/**
+ * 可合并的事件：同一任务ID、同一合并键的事件在等待监听方法处理期间，新事件直接替换尚未处理的旧事件
+ * <p>
+ * 适用于只关心最新状态的更新类事件。参数类型实现本接口的监听方法总是合并；其他监听方法可通过
+ * {@link Subscribe#conflate()} 按任务ID合并。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public interface Conflatable {
+
+	/**
+	 * Returns the key identifying what this event updates within its task id,
+	 * for example an order number. Pending events of the same task id with
+	 * equal keys replace each other; {@code null} keys on the task id alone.
+	 */
+	Object conflationKey();
+}
@@ -0,0 +1,130 @@
+package com.hechuan.event.notice.driver;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.lang.reflect.Method;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * 死信：无人监听的事件，总线积压已满时被拒绝或等待超时的事件，或监听方法用尽重试次数仍处理失败的事件
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public final class DeadLetter {
+
+	private final String taskId;
+	private final Object event;
+	private final Object subscriber;
+	private final Method subscriberMethod;
+	private final Throwable failure;
+	private final int attempts;
+	private final long timestamp;
+
+	/**
+	 * Creates the dead letter of an event no subscriber handles.
+	 */
+	static DeadLetter unrouted(String taskId, Object event) {
+		return new DeadLetter(taskId, event, null, null, null, 0);
+	}
+
+	/**
+	 * Creates the dead letter of an event the full bus did not accept.
+	 */
+	static DeadLetter refused(String taskId, Object event, PostRejectedException rejection) {
+		return new DeadLetter(taskId, event, null, null, checkNotNull(rejection), 0);
+	}
+
+	/**
+	 * Creates the dead letter of an event a subscriber failed to handle.
+	 */
+	static DeadLetter failed(String taskId, Object event, Object subscriber, Method subscriberMethod,
+			Throwable failure, int attempts) {
+		return new DeadLetter(taskId, event, checkNotNull(subscriber), checkNotNull(subscriberMethod),
+				checkNotNull(failure), attempts);
+	}
+
+	private DeadLetter(String taskId, Object event, Object subscriber, Method subscriberMethod, Throwable failure,
+			int attempts) {
+		this.taskId = checkNotNull(taskId);
+		this.event = checkNotNull(event);
+		this.subscriber = subscriber;
+		this.subscriberMethod = subscriberMethod;
+		this.failure = failure;
+		this.attempts = attempts;
+		this.timestamp = System.currentTimeMillis();
+	}
+
+	/**
+	 * @return The task id the event was posted under.
+	 */
+	public String getTaskId() {
+		return taskId;
+	}
+
+	/**
+	 * @return The event, or the {@code List} of events handed to a batching
+	 *         subscriber.
+	 */
+	public Object getEvent() {
+		return event;
+	}
+
+	/**
+	 * @return {@code true} when no subscriber handles the event.
+	 */
+	public boolean isUnrouted() {
+		return failure == null;
+	}
+
+	/**
+	 * @return The object the failed subscriber method was called on,
+	 *         {@code null} for an unrouted event or one the bus refused.
+	 */
+	public Object getSubscriber() {
+		return subscriber;
+	}
+
+	/**
+	 * @return The failed subscriber method, {@code null} for an unrouted
+	 *         event or one the bus refused.
+	 */
+	public Method getSubscriberMethod() {
+		return subscriberMethod;
+	}
+
+	/**
+	 * @return The exception thrown by the last attempt, the
+	 *         {@link PostRejectedException} of an event the bus refused,
+	 *         {@code null} for an unrouted event.
+	 */
+	public Throwable getFailure() {
+		return failure;
+	}
+
+	/**
+	 * @return Number of invocations made before giving up, 0 for an unrouted
+	 *         or refused event.
+	 */
+	public int getAttempts() {
+		return attempts;
+	}
+
+	/**
+	 * @return When the event was given up, in milliseconds since the epoch.
+	 */
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).omitNullValues().add("taskId", taskId).add("event", event)
+				.add("subscriberMethod", subscriberMethod).add("failure", failure).add("attempts", attempts)
+				.toString();
+	}
+}
@@ -0,0 +1,102 @@
+package com.hechuan.event.notice.driver;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+/**
+ * 有界死信队列
+ * <p>
+ * 环形数组保存最近的死信，满时丢弃最旧的一条并计数，失败高峰期间内存占用保持不变。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public final class DeadLetterQueue {
+
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	private final DeadLetter[] letters;
+
+	/** Index of the oldest letter. */
+	private int head;
+	private int size;
+
+	private long total;
+	private long dropped;
+
+	public DeadLetterQueue() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public DeadLetterQueue(int capacity) {
+		checkArgument(capacity > 0, "capacity must be positive: %s", capacity);
+		this.letters = new DeadLetter[capacity];
+	}
+
+	/**
+	 * Stores {@code letter}, dropping the oldest one when full.
+	 */
+	synchronized void add(DeadLetter letter) {
+		total++;
+		if (size == letters.length) {
+			letters[head] = letter;
+			head = (head + 1) % letters.length;
+			dropped++;
+		} else {
+			letters[(head + size) % letters.length] = letter;
+			size++;
+		}
+	}
+
+	/**
+	 * Removes and returns every stored letter, oldest first.
+	 */
+	public synchronized List<DeadLetter> drain() {
+		List<DeadLetter> drained = snapshot();
+		for (int i = 0; i < size; i++) {
+			letters[(head + i) % letters.length] = null;
+		}
+		head = 0;
+		size = 0;
+		return drained;
+	}
+
+	/**
+	 * Returns the stored letters, oldest first, without removing them.
+	 */
+	public synchronized List<DeadLetter> snapshot() {
+		List<DeadLetter> snapshot = Lists.newArrayListWithCapacity(size);
+		for (int i = 0; i < size; i++) {
+			snapshot.add(letters[(head + i) % letters.length]);
+		}
+		return snapshot;
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+
+	public int capacity() {
+		return letters.length;
+	}
+
+	/**
+	 * @return Number of letters stored so far, including the dropped ones.
+	 */
+	public synchronized long getTotal() {
+		return total;
+	}
+
+	/**
+	 * @return Number of letters dropped because the queue was full.
+	 */
+	public synchronized long getDropped() {
+		return dropped;
+	}
+}
@@ -1,12 +1,15 @@
 package com.hechuan.event.notice.driver;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.Queues;
 
-import java.util.Iterator;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 /**
  * 事件总线分发器
@@ -33,67 +36,229 @@ public abstract class Dispatcher {
 	}
 
 	/**
-	 * Dispatches the given {@code event} to the given {@code subscribers}.
+	 * Returns a dispatcher that hands events over to {@code consumers} threads
+	 * through a preallocated ring buffer of {@code bufferSize} slots (a power
+	 * of 2). Posting threads only claim and fill a slot; they wait when the
+	 * buffer is full. Consumers drain up to {@code batchSize} events per claim
+	 * and wait for new ones with the given {@code waitStrategy}.
 	 */
-	abstract void dispatch(Object event, Iterator<Subscriber> subscribers);
+	public static Dispatcher ringBuffer(int bufferSize, int consumers, int batchSize, WaitStrategy waitStrategy) {
+		return new RingBufferDispatcher(bufferSize, consumers, batchSize, waitStrategy);
+	}
+
+	/**
+	 * Returns a {@link #ringBuffer(int, int, int, WaitStrategy)} dispatcher with
+	 * a single consumer thread draining up to 64 events per batch.
+	 */
+	public static Dispatcher ringBuffer(int bufferSize, WaitStrategy waitStrategy) {
+		return ringBuffer(bufferSize, 1, 64, waitStrategy);
+	}
 
 	/**
-	 * Implementation of a {@link #perThreadDispatchQueue()} dispatcher.
+	 * Returns a dispatcher queueing events in one lane per {@link Priority},
+	 * drained by {@code consumers} threads. Each round a consumer hands over
+	 * up to {@code highWeight} high, then {@code normalWeight} normal, then
+	 * {@code lowWeight} low priority events, skipping empty lanes, so urgent
+	 * events overtake a backlog of bulk ones while lower lanes still get
+	 * their share under sustained load.
+	 */
+	public static Dispatcher priorityLanes(int consumers, int highWeight, int normalWeight, int lowWeight) {
+		return new PriorityDispatcher(consumers, new int[] { highWeight, normalWeight, lowWeight });
+	}
+
+	/**
+	 * Returns a {@link #priorityLanes(int, int, int, int)} dispatcher with
+	 * weights 16, 4 and 1.
+	 */
+	public static Dispatcher priorityLanes(int consumers) {
+		return priorityLanes(consumers, 16, 4, 1);
+	}
+
+	/**
+	 * Dispatches the event of {@code postEvent} to the given
+	 * {@code subscribers}.
+	 */
+	final void dispatch(PostEvent postEvent, Subscriber[] subscribers) {
+		dispatch(postEvent, subscribers, null);
+	}
+
+	/**
+	 * Dispatches the event of {@code postEvent} to the given
+	 * {@code subscribers}, reporting each subscriber's outcome to
+	 * {@code collector} when it is not {@code null}. Implementations that
+	 * deliver later copy what they need out of {@code postEvent}.
+	 */
+	abstract void dispatch(PostEvent postEvent, Subscriber[] subscribers, ResultCollector collector);
+
+	/**
+	 * Dispatches a group of {@code events} posted under the same
+	 * {@code taskId} and of the same class, handing each subscriber the whole
+	 * group as one contiguous run. Dispatchers without priority lanes ignore
+	 * {@code priority}.
+	 */
+	void dispatchAll(String taskId, List<Object> events, Priority priority, Subscriber[] subscribers) {
+		checkNotNull(events);
+		for (Subscriber subscriber : subscribers) {
+			subscriber.dispatchEvents(taskId, events);
+		}
+	}
+
+	/**
+	 * Returns the number of events accepted but not yet handed to their
+	 * subscribers. Dispatchers that deliver on the posting thread report 0.
+	 */
+	long pendingEvents() {
+		return 0L;
+	}
+
+	/**
+	 * Implementation of a {@link #perThreadDispatchQueue()} dispatcher. The
+	 * queue and a free list of envelopes stay with each posting thread, so a
+	 * post allocates nothing here once the thread has dispatched before.
 	 */
 	private static final class PerThreadQueuedDispatcher extends Dispatcher {
 
 		// This dispatcher matches the original dispatch behavior of EventBus.
 
-		/**
-		 * Per-thread queue of events to dispatch.
-		 */
-		private final ThreadLocal<Queue<Event>> queue = new ThreadLocal<Queue<Event>>() {
-			@Override
-			protected Queue<Event> initialValue() {
-				return Queues.newArrayDeque();
-			}
-		};
+		/** Envelopes kept per thread for reuse. */
+		private static final int MAX_FREE_EVENTS = 16;
 
 		/**
-		 * Per-thread dispatch state, used to avoid reentrant event dispatching.
+		 * Per-thread queue of events to dispatch, and whether the thread is
+		 * already dispatching, used to avoid reentrant event dispatching.
 		 */
-		private final ThreadLocal<Boolean> dispatching = new ThreadLocal<Boolean>() {
+		private final ThreadLocal<DispatchState> state = new ThreadLocal<DispatchState>() {
 			@Override
-			protected Boolean initialValue() {
-				return false;
+			protected DispatchState initialValue() {
+				return new DispatchState();
 			}
 		};
 
 		@Override
-		void dispatch(Object event, Iterator<Subscriber> subscribers) {
-			checkNotNull(event);
+		void dispatch(PostEvent postEvent, Subscriber[] subscribers, ResultCollector collector) {
+			checkNotNull(postEvent);
+			checkNotNull(subscribers);
+			DispatchState dispatchState = state.get();
+			enqueueAndDrain(dispatchState,
+					dispatchState.obtain(postEvent.getTaskId(), postEvent.getEvent(), null, subscribers, collector));
+		}
+
+		@Override
+		void dispatchAll(String taskId, List<Object> events, Priority priority, Subscriber[] subscribers) {
+			checkNotNull(events);
 			checkNotNull(subscribers);
-			Queue<Event> queueForThread = queue.get();
-			queueForThread.offer(new Event(event, subscribers));
+			DispatchState dispatchState = state.get();
+			enqueueAndDrain(dispatchState, dispatchState.obtain(taskId, null, events, subscribers, null));
+		}
+
+		/**
+		 * Queues {@code event} and, unless this thread is already dispatching,
+		 * dispatches the queue. A failed dispatch does not stop the events
+		 * queued behind it: they were admitted into the bus backlog, which
+		 * only their dispatch releases. The first failure is rethrown once
+		 * the queue is empty.
+		 */
+		private void enqueueAndDrain(DispatchState dispatchState, Event event) {
+			Queue<Event> queueForThread = dispatchState.queue;
+			queueForThread.offer(event);
 
-			if (!dispatching.get()) {
-				dispatching.set(true);
+			if (!dispatchState.dispatching) {
+				dispatchState.dispatching = true;
+				Throwable failure = null;
 				try {
 					Event nextEvent;
 					while ((nextEvent = queueForThread.poll()) != null) {
-						while (nextEvent.subscribers.hasNext()) {
-							nextEvent.subscribers.next().dispatchEvent(nextEvent.event);
+						try {
+							nextEvent.dispatch();
+						} catch (Throwable e) {
+							if (failure == null) {
+								failure = e;
+							} else if (failure != e) {
+								failure.addSuppressed(e);
+							}
+						} finally {
+							dispatchState.release(nextEvent);
 						}
 					}
 				} finally {
-					dispatching.remove();
-					queue.remove();
+					dispatchState.dispatching = false;
+				}
+				if (failure != null) {
+					throw Throwables.propagate(failure);
 				}
 			}
 		}
 
+		private static final class DispatchState {
+			final Queue<Event> queue = Queues.newArrayDeque();
+			boolean dispatching;
+
+			private final Event[] free = new Event[MAX_FREE_EVENTS];
+			private int freeCount;
+
+			Event obtain(String taskId, Object event, List<Object> events, Subscriber[] subscribers,
+					ResultCollector collector) {
+				Event envelope = freeCount > 0 ? free[--freeCount] : new Event();
+				envelope.set(taskId, event, events, subscribers, collector);
+				return envelope;
+			}
+
+			/**
+			 * Resets {@code envelope} and keeps it for reuse, except in
+			 * {@link Pooling#DEBUG debug mode}.
+			 */
+			void release(Event envelope) {
+				envelope.reset();
+				if (!Pooling.DEBUG && freeCount < MAX_FREE_EVENTS) {
+					free[freeCount++] = envelope;
+				}
+			}
+		}
+
+		/**
+		 * Envelope of one dispatch, reset and reused once dispatched.
+		 */
 		private static final class Event {
-			private final Object event;
-			private final Iterator<Subscriber> subscribers;
+			private String taskId;
+			private Object event;
+			private List<Object> events;
+			private Subscriber[] subscribers;
+			private ResultCollector collector;
+			private boolean released;
 
-			private Event(Object event, Iterator<Subscriber> subscribers) {
+			void set(String taskId, Object event, List<Object> events, Subscriber[] subscribers,
+					ResultCollector collector) {
+				this.taskId = taskId;
 				this.event = event;
+				this.events = events;
 				this.subscribers = subscribers;
+				this.collector = collector;
+				this.released = false;
+			}
+
+			void dispatch() {
+				if (Pooling.DEBUG) {
+					Pooling.checkLive(released, this);
+				}
+				for (Subscriber subscriber : subscribers) {
+					if (events != null) {
+						subscriber.dispatchEvents(taskId, events);
+					} else {
+						subscriber.dispatchEvent(taskId, event, collector);
+					}
+				}
+			}
+
+			void reset() {
+				if (Pooling.DEBUG) {
+					checkState(!released, "Event released twice");
+				}
+				taskId = null;
+				event = null;
+				events = null;
+				subscribers = null;
+				collector = null;
+				released = true;
 			}
 		}
 	}
@@ -109,26 +274,64 @@ public abstract class Dispatcher {
 		 */
 		private final ConcurrentLinkedQueue<EventWithSubscriber> queue = Queues.newConcurrentLinkedQueue();
 
+		/**
+		 * Size of {@link #queue}, kept aside since counting a concurrent queue
+		 * walks all of it.
+		 */
+		private final LongAdder queued = new LongAdder();
+
 		@Override
-		void dispatch(Object event, Iterator<Subscriber> subscribers) {
-			checkNotNull(event);
-			while (subscribers.hasNext()) {
-				queue.add(new EventWithSubscriber(event, subscribers.next()));
+		void dispatch(PostEvent postEvent, Subscriber[] subscribers, ResultCollector collector) {
+			checkNotNull(postEvent);
+			for (Subscriber subscriber : subscribers) {
+				queue.add(new EventWithSubscriber(postEvent.getTaskId(), postEvent.getEvent(), null, subscriber,
+						collector));
+				queued.increment();
 			}
+			drain();
+		}
+
+		@Override
+		void dispatchAll(String taskId, List<Object> events, Priority priority, Subscriber[] subscribers) {
+			checkNotNull(events);
+			for (Subscriber subscriber : subscribers) {
+				queue.add(new EventWithSubscriber(taskId, null, events, subscriber, null));
+				queued.increment();
+			}
+			drain();
+		}
 
+		private void drain() {
 			EventWithSubscriber e;
 			while ((e = queue.poll()) != null) {
-				e.subscriber.dispatchEvent(e.event);
+				queued.decrement();
+				if (e.events != null) {
+					e.subscriber.dispatchEvents(e.taskId, e.events);
+				} else {
+					e.subscriber.dispatchEvent(e.taskId, e.event, e.collector);
+				}
 			}
 		}
 
+		@Override
+		long pendingEvents() {
+			return queued.sum();
+		}
+
 		private static final class EventWithSubscriber {
+			private final String taskId;
 			private final Object event;
+			private final List<Object> events;
 			private final Subscriber subscriber;
+			private final ResultCollector collector;
 
-			private EventWithSubscriber(Object event, Subscriber subscriber) {
+			private EventWithSubscriber(String taskId, Object event, List<Object> events, Subscriber subscriber,
+					ResultCollector collector) {
+				this.taskId = taskId;
 				this.event = event;
+				this.events = events;
 				this.subscriber = subscriber;
+				this.collector = collector;
 			}
 		}
 	}
@@ -140,10 +343,10 @@ public abstract class Dispatcher {
 		private static final ImmediateDispatcher INSTANCE = new ImmediateDispatcher();
 
 		@Override
-		void dispatch(Object event, Iterator<Subscriber> subscribers) {
-			checkNotNull(event);
-			while (subscribers.hasNext()) {
-				subscribers.next().dispatchEvent(event);
+		void dispatch(PostEvent postEvent, Subscriber[] subscribers, ResultCollector collector) {
+			checkNotNull(postEvent);
+			for (Subscriber subscriber : subscribers) {
+				subscriber.dispatchEvent(postEvent.getTaskId(), postEvent.getEvent(), collector);
 			}
 		}
 	}
@@ -0,0 +1,144 @@
+package com.hechuan.event.notice.driver;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * 事件总线运行统计：广播次数、积压、分发队列深度以及每个监听方法的统计
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public final class EventBusMetrics {
+
+	private final TaskEventBus bus;
+
+	private final LongAdder posted = new LongAdder();
+
+	private final LongAdder retried = new LongAdder();
+
+	EventBusMetrics(TaskEventBus bus) {
+		this.bus = bus;
+	}
+
+	void posted(long count) {
+		posted.add(count);
+	}
+
+	void retried() {
+		retried.increment();
+	}
+
+	/**
+	 * @return The identifier of the bus.
+	 */
+	public String getIdentifier() {
+		return bus.identifier();
+	}
+
+	/**
+	 * @return Number of events accepted by the bus so far.
+	 */
+	public long getPosted() {
+		return posted.sum();
+	}
+
+	/**
+	 * @return Number of failed subscriber invocations scheduled to run again.
+	 */
+	public long getRetries() {
+		return retried.sum();
+	}
+
+	/**
+	 * @return Number of events sent to the dead letters so far, including
+	 *         those since dropped from the queue.
+	 */
+	public long getDeadLetters() {
+		return bus.deadLetters().getTotal();
+	}
+
+	/**
+	 * @return Deliveries accepted and not started by their subscriber yet,
+	 *         an event posted to n subscribers counting n times. Compare with
+	 *         {@link #getCapacity()} to throttle producers before the bus
+	 *         overflows.
+	 */
+	public int getQueued() {
+		return bus.backlog().occupied();
+	}
+
+	/**
+	 * @return The bound set by {@link TaskEventBus#setCapacity}, 0 when
+	 *         unbounded.
+	 */
+	public int getCapacity() {
+		int capacity = bus.backlog().capacity();
+		return capacity == Backlog.UNBOUNDED ? 0 : capacity;
+	}
+
+	/**
+	 * @return The policy applied once {@link #getCapacity()} is reached.
+	 */
+	public OverflowPolicy getOverflow() {
+		return bus.backlog().overflow();
+	}
+
+	/**
+	 * @return Deliveries the full bus dropped, new or oldest.
+	 */
+	public long getDropped() {
+		return bus.backlog().dropped();
+	}
+
+	/**
+	 * @return Deliveries the full bus rejected, or gave up after waiting.
+	 */
+	public long getRejected() {
+		return bus.backlog().rejected();
+	}
+
+	/**
+	 * @return Number of events waiting in the dispatcher for delivery.
+	 */
+	public long getPendingEvents() {
+		return bus.dispatcher().pendingEvents();
+	}
+
+	/**
+	 * @return Per-lane backlog when the bus delivers on a
+	 *         {@link PartitionedExecutor}, an empty array otherwise.
+	 */
+	public int[] getLaneDepths() {
+		Executor executor = bus.executor();
+		return executor instanceof PartitionedExecutor ? ((PartitionedExecutor) executor).laneDepths() : new int[0];
+	}
+
+	/**
+	 * @return Statistics of every priority lane when the bus dispatches
+	 *         through {@link Dispatcher#priorityLanes(int)}, an empty list
+	 *         otherwise.
+	 */
+	public List<PriorityLaneMetrics> getPriorityLanes() {
+		Dispatcher dispatcher = bus.dispatcher();
+		return dispatcher instanceof PriorityDispatcher ? ((PriorityDispatcher) dispatcher).laneMetrics()
+				: ImmutableList.<PriorityLaneMetrics> of();
+	}
+
+	/**
+	 * @return Statistics of every registered subscriber method.
+	 */
+	public List<SubscriberMetrics> getSubscribers() {
+		ImmutableList.Builder<SubscriberMetrics> metrics = ImmutableList.builder();
+		for (Subscriber subscriber : bus.registry().allSubscribers()) {
+			metrics.add(subscriber.metrics());
+		}
+		return metrics.build();
+	}
+}
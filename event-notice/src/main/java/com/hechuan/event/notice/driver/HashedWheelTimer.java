@@ -0,0 +1,360 @@
+package com.hechuan.event.notice.driver;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * 分层哈希时间轮定时器
+ * <p>
+ * 四层时间轮各 256 个槽位，按到期刻度与当前刻度最高的不同位选择层级，第 0 层覆盖 256 个刻度，每上一层扩大 256 倍，
+ * 超出四层范围的任务放入溢出链表。插入和取消都是常数时间，每个刻度只扫描第 0 层的一个槽位；高层槽位在低层转满一圈时
+ * 整体下放一次，每个任务最多下放四次。槽位为带哨兵的双向循环链表，任务本身就是链表节点，不再额外分配。
+ * <p>
+ * 精度为一个刻度。任务在定时线程上执行，应当只做转交（如交给执行器或分发器），不应阻塞。时间轮为空时定时线程挂起，
+ * 不再逐刻度唤醒。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+final class HashedWheelTimer {
+
+	private static final Logger logger = Logger.getLogger(HashedWheelTimer.class.getName());
+
+	private static final int LEVELS = 4;
+	private static final int SLOT_BITS = 8;
+	private static final int SLOTS = 1 << SLOT_BITS;
+	private static final int SLOT_MASK = SLOTS - 1;
+
+	/**
+	 * Returns the timer shared by every bus, started on first use.
+	 */
+	static HashedWheelTimer shared() {
+		return Shared.INSTANCE;
+	}
+
+	private final long tickNanos;
+	private final ThreadFactory threadFactory;
+
+	/** Sentinels of the slots, level by level. */
+	private final Timeout[] slots = new Timeout[LEVELS * SLOTS];
+
+	/** Sentinel of the timeouts beyond the range of the top level. */
+	private final Timeout overflow = Timeout.sentinel();
+
+	/** Timeouts scheduled since the last tick, moved into the wheel by the worker. */
+	private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<Timeout>();
+
+	/** Timeouts cancelled since the last tick, unlinked from the wheel by the worker. */
+	private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<Timeout>();
+
+	/** Origin of every deadline, 0 until the worker is started. */
+	private volatile long startTime;
+
+	private volatile Thread worker;
+
+	/** Set by the worker before it parks on an empty wheel. */
+	private volatile boolean idle;
+
+	/** Ticks elapsed since {@link #startTime}, only touched by the worker. */
+	private long tick;
+
+	/** Timeouts linked into the wheel, only touched by the worker. */
+	private long size;
+
+	HashedWheelTimer(long tickDuration, TimeUnit unit, ThreadFactory threadFactory) {
+		checkArgument(tickDuration > 0, "tickDuration must be positive: %s", tickDuration);
+		this.tickNanos = unit.toNanos(tickDuration);
+		this.threadFactory = checkNotNull(threadFactory);
+		for (int i = 0; i < slots.length; i++) {
+			slots[i] = Timeout.sentinel();
+		}
+	}
+
+	/**
+	 * Runs {@code task} on the timer thread once {@code delay} has elapsed,
+	 * rounded up to the next tick.
+	 */
+	Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+		return schedule(new Timeout(checkNotNull(task)), delay, unit);
+	}
+
+	/**
+	 * Schedules a timeout created by the caller, typically a subclass
+	 * overriding {@link Timeout#run()}. A timeout is scheduled at most once.
+	 */
+	<T extends Timeout> T schedule(T timeout, long delay, TimeUnit unit) {
+		Timeout entry = timeout;
+		checkState(entry.timer == null, "%s is already scheduled", entry);
+		start();
+		entry.timer = this;
+		entry.deadline = System.nanoTime() + Math.max(unit.toNanos(delay), 0L) - startTime;
+		scheduled.add(entry);
+		if (idle) {
+			LockSupport.unpark(worker);
+		}
+		return timeout;
+	}
+
+	private void start() {
+		if (worker != null) {
+			return;
+		}
+		synchronized (this) {
+			if (worker == null) {
+				startTime = System.nanoTime();
+				Thread thread = threadFactory.newThread(new Worker());
+				worker = thread;
+				thread.start();
+			}
+		}
+	}
+
+	/**
+	 * A task scheduled on the timer, doubling as the node of its slot list.
+	 */
+	static class Timeout {
+
+		/** Scheduled, not yet moved into the wheel by the worker. */
+		private static final int SCHEDULED = 0;
+		/** Linked into the wheel. */
+		private static final int WAITING = 1;
+		private static final int CANCELLED = 2;
+		private static final int EXPIRED = 3;
+
+		private static final AtomicIntegerFieldUpdater<Timeout> STATE = AtomicIntegerFieldUpdater
+				.newUpdater(Timeout.class, "state");
+
+		private final Runnable task;
+
+		/** Set once when scheduled, before the timeout is published to the worker. */
+		private HashedWheelTimer timer;
+
+		/** Nanoseconds since the timer start. */
+		private long deadline;
+
+		private volatile int state = SCHEDULED;
+
+		/** Neighbours in the slot list, {@code null} when not linked. */
+		private Timeout prev;
+		private Timeout next;
+
+		static Timeout sentinel() {
+			Timeout sentinel = new Timeout(null);
+			sentinel.prev = sentinel.next = sentinel;
+			return sentinel;
+		}
+
+		/**
+		 * @param task
+		 *            run on expiry, {@code null} when {@link #run()} is
+		 *            overridden
+		 */
+		Timeout(Runnable task) {
+			this.task = task;
+		}
+
+		/**
+		 * Runs on the timer thread when the timeout expires.
+		 */
+		void run() {
+			task.run();
+		}
+
+		/**
+		 * Cancels the task unless it already ran or was cancelled.
+		 *
+		 * @return {@code true} if this call cancelled the task
+		 */
+		boolean cancel() {
+			if (STATE.compareAndSet(this, SCHEDULED, CANCELLED)) {
+				// never linked, the worker drops it when transferring
+				return true;
+			}
+			if (!STATE.compareAndSet(this, WAITING, CANCELLED)) {
+				return false;
+			}
+			timer.cancelled.add(this);
+			return true;
+		}
+
+		boolean isCancelled() {
+			return state == CANCELLED;
+		}
+
+		boolean isExpired() {
+			return state == EXPIRED;
+		}
+
+		/**
+		 * Returns the time left before expiry, negative once due.
+		 */
+		long delayNanos() {
+			return timer.startTime + deadline - System.nanoTime();
+		}
+
+		private void expire() {
+			if (!STATE.compareAndSet(this, WAITING, EXPIRED)) {
+				return;
+			}
+			try {
+				run();
+			} catch (Throwable t) {
+				logger.log(Level.WARNING, "Timer task " + this + " threw", t);
+			}
+		}
+
+		private void linkBefore(Timeout sentinel) {
+			next = sentinel;
+			prev = sentinel.prev;
+			prev.next = this;
+			sentinel.prev = this;
+		}
+
+		private void unlink() {
+			prev.next = next;
+			next.prev = prev;
+			prev = next = null;
+		}
+
+		@Override
+		public String toString() {
+			return task != null ? task.toString() : super.toString();
+		}
+	}
+
+	private final class Worker implements Runnable {
+		@Override
+		public void run() {
+			while (true) {
+				unlinkCancelled();
+				if (size == 0 && scheduled.isEmpty()) {
+					awaitScheduled();
+					continue;
+				}
+				waitForNextTick();
+				transferScheduled();
+				cascade();
+				expire(slots[(int) (tick & SLOT_MASK)]);
+				tick++;
+			}
+		}
+
+		/**
+		 * Parks while nothing is scheduled, then moves the wheel to the
+		 * current time; skipping ticks is safe as the wheel is empty.
+		 */
+		private void awaitScheduled() {
+			idle = true;
+			while (scheduled.isEmpty()) {
+				LockSupport.park(this);
+			}
+			idle = false;
+			tick = Math.max(tick, (System.nanoTime() - startTime) / tickNanos);
+		}
+
+		/**
+		 * Sleeps until the end of the current tick.
+		 */
+		private void waitForNextTick() {
+			long deadline = tickNanos * (tick + 1);
+			long now;
+			while ((now = System.nanoTime() - startTime) < deadline) {
+				LockSupport.parkNanos(this, deadline - now);
+			}
+		}
+
+		private void unlinkCancelled() {
+			Timeout timeout;
+			while ((timeout = cancelled.poll()) != null) {
+				if (timeout.prev != null) {
+					timeout.unlink();
+					size--;
+				}
+			}
+		}
+
+		private void transferScheduled() {
+			Timeout timeout;
+			while ((timeout = scheduled.poll()) != null) {
+				if (Timeout.STATE.compareAndSet(timeout, Timeout.SCHEDULED, Timeout.WAITING)) {
+					place(timeout);
+					size++;
+				}
+			}
+		}
+
+		/**
+		 * Links {@code timeout} into the slot of the lowest level whose span
+		 * still covers its expiry: the level of the highest bit in which the
+		 * expiry tick differs from the current one.
+		 */
+		private void place(Timeout timeout) {
+			long expiry = timeout.deadline / tickNanos;
+			Timeout slot;
+			if (expiry <= tick) {
+				slot = slots[(int) (tick & SLOT_MASK)];
+			} else {
+				int level = (63 - Long.numberOfLeadingZeros(expiry ^ tick)) / SLOT_BITS;
+				slot = level < LEVELS
+						? slots[level * SLOTS + (int) ((expiry >>> (level * SLOT_BITS)) & SLOT_MASK)] : overflow;
+			}
+			timeout.linkBefore(slot);
+		}
+
+		/**
+		 * Moves the upper level slots the current tick enters down the wheel,
+		 * top level first so that their timeouts can land in a slot cascaded
+		 * next.
+		 */
+		private void cascade() {
+			if ((tick & ((1L << (LEVELS * SLOT_BITS)) - 1)) == 0) {
+				cascade(overflow);
+			}
+			for (int level = LEVELS - 1; level > 0; level--) {
+				int shift = level * SLOT_BITS;
+				if ((tick & ((1L << shift) - 1)) == 0) {
+					cascade(slots[level * SLOTS + (int) ((tick >>> shift) & SLOT_MASK)]);
+				}
+			}
+		}
+
+		private void cascade(Timeout slot) {
+			Timeout timeout = slot.next;
+			slot.prev = slot.next = slot;
+			while (timeout != slot) {
+				Timeout next = timeout.next;
+				place(timeout);
+				timeout = next;
+			}
+		}
+
+		private void expire(Timeout slot) {
+			Timeout timeout;
+			while ((timeout = slot.next) != slot) {
+				timeout.unlink();
+				size--;
+				timeout.expire();
+			}
+		}
+	}
+
+	private static final class Shared {
+		static final HashedWheelTimer INSTANCE = new HashedWheelTimer(1, TimeUnit.MILLISECONDS,
+				new ThreadFactoryBuilder().setNameFormat("task-event-bus-timer").setDaemon(true).build());
+	}
+}
@@ -0,0 +1,109 @@
+package com.hechuan.event.notice.driver;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * 非线程安全监听方法的无锁邮箱（多生产者单消费者队列）
+ * <p>
+ * 投递线程只负责入队，通过 CAS 抢到排空权的线程按入队顺序依次执行，其余线程立即返回，不会阻塞在繁忙的监听者上。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+final class Mailbox {
+
+	private static final int IDLE = 0;
+	private static final int SCHEDULED = 1;
+
+	private static final AtomicReferenceFieldUpdater<Mailbox, Node> TAIL = AtomicReferenceFieldUpdater
+			.newUpdater(Mailbox.class, Node.class, "tail");
+	private static final AtomicIntegerFieldUpdater<Mailbox> STATE = AtomicIntegerFieldUpdater
+			.newUpdater(Mailbox.class, "state");
+
+	/** Last enqueued node, swapped by producers. */
+	private volatile Node tail;
+
+	/** Already consumed node preceding the next task, only touched by the drainer. */
+	private Node head;
+
+	/** {@link #SCHEDULED} while a thread owns the right to drain. */
+	private volatile int state = IDLE;
+
+	Mailbox() {
+		this.head = this.tail = new Node(null);
+	}
+
+	/**
+	 * Enqueues {@code task}.
+	 *
+	 * @return {@code true} when the caller won the right to drain and must
+	 *         arrange for {@link #drain()} to be called
+	 */
+	boolean enqueue(Runnable task) {
+		Node node = new Node(task);
+		TAIL.getAndSet(this, node).next = node;
+		return STATE.compareAndSet(this, IDLE, SCHEDULED);
+	}
+
+	/**
+	 * Runs queued tasks in order until the mailbox is empty, then gives up the
+	 * right to drain. Must only be called by the owner of that right. If a
+	 * task throws, the right is kept and {@link #release()} must be called.
+	 */
+	void drain() {
+		while (true) {
+			Runnable task;
+			while ((task = poll()) != null) {
+				task.run();
+			}
+			if (!release()) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Gives up the right to drain.
+	 *
+	 * @return {@code true} when tasks were enqueued meanwhile and the caller
+	 *         took the right back, in which case it must drain again
+	 */
+	boolean release() {
+		Node last = head;
+		state = IDLE;
+		// a producer that enqueued before seeing IDLE lost its CAS and relies on us
+		return tail != last && STATE.compareAndSet(this, IDLE, SCHEDULED);
+	}
+
+	private Runnable poll() {
+		Node current = head;
+		Node next = current.next;
+		if (next == null) {
+			if (current == tail) {
+				return null;
+			}
+			// a producer swapped the tail but has not linked its node yet
+			while ((next = current.next) == null) {
+				Thread.yield();
+			}
+		}
+		head = next;
+		Runnable task = next.task;
+		next.task = null;
+		return task;
+	}
+
+	private static final class Node {
+
+		private Runnable task;
+		private volatile Node next;
+
+		Node(Runnable task) {
+			this.task = task;
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package com.hechuan.event.notice.driver;
+
+/**
+ * 有界总线或监听方法积压已满时对新事件的处理方式
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public enum OverflowPolicy {
+
+	/** 投递线程等待积压回落，可设置最长等待时间，超时后放弃该事件 */
+	BLOCK,
+
+	/** 丢弃新事件 */
+	DROP_NEWEST,
+
+	/** 丢弃最早一个仍在等待执行的事件，为新事件腾出位置；没有可丢弃的事件时丢弃新事件 */
+	DROP_OLDEST,
+
+	/** 立即拒绝新事件，投递方据此快速失败或限流 */
+	REJECT,
+
+	/** 由投递线程直接处理新事件，自然放慢投递速度；同一任务的事件不再保证顺序 */
+	CALLER_RUNS
+}
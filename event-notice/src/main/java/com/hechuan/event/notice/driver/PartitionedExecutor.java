@@ -0,0 +1,134 @@
+package com.hechuan.event.notice.driver;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * 按 taskId 分区的执行器：taskId 哈希到固定的单线程通道上，同一任务的事件按先进先出顺序执行，
+ * 不同任务在多个通道上并行执行
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public final class PartitionedExecutor implements TaskAwareExecutor {
+
+	private final ThreadPoolExecutor[] lanes;
+
+	/** Lane selector for commands submitted without a task id. */
+	private final AtomicInteger nextLane = new AtomicInteger();
+
+	/**
+	 * Creates an executor with one lane per available processor.
+	 */
+	public PartitionedExecutor(int queueCapacity) {
+		this(Runtime.getRuntime().availableProcessors(), queueCapacity);
+	}
+
+	/**
+	 * @param laneCount
+	 *            number of single-threaded lanes
+	 * @param queueCapacity
+	 *            maximum number of pending commands per lane; submitting to a
+	 *            full lane blocks the caller until space frees up
+	 */
+	public PartitionedExecutor(int laneCount, int queueCapacity) {
+		checkArgument(laneCount > 0, "laneCount must be positive: %s", laneCount);
+		checkArgument(queueCapacity > 0, "queueCapacity must be positive: %s", queueCapacity);
+		ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("task-event-bus-lane-%d")
+				.setDaemon(true).build();
+		this.lanes = new ThreadPoolExecutor[laneCount];
+		for (int i = 0; i < laneCount; i++) {
+			lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<Runnable>(queueCapacity), threadFactory, BlockingPolicy.INSTANCE);
+		}
+	}
+
+	@Override
+	public void execute(String taskId, Runnable command) {
+		lanes[laneOf(taskId)].execute(checkNotNull(command));
+	}
+
+	/**
+	 * Commands without a task id carry no ordering requirement and are spread
+	 * round-robin over the lanes.
+	 */
+	@Override
+	public void execute(Runnable command) {
+		lanes[(nextLane.getAndIncrement() & Integer.MAX_VALUE) % lanes.length].execute(checkNotNull(command));
+	}
+
+	/**
+	 * Returns the lane that executes events of {@code taskId}.
+	 */
+	public int laneOf(String taskId) {
+		int h = taskId.hashCode();
+		h ^= h >>> 16;
+		return (h & Integer.MAX_VALUE) % lanes.length;
+	}
+
+	public int laneCount() {
+		return lanes.length;
+	}
+
+	/**
+	 * Returns the number of commands waiting in {@code lane}, not counting the
+	 * one being executed.
+	 */
+	public int laneDepth(int lane) {
+		return lanes[lane].getQueue().size();
+	}
+
+	/**
+	 * Returns the current depth of every lane.
+	 */
+	public int[] laneDepths() {
+		int[] depths = new int[lanes.length];
+		for (int i = 0; i < lanes.length; i++) {
+			depths[i] = laneDepth(i);
+		}
+		return depths;
+	}
+
+	/**
+	 * Stops accepting commands; already queued commands still run.
+	 */
+	public void shutdown() {
+		for (ThreadPoolExecutor lane : lanes) {
+			lane.shutdown();
+		}
+	}
+
+	/**
+	 * Blocks the submitting thread until the lane has room, so a full lane
+	 * slows producers down instead of reordering or dropping commands.
+	 */
+	private static final class BlockingPolicy implements RejectedExecutionHandler {
+		static final BlockingPolicy INSTANCE = new BlockingPolicy();
+
+		@Override
+		public void rejectedExecution(Runnable command, ThreadPoolExecutor lane) {
+			if (lane.isShutdown()) {
+				throw new RejectedExecutionException("lane has been shut down");
+			}
+			try {
+				lane.getQueue().put(command);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RejectedExecutionException("interrupted while waiting for lane capacity", e);
+			}
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package com.hechuan.event.notice.driver;
+
+/**
+ * 对象复用的调试开关
+ * <p>
+ * 以 {@code -Devent.notice.pool.debug=true} 启动时，归还的 {@link PostEvent} 和分发信封不再复用而是作废，
+ * 之后的任何读写都抛出 {@link IllegalStateException}，用于定位归还后仍被使用的对象；关闭时检查由 JIT 消除。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+final class Pooling {
+
+	static final boolean DEBUG = Boolean.getBoolean("event.notice.pool.debug");
+
+	private Pooling() {
+	}
+
+	/**
+	 * Fails when {@code released}, naming the type of {@code pooled}.
+	 */
+	static void checkLive(boolean released, Object pooled) {
+		if (released) {
+			throw new IllegalStateException(pooled.getClass().getSimpleName() + " used after release");
+		}
+	}
+}
@@ -1,12 +1,17 @@
 package com.hechuan.event.notice.driver;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
 
 /**
  * 广播事件实体
+ * <p>
+ * 总线在 {@code post}、{@code postAsync} 和 {@code postAll} 返回后不再引用传入的实体，调用方可以用
+ * {@link #obtain()} 从当前线程的回收池取得实体，投递后以 {@link #release()} 归还复用；延迟投递在触发前仍引用实体，
+ * 不能提前归还。
  * 
  * @author hechuan
  *
@@ -18,35 +23,126 @@ public class PostEvent {
 
 	public static final String DEFAULT = "default";
 
+	/** Released entities kept per thread for {@link #obtain()}. */
+	private static final int MAX_POOLED = 256;
+
+	private static final ThreadLocal<Pool> POOL = new ThreadLocal<Pool>() {
+		@Override
+		protected Pool initialValue() {
+			return new Pool();
+		}
+	};
+
 	private String taskId;
 
+	/** Interned key of {@link #taskId}, {@code null} when set as a plain string. */
+	private TaskKey taskKey;
+
 	private Object event;
 
+	private Priority priority = Priority.NORMAL;
+
+	/** Whether the entity went back to the pool through {@link #release()}. */
+	private boolean released;
+
 	public static PostEvent create() {
 		return new PostEvent();
 	}
 
+	/**
+	 * 从当前线程的回收池取得一个已重置的实体，池空时新建；调试模式下总是新建
+	 *
+	 * @see Pooling#DEBUG
+	 */
+	public static PostEvent obtain() {
+		if (Pooling.DEBUG) {
+			return new PostEvent();
+		}
+		PostEvent postEvent = POOL.get().poll();
+		if (postEvent == null) {
+			return new PostEvent();
+		}
+		postEvent.released = false;
+		return postEvent;
+	}
+
+	/**
+	 * 重置并归还到当前线程的回收池，之后不得再使用该实体；重复归还抛出 {@link IllegalStateException}。
+	 * 调试模式下实体不再复用，归还后的任何读写都会失败
+	 */
+	public void release() {
+		checkState(!released, "PostEvent released twice");
+		released = true;
+		taskId = null;
+		taskKey = null;
+		event = null;
+		priority = Priority.NORMAL;
+		if (!Pooling.DEBUG) {
+			POOL.get().offer(this);
+		}
+	}
+
 	public PostEvent() {
 	}
 
 	public String getTaskId() {
+		checkLive();
 		return taskId;
 	}
 
 	public PostEvent setTaskId(String taskId) {
+		checkLive();
 		this.taskId = checkNotNull(taskId);
+		this.taskKey = null;
+		return this;
+	}
+
+	public TaskKey getTaskKey() {
+		checkLive();
+		return taskKey;
+	}
+
+	/**
+	 * 以驻留句柄设置任务ID，路由时按句柄编号查表而不必对任务ID做哈希
+	 */
+	public PostEvent setTaskKey(TaskKey taskKey) {
+		checkLive();
+		this.taskKey = checkNotNull(taskKey);
+		this.taskId = taskKey.getTaskId();
 		return this;
 	}
 
 	public Object getEvent() {
+		checkLive();
 		return event;
 	}
 
 	public PostEvent setEvent(Object event) {
+		checkLive();
 		this.event = checkNotNull(event);
 		return this;
 	}
 
+	public Priority getPriority() {
+		checkLive();
+		return priority;
+	}
+
+	/**
+	 * 设置优先级，默认为 {@link Priority#NORMAL}；只有按优先级分道的分发器会区别对待
+	 */
+	public PostEvent setPriority(Priority priority) {
+		checkLive();
+		this.priority = checkNotNull(priority);
+		return this;
+	}
+
+	private void checkLive() {
+		if (Pooling.DEBUG) {
+			Pooling.checkLive(released, this);
+		}
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hashCode(taskId, event);
@@ -63,7 +159,31 @@ public class PostEvent {
 
 	@Override
 	public String toString() {
-		return MoreObjects.toStringHelper("PostEvent").add("taskId", taskId).add("event", event).toString();
+		return MoreObjects.toStringHelper("PostEvent").add("taskId", taskId).add("event", event)
+				.add("priority", priority).toString();
+	}
+
+	/**
+	 * Released entities of one thread, most recently released first.
+	 */
+	private static final class Pool {
+		private final PostEvent[] free = new PostEvent[MAX_POOLED];
+		private int size;
+
+		PostEvent poll() {
+			if (size == 0) {
+				return null;
+			}
+			PostEvent postEvent = free[--size];
+			free[size] = null;
+			return postEvent;
+		}
+
+		void offer(PostEvent postEvent) {
+			if (size < MAX_POOLED) {
+				free[size++] = postEvent;
+			}
+		}
 	}
 
 }
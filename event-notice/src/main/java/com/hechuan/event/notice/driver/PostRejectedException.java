@@ -0,0 +1,41 @@
+package com.hechuan.event.notice.driver;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 事件因积压已满未能送达时的异常，用于完成异步广播的结果
+ * <p>
+ * 过载时每个被丢弃的事件都会创建一个，它只说明原因，不记录调用栈。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public final class PostRejectedException extends RejectedExecutionException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final PostResult result;
+
+	PostRejectedException(PostResult result, String message) {
+		super(message);
+		this.result = checkNotNull(result);
+	}
+
+	/**
+	 * @return Why the event was not delivered: {@link PostResult#DROPPED},
+	 *         {@link PostResult#REJECTED} or {@link PostResult#TIMED_OUT}.
+	 */
+	public PostResult getResult() {
+		return result;
+	}
+
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return this;
+	}
+}
@@ -0,0 +1,38 @@
+package com.hechuan.event.notice.driver;
+
+/**
+ * 一次广播的受理结果
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public enum PostResult {
+
+	/** 已交给分发器 */
+	ACCEPTED,
+
+	/** 积压已满，事件已由投递线程处理完毕（{@link OverflowPolicy#CALLER_RUNS}） */
+	RAN_ON_CALLER,
+
+	/** 积压已满，事件被丢弃 */
+	DROPPED,
+
+	/** 积压已满，事件被拒绝 */
+	REJECTED,
+
+	/** 积压已满，等待超时或被中断后放弃 */
+	TIMED_OUT,
+
+	/** 没有监听者，事件进入死信队列 */
+	UNROUTED;
+
+	/**
+	 * @return {@code true} when the event reaches its subscribers.
+	 */
+	public boolean isAccepted() {
+		return this == ACCEPTED || this == RAN_ON_CALLER;
+	}
+}
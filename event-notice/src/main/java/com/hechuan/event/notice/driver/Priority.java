@@ -0,0 +1,22 @@
+package com.hechuan.event.notice.driver;
+
+/**
+ * 广播事件的优先级，由 {@link Dispatcher#priorityLanes(int, int, int, int)} 分发器按优先级分道排队
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public enum Priority {
+
+	/** 紧急事件，优先分发 */
+	HIGH,
+
+	/** 默认优先级 */
+	NORMAL,
+
+	/** 批量、可延后的事件 */
+	LOW
+}
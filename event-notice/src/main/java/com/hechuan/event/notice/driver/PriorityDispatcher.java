@@ -0,0 +1,198 @@
+package com.hechuan.event.notice.driver;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Queues;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * 按优先级分道的异步分发器
+ * <p>
+ * 每个 {@link Priority} 一条无锁队列，消费线程按加权轮询取事件：每一轮依次从高到低在各分道取不超过其权重的事件，
+ * 空分道跳过，所有非空分道的额度用完后开始下一轮。紧急事件不必排在大量批量事件之后，低优先级分道在持续高负载下也能
+ * 按权重比例得到处理。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+final class PriorityDispatcher extends Dispatcher {
+
+	private static final Logger logger = Logger.getLogger(PriorityDispatcher.class.getName());
+
+	private final Lane[] lanes;
+	private final int[] weights;
+
+	/** One permit per queued event, over all lanes. */
+	private final Semaphore available = new Semaphore(0);
+
+	private final Thread[] consumers;
+
+	private volatile boolean running = true;
+
+	PriorityDispatcher(int consumerCount, int[] weights) {
+		checkArgument(consumerCount > 0, "consumerCount must be positive: %s", consumerCount);
+		Priority[] priorities = Priority.values();
+		checkArgument(weights.length == priorities.length, "expected %s lane weights: %s", priorities.length,
+				Arrays.toString(weights));
+		for (int weight : weights) {
+			checkArgument(weight > 0, "lane weights must be positive: %s", Arrays.toString(weights));
+		}
+		this.weights = weights.clone();
+		this.lanes = new Lane[priorities.length];
+		for (Priority priority : priorities) {
+			lanes[priority.ordinal()] = new Lane(priority);
+		}
+
+		ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("task-event-bus-priority-%d")
+				.setDaemon(true).build();
+		this.consumers = new Thread[consumerCount];
+		for (int i = 0; i < consumerCount; i++) {
+			consumers[i] = threadFactory.newThread(new Runnable() {
+				@Override
+				public void run() {
+					consume();
+				}
+			});
+		}
+		for (Thread consumer : consumers) {
+			consumer.start();
+		}
+	}
+
+	@Override
+	void dispatch(PostEvent postEvent, Subscriber[] subscribers, ResultCollector collector) {
+		checkNotNull(postEvent);
+		checkNotNull(subscribers);
+		enqueue(postEvent.getPriority(),
+				new Entry(postEvent.getTaskId(), postEvent.getEvent(), null, subscribers, collector));
+	}
+
+	@Override
+	void dispatchAll(String taskId, List<Object> events, Priority priority, Subscriber[] subscribers) {
+		checkNotNull(events);
+		checkNotNull(subscribers);
+		enqueue(priority, new Entry(taskId, null, events, subscribers, null));
+	}
+
+	private void enqueue(Priority priority, Entry entry) {
+		checkState(running, "dispatcher has been halted");
+		Lane lane = lanes[priority.ordinal()];
+		lane.metrics.queued();
+		lane.queue.add(entry);
+		available.release();
+	}
+
+	/**
+	 * Stops the consumer threads once they finish their current event.
+	 * Events still queued are not delivered.
+	 */
+	void halt() {
+		running = false;
+		available.release(consumers.length);
+	}
+
+	@Override
+	long pendingEvents() {
+		long pending = 0L;
+		for (Lane lane : lanes) {
+			pending += lane.metrics.getPending();
+		}
+		return pending;
+	}
+
+	List<PriorityLaneMetrics> laneMetrics() {
+		ImmutableList.Builder<PriorityLaneMetrics> metrics = ImmutableList.builder();
+		for (Lane lane : lanes) {
+			metrics.add(lane.metrics);
+		}
+		return metrics.build();
+	}
+
+	private void consume() {
+		int[] credits = weights.clone();
+		while (true) {
+			available.acquireUninterruptibly();
+			if (!running) {
+				return;
+			}
+			deliver(next(credits));
+		}
+	}
+
+	/**
+	 * Takes the next event of the weighted round. The caller holds a permit,
+	 * so some lane has an event for it.
+	 */
+	private Entry next(int[] credits) {
+		while (true) {
+			for (int i = 0; i < lanes.length; i++) {
+				if (credits[i] > 0) {
+					Entry entry = lanes[i].queue.poll();
+					if (entry != null) {
+						credits[i]--;
+						lanes[i].metrics.dispatched(System.nanoTime() - entry.queuedAt);
+						return entry;
+					}
+				}
+			}
+			// every lane with credit left is empty: start a new round
+			System.arraycopy(weights, 0, credits, 0, weights.length);
+		}
+	}
+
+	private void deliver(Entry entry) {
+		for (Subscriber subscriber : entry.subscribers) {
+			try {
+				if (entry.events != null) {
+					subscriber.dispatchEvents(entry.taskId, entry.events);
+				} else {
+					subscriber.dispatchEvent(entry.taskId, entry.event, entry.collector);
+				}
+			} catch (Throwable e) {
+				logger.log(Level.SEVERE, "Failed to dispatch event "
+						+ (entry.events != null ? entry.events : entry.event) + " from a priority lane", e);
+			}
+		}
+	}
+
+	private static final class Lane {
+		final Queue<Entry> queue = Queues.newConcurrentLinkedQueue();
+		final PriorityLaneMetrics metrics;
+
+		Lane(Priority priority) {
+			this.metrics = new PriorityLaneMetrics(priority);
+		}
+	}
+
+	private static final class Entry {
+		private final String taskId;
+		private final Object event;
+		private final List<Object> events;
+		private final Subscriber[] subscribers;
+		private final ResultCollector collector;
+		private final long queuedAt = System.nanoTime();
+
+		private Entry(String taskId, Object event, List<Object> events, Subscriber[] subscribers,
+				ResultCollector collector) {
+			this.taskId = taskId;
+			this.event = event;
+			this.events = events;
+			this.subscribers = subscribers;
+			this.collector = collector;
+		}
+	}
+}
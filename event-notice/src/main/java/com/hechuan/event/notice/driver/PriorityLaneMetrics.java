@@ -0,0 +1,86 @@
+package com.hechuan.event.notice.driver;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * 优先级分发器单个分道的统计：排队数量、已分发数量和排队等待时间直方图
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public final class PriorityLaneMetrics {
+
+	/** Waits above this value are recorded as this value. */
+	private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+	/** Precision of the wait histograms, which grow with the longest wait recorded. */
+	private static final int SIGNIFICANT_DIGITS = 2;
+
+	private final Priority priority;
+
+	private final LongAdder queued = new LongAdder();
+	private final LongAdder dispatched = new LongAdder();
+	private final Recorder wait = new Recorder(SIGNIFICANT_DIGITS);
+
+	/** All waits recorded so far, guarded by {@code this}. */
+	private final Histogram accumulated = new Histogram(SIGNIFICANT_DIGITS);
+
+	/** Interval histogram handed back to {@link #wait} on the next read. */
+	private Histogram recycled;
+
+	PriorityLaneMetrics(Priority priority) {
+		this.priority = priority;
+	}
+
+	void queued() {
+		queued.increment();
+	}
+
+	void dispatched(long waitNanos) {
+		dispatched.increment();
+		wait.recordValue(Math.min(Math.max(waitNanos, 0L), HIGHEST_TRACKABLE_NANOS));
+	}
+
+	public Priority getPriority() {
+		return priority;
+	}
+
+	/**
+	 * @return Number of events waiting in the lane.
+	 */
+	public long getPending() {
+		return Math.max(0L, queued.sum() - dispatched.sum());
+	}
+
+	/**
+	 * @return Number of events handed from the lane to their subscribers.
+	 */
+	public long getDispatched() {
+		return dispatched.sum();
+	}
+
+	/**
+	 * Returns a copy of the histogram of the time (nanoseconds) events spent
+	 * in the lane, over every event dispatched so far.
+	 */
+	public synchronized Histogram waitSnapshot() {
+		recycled = wait.getIntervalHistogram(recycled);
+		accumulated.add(recycled);
+		return accumulated.copy();
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).add("priority", priority).add("pending", getPending())
+				.add("dispatched", getDispatched()).toString();
+	}
+}
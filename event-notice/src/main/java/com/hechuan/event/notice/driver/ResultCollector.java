@@ -0,0 +1,61 @@
+package com.hechuan.event.notice.driver;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 收集一次异步广播中每个监听方法的结果，全部完成后完成对应的 {@link CompletableFuture}
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+final class ResultCollector {
+
+	private final Subscriber[] subscribers;
+	private final SubscriberResult[] results;
+	private final AtomicInteger remaining;
+	private final CompletableFuture<List<SubscriberResult>> future = new CompletableFuture<List<SubscriberResult>>();
+
+	ResultCollector(Subscriber[] subscribers) {
+		this.subscribers = subscribers;
+		this.results = new SubscriberResult[subscribers.length];
+		this.remaining = new AtomicInteger(subscribers.length);
+		if (subscribers.length == 0) {
+			future.complete(Collections.<SubscriberResult> emptyList());
+		}
+	}
+
+	CompletableFuture<List<SubscriberResult>> future() {
+		return future;
+	}
+
+	void succeeded(Subscriber subscriber, Object value) {
+		complete(subscriber, new SubscriberResult(subscriber.target, subscriber.method(), value, null));
+	}
+
+	void failed(Subscriber subscriber, Throwable failure) {
+		complete(subscriber, new SubscriberResult(subscriber.target, subscriber.method(), null, failure));
+	}
+
+	/**
+	 * Results are written before the decrement and read after the last one,
+	 * so the final decrement publishes every slot to the completing thread.
+	 */
+	private void complete(Subscriber subscriber, SubscriberResult result) {
+		for (int i = 0; i < subscribers.length; i++) {
+			if (subscribers[i] == subscriber) {
+				results[i] = result;
+				break;
+			}
+		}
+		if (remaining.decrementAndGet() == 0) {
+			future.complete(Collections.unmodifiableList(Arrays.asList(results)));
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package com.hechuan.event.notice.driver;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * 监听方法失败后的重试策略：最多尝试次数和指数退避间隔
+ * <p>
+ * 每个监听方法各自重试失败的事件，不会把事件重新分发给已经成功处理的其他监听方法。用尽尝试次数后事件进入死信队列。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public final class RetryPolicy {
+
+	private static final RetryPolicy NONE = new RetryPolicy(1, 0L, 0L);
+
+	/**
+	 * Gives up after the first failure.
+	 */
+	public static RetryPolicy none() {
+		return NONE;
+	}
+
+	/**
+	 * Retries a failed invocation until {@code maxAttempts} invocations have
+	 * been made in total. The n-th retry waits {@code initialDelay * 2^(n-1)},
+	 * capped at {@code maxDelay}; half of every wait is randomized so that
+	 * subscribers failing together do not retry in lockstep.
+	 */
+	public static RetryPolicy exponentialBackoff(int maxAttempts, long initialDelay, long maxDelay, TimeUnit unit) {
+		checkArgument(maxAttempts >= 1, "maxAttempts must be at least 1: %s", maxAttempts);
+		checkArgument(initialDelay > 0, "initialDelay must be positive: %s", initialDelay);
+		checkArgument(maxDelay >= initialDelay, "maxDelay %s is shorter than initialDelay %s", maxDelay, initialDelay);
+		checkNotNull(unit);
+		return new RetryPolicy(maxAttempts, unit.toNanos(initialDelay), unit.toNanos(maxDelay));
+	}
+
+	private final int maxAttempts;
+	private final long initialDelayNanos;
+	private final long maxDelayNanos;
+
+	private RetryPolicy(int maxAttempts, long initialDelayNanos, long maxDelayNanos) {
+		this.maxAttempts = maxAttempts;
+		this.initialDelayNanos = initialDelayNanos;
+		this.maxDelayNanos = maxDelayNanos;
+	}
+
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	/**
+	 * Checks whether another invocation is allowed after {@code attempts}
+	 * failed ones.
+	 */
+	boolean shouldRetry(int attempts) {
+		return attempts < maxAttempts;
+	}
+
+	/**
+	 * Returns the wait before the invocation following {@code attempts}
+	 * failed ones.
+	 */
+	long delayNanos(int attempts) {
+		int shift = Math.min(attempts - 1, 62);
+		long delay = initialDelayNanos << shift;
+		if (delay > maxDelayNanos || delay >>> shift != initialDelayNanos) {
+			delay = maxDelayNanos;
+		}
+		long half = delay >>> 1;
+		return delay - half + ThreadLocalRandom.current().nextLong(half + 1);
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).add("maxAttempts", maxAttempts)
+				.add("initialDelayNanos", initialDelayNanos).add("maxDelayNanos", maxDelayNanos).toString();
+	}
+}
@@ -0,0 +1,293 @@
+package com.hechuan.event.notice.driver;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * 基于预分配环形缓冲的异步分发器（参考 LMAX Disruptor）
+ * <p>
+ * 投递线程通过序号抢占槽位并发布，缓冲写满时投递线程自旋等待（背压）；消费线程按批次抢占序号区间，
+ * 在自己的线程上把事件交给订阅者。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+final class RingBufferDispatcher extends Dispatcher {
+
+	private static final Logger logger = Logger.getLogger(RingBufferDispatcher.class.getName());
+
+	private final Slot[] slots;
+	private final int mask;
+	private final int indexShift;
+
+	/**
+	 * Round number of the last publication of each slot, used to tell apart
+	 * claimed and published sequences when several producers race.
+	 */
+	private final AtomicIntegerArray published;
+
+	/** Highest sequence claimed by a producer. */
+	private final Sequence cursor = new Sequence(-1L);
+
+	/** Highest sequence claimed by a consumer. */
+	private final Sequence workSequence = new Sequence(-1L);
+
+	/** Per consumer, the sequence below which it no longer touches any slot. */
+	private final Sequence[] consumerSequences;
+
+	/** Cached minimum of {@link #consumerSequences}. */
+	private final Sequence gatingCache = new Sequence(-1L);
+
+	private final int batchSize;
+	private final WaitStrategy waitStrategy;
+	private final Thread[] consumers;
+
+	private volatile boolean running = true;
+
+	RingBufferDispatcher(int bufferSize, int consumerCount, int batchSize, WaitStrategy waitStrategy) {
+		this(bufferSize, consumerCount, batchSize, waitStrategy, "task-event-bus-ring-%d");
+	}
+
+	/**
+	 * @param threadNameFormat
+	 *            {@link ThreadFactoryBuilder#setNameFormat name format} of
+	 *            the consumer threads
+	 */
+	RingBufferDispatcher(int bufferSize, int consumerCount, int batchSize, WaitStrategy waitStrategy,
+			String threadNameFormat) {
+		checkArgument(bufferSize > 0 && Integer.bitCount(bufferSize) == 1, "bufferSize must be a power of 2: %s",
+				bufferSize);
+		checkArgument(consumerCount > 0, "consumerCount must be positive: %s", consumerCount);
+		checkArgument(batchSize > 0, "batchSize must be positive: %s", batchSize);
+		this.waitStrategy = checkNotNull(waitStrategy);
+		this.batchSize = batchSize;
+		this.mask = bufferSize - 1;
+		this.indexShift = Integer.numberOfTrailingZeros(bufferSize);
+		this.slots = new Slot[bufferSize];
+		this.published = new AtomicIntegerArray(bufferSize);
+		for (int i = 0; i < bufferSize; i++) {
+			slots[i] = new Slot();
+			published.set(i, -1);
+		}
+
+		ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat(threadNameFormat)
+				.setDaemon(true).build();
+		this.consumerSequences = new Sequence[consumerCount];
+		this.consumers = new Thread[consumerCount];
+		for (int i = 0; i < consumerCount; i++) {
+			final Sequence sequence = new Sequence(-1L);
+			consumerSequences[i] = sequence;
+			consumers[i] = threadFactory.newThread(new Runnable() {
+				@Override
+				public void run() {
+					consume(sequence);
+				}
+			});
+		}
+		for (Thread consumer : consumers) {
+			consumer.start();
+		}
+	}
+
+	@Override
+	void dispatch(PostEvent postEvent, Subscriber[] subscribers, ResultCollector collector) {
+		checkNotNull(postEvent);
+		checkNotNull(subscribers);
+		publish(postEvent.getTaskId(), postEvent.getEvent(), null, subscribers, collector);
+	}
+
+	/**
+	 * A whole group takes a single slot and is delivered as one run per
+	 * subscriber.
+	 */
+	@Override
+	void dispatchAll(String taskId, List<Object> events, Priority priority, Subscriber[] subscribers) {
+		checkNotNull(events);
+		checkNotNull(subscribers);
+		publish(taskId, null, events, subscribers, null);
+	}
+
+	private void publish(String taskId, Object event, List<Object> events, Subscriber[] subscribers,
+			ResultCollector collector) {
+		checkState(running, "dispatcher has been halted");
+
+		long sequence = next();
+		Slot slot = slots[(int) sequence & mask];
+		slot.taskId = taskId;
+		slot.event = event;
+		slot.events = events;
+		slot.subscribers = subscribers;
+		slot.collector = collector;
+		publish(sequence);
+	}
+
+	boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * Stops the consumer threads once they finish their current batch. Events
+	 * still in the buffer are not delivered.
+	 */
+	void halt() {
+		running = false;
+		waitStrategy.signalAllWhenBlocking();
+	}
+
+	/**
+	 * Number of events published but not yet picked up by a consumer.
+	 */
+	@Override
+	long pendingEvents() {
+		return Math.max(0L, cursor.get() - minimumSequence());
+	}
+
+	int capacity() {
+		return slots.length;
+	}
+
+	/**
+	 * Claims the next sequence, waiting while the buffer is full.
+	 *
+	 * @throws IllegalStateException
+	 *             if the dispatcher is halted while waiting, since no
+	 *             consumer will free the slot anymore
+	 */
+	private long next() {
+		long next = cursor.incrementAndGet();
+		long wrapPoint = next - slots.length;
+		if (wrapPoint > gatingCache.get()) {
+			long minSequence;
+			while (wrapPoint > (minSequence = minimumSequence())) {
+				// buffer full: hold the producer until a consumer frees the slot
+				checkState(running, "dispatcher has been halted");
+				LockSupport.parkNanos(1L);
+			}
+			gatingCache.set(minSequence);
+		}
+		return next;
+	}
+
+	/**
+	 * Marks {@code sequence} published. A volatile write rather than a lazy
+	 * one, so that a blocking consumer that checked the slot just before
+	 * cannot miss the signal that follows.
+	 */
+	private void publish(long sequence) {
+		published.set((int) sequence & mask, (int) (sequence >>> indexShift));
+		waitStrategy.signalAllWhenBlocking();
+	}
+
+	boolean isPublished(long sequence) {
+		return published.get((int) sequence & mask) == (int) (sequence >>> indexShift);
+	}
+
+	private long highestPublished(long lowerBound, long availableSequence) {
+		for (long sequence = lowerBound; sequence <= availableSequence; sequence++) {
+			if (!isPublished(sequence)) {
+				return sequence - 1;
+			}
+		}
+		return availableSequence;
+	}
+
+	private long minimumSequence() {
+		long minimum = Long.MAX_VALUE;
+		for (Sequence sequence : consumerSequences) {
+			minimum = Math.min(minimum, sequence.get());
+		}
+		return minimum;
+	}
+
+	/**
+	 * Consumer loop: claims a batch of sequences, then delivers them as they
+	 * get published, waiting on the slot of the next one rather than on the
+	 * producers' claims.
+	 */
+	private void consume(Sequence sequence) {
+		while (running) {
+			long current;
+			do {
+				current = workSequence.get();
+				sequence.set(current);
+			} while (!workSequence.compareAndSet(current, current + batchSize));
+
+			long next = current + 1;
+			long last = current + batchSize;
+			while (next <= last) {
+				if (!waitStrategy.waitFor(next, this)) {
+					return;
+				}
+				long highest = highestPublished(next, last);
+				for (; next <= highest; next++) {
+					deliver(slots[(int) next & mask]);
+				}
+				sequence.lazySet(highest);
+			}
+		}
+	}
+
+	private void deliver(Slot slot) {
+		String taskId = slot.taskId;
+		Object event = slot.event;
+		List<Object> events = slot.events;
+		Subscriber[] subscribers = slot.subscribers;
+		ResultCollector collector = slot.collector;
+		slot.taskId = null;
+		slot.event = null;
+		slot.events = null;
+		slot.subscribers = null;
+		slot.collector = null;
+		for (Subscriber subscriber : subscribers) {
+			try {
+				if (events != null) {
+					subscriber.dispatchEvents(taskId, events);
+				} else {
+					subscriber.dispatchEvent(taskId, event, collector);
+				}
+			} catch (Throwable e) {
+				logger.log(Level.SEVERE, "Failed to dispatch event " + (events != null ? events : event)
+						+ " from the ring buffer", e);
+			}
+		}
+	}
+
+	/**
+	 * Preallocated ring buffer entry.
+	 */
+	private static final class Slot {
+		private String taskId;
+		private Object event;
+		private List<Object> events;
+		private Subscriber[] subscribers;
+		private ResultCollector collector;
+	}
+
+	/**
+	 * Sequence counter padded against false sharing with neighbouring
+	 * counters.
+	 */
+	@SuppressWarnings("serial")
+	static final class Sequence extends AtomicLong {
+
+		long p1, p2, p3, p4, p5, p6, p7;
+
+		Sequence(long initialValue) {
+			super(initialValue);
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.hechuan.event.notice.driver;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * 延时广播的句柄，可在到期前取消
+ * <p>
+ * 句柄本身就是时间轮中的节点，每个延时广播只占用这一个对象。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public final class ScheduledPost extends HashedWheelTimer.Timeout {
+
+	private final TaskEventBus bus;
+	private final PostEvent postEvent;
+
+	ScheduledPost(TaskEventBus bus, PostEvent postEvent) {
+		super(null);
+		this.bus = bus;
+		this.postEvent = checkNotNull(postEvent);
+	}
+
+	@Override
+	void run() {
+		bus.post(postEvent);
+	}
+
+	public PostEvent getPostEvent() {
+		return postEvent;
+	}
+
+	/**
+	 * Cancels the post unless it already happened or was cancelled.
+	 *
+	 * @return {@code true} if this call cancelled the post
+	 */
+	@Override
+	public boolean cancel() {
+		return super.cancel();
+	}
+
+	@Override
+	public boolean isCancelled() {
+		return super.isCancelled();
+	}
+
+	/**
+	 * @return {@code true} once the event has been handed to the bus.
+	 */
+	public boolean isPosted() {
+		return isExpired();
+	}
+
+	/**
+	 * Returns the time left before the post, negative once due.
+	 */
+	public long getDelay(TimeUnit unit) {
+		return unit.convert(delayNanos(), TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).add("postEvent", postEvent).toString();
+	}
+}
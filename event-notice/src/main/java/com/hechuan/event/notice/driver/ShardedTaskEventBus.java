@@ -0,0 +1,276 @@
+package com.hechuan.event.notice.driver;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+/**
+ * 分片事件总线
+ * <p>
+ * 持有 N 个相互独立的 {@link TaskEventBus} 分片，各自拥有注册表、分发器和消费线程；广播按任务ID哈希路由到固定分片，
+ * 不同分片之间不共享任何可变结构，同一任务的事件始终在同一分片上按顺序处理。监听器默认只注册到其任务ID所在的分片，
+ * 通配模式和死信的监听方法注册到全部分片。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class ShardedTaskEventBus {
+
+	/** Ring buffer slots of each shard created by this bus. */
+	public static final int DEFAULT_BUFFER_SIZE = 4096;
+
+	private final String identifier;
+	private final TaskEventBus[] shards;
+
+	/** Dispatchers of the shards created by this bus, stopped by {@link #halt()}. */
+	private final List<RingBufferDispatcher> ownedDispatchers = Lists.newArrayList();
+
+	/**
+	 * Creates a bus with one shard per available processor.
+	 */
+	public ShardedTaskEventBus(String identifier) {
+		this(identifier, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates a bus of {@code shardCount} shards, each delivering on its own
+	 * consumer thread through a {@link Dispatcher#ringBuffer ring buffer} of
+	 * {@link #DEFAULT_BUFFER_SIZE} slots.
+	 */
+	public ShardedTaskEventBus(String identifier, int shardCount) {
+		checkArgument(shardCount > 0, "shardCount must be positive: %s", shardCount);
+		this.identifier = checkNotNull(identifier);
+		this.shards = new TaskEventBus[shardCount];
+		for (int i = 0; i < shardCount; i++) {
+			String threadNameFormat = "task-event-bus-" + identifier.replace("%", "%%") + "-shard-" + i + "-%d";
+			RingBufferDispatcher dispatcher = new RingBufferDispatcher(DEFAULT_BUFFER_SIZE, 1, 64,
+					WaitStrategy.parking(), threadNameFormat);
+			ownedDispatchers.add(dispatcher);
+			shards[i] = new TaskEventBus(identifier + "-" + i, dispatcher);
+		}
+	}
+
+	/**
+	 * Creates a bus over the given {@code shards}, for example
+	 * {@code DurableTaskEventBus} instances with their own journal each.
+	 */
+	public ShardedTaskEventBus(String identifier, List<? extends TaskEventBus> shards) {
+		checkArgument(!shards.isEmpty(), "no shard given");
+		this.identifier = checkNotNull(identifier);
+		this.shards = shards.toArray(new TaskEventBus[shards.size()]);
+	}
+
+	public final String identifier() {
+		return identifier;
+	}
+
+	public List<TaskEventBus> shards() {
+		return ImmutableList.copyOf(shards);
+	}
+
+	/**
+	 * Returns the shard events of {@code taskId} are posted to.
+	 */
+	public TaskEventBus shardFor(String taskId) {
+		return shards[shardIndex(taskId)];
+	}
+
+	private int shardIndex(String taskId) {
+		int hash = taskId.hashCode();
+		hash ^= hash >>> 16;
+		return (hash & Integer.MAX_VALUE) % shards.length;
+	}
+
+	private TaskEventBus shardFor(PostEvent postEvent) {
+		return shards.length == 1 ? shards[0] : shardFor(postEvent.getTaskId());
+	}
+
+	/**
+	 * Registers each subscriber method of {@code object} to the shard its
+	 * task id maps to. Methods subscribing to a task id pattern or to
+	 * {@link TaskEventBus#DEAD_EVENT} are registered to every shard, and so
+	 * may run on several shard threads at once even without
+	 * {@code AllowConcurrentEvents}.
+	 */
+	public void register(Object object) {
+		for (int i = 0; i < shards.length; i++) {
+			shards[i].register(object, new ShardTaskIds(i));
+		}
+	}
+
+	/**
+	 * Unregisters {@code object} as registered by {@link #register}.
+	 */
+	public void unregister(Object object) {
+		for (int i = 0; i < shards.length; i++) {
+			shards[i].unregister(object, new ShardTaskIds(i));
+		}
+	}
+
+	/**
+	 * Registers every subscriber method of {@code object} to every shard.
+	 */
+	public void registerOnAllShards(Object object) {
+		for (TaskEventBus shard : shards) {
+			shard.register(object);
+		}
+	}
+
+	/**
+	 * Unregisters {@code object} as registered by
+	 * {@link #registerOnAllShards}.
+	 */
+	public void unregisterFromAllShards(Object object) {
+		for (TaskEventBus shard : shards) {
+			shard.unregister(object);
+		}
+	}
+
+	/**
+	 * Posts {@code postEvent} to the shard of its task id.
+	 *
+	 * @see TaskEventBus#post(PostEvent)
+	 */
+	public PostResult post(PostEvent postEvent) {
+		return shardFor(postEvent).post(postEvent);
+	}
+
+	/**
+	 * @see TaskEventBus#postAsync(PostEvent)
+	 */
+	public CompletableFuture<List<SubscriberResult>> postAsync(PostEvent postEvent) {
+		return shardFor(postEvent).postAsync(postEvent);
+	}
+
+	/**
+	 * Splits {@code postEvents} by shard, keeping their order, and posts each
+	 * part with a single {@link TaskEventBus#postAll} call.
+	 *
+	 * @return the number of events accepted
+	 */
+	public int postAll(Collection<? extends PostEvent> postEvents) {
+		if (shards.length == 1) {
+			return shards[0].postAll(postEvents);
+		}
+		List<List<PostEvent>> parts = Lists.newArrayListWithCapacity(shards.length);
+		for (int i = 0; i < shards.length; i++) {
+			parts.add(null);
+		}
+		for (PostEvent postEvent : postEvents) {
+			int index = shardIndex(postEvent.getTaskId());
+			List<PostEvent> part = parts.get(index);
+			if (part == null) {
+				part = Lists.newArrayList();
+				parts.set(index, part);
+			}
+			part.add(postEvent);
+		}
+		int accepted = 0;
+		for (int i = 0; i < shards.length; i++) {
+			if (parts.get(i) != null) {
+				accepted += shards[i].postAll(parts.get(i));
+			}
+		}
+		return accepted;
+	}
+
+	/**
+	 * @see TaskEventBus#postDelayed(PostEvent, long, TimeUnit)
+	 */
+	public ScheduledPost postDelayed(PostEvent postEvent, long delay, TimeUnit unit) {
+		return shardFor(postEvent).postDelayed(postEvent, delay, unit);
+	}
+
+	/**
+	 * @see TaskEventBus#postAt(PostEvent, long)
+	 */
+	public ScheduledPost postAt(PostEvent postEvent, long timeMillis) {
+		return shardFor(postEvent).postAt(postEvent, timeMillis);
+	}
+
+	/**
+	 * Sets the retry policy of every shard.
+	 */
+	public void setRetryPolicy(RetryPolicy retryPolicy) {
+		for (TaskEventBus shard : shards) {
+			shard.setRetryPolicy(retryPolicy);
+		}
+	}
+
+	/**
+	 * Bounds the backlog of each shard to {@code capacity}.
+	 *
+	 * @see TaskEventBus#setCapacity(int, OverflowPolicy)
+	 */
+	public void setCapacity(int capacity, OverflowPolicy overflow) {
+		for (TaskEventBus shard : shards) {
+			shard.setCapacity(capacity, overflow);
+		}
+	}
+
+	/**
+	 * @see TaskEventBus#setCapacity(int, OverflowPolicy, long, TimeUnit)
+	 */
+	public void setCapacity(int capacity, OverflowPolicy overflow, long blockTimeout, TimeUnit unit) {
+		for (TaskEventBus shard : shards) {
+			shard.setCapacity(capacity, overflow, blockTimeout, unit);
+		}
+	}
+
+	/**
+	 * Returns the runtime statistics of every shard, in shard order.
+	 */
+	public List<EventBusMetrics> metrics() {
+		ImmutableList.Builder<EventBusMetrics> metrics = ImmutableList.builder();
+		for (TaskEventBus shard : shards) {
+			metrics.add(shard.metrics());
+		}
+		return metrics.build();
+	}
+
+	/**
+	 * Stops the consumer threads of the shards this bus created. Events not
+	 * delivered yet are lost. Shards given to the constructor are left
+	 * alone.
+	 */
+	public void halt() {
+		for (RingBufferDispatcher dispatcher : ownedDispatchers) {
+			dispatcher.halt();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).addValue(identifier).add("shards", shards.length).toString();
+	}
+
+	/**
+	 * Task ids whose subscriber methods belong on one shard.
+	 */
+	private final class ShardTaskIds implements Predicate<String> {
+
+		private final int index;
+
+		ShardTaskIds(int index) {
+			this.index = index;
+		}
+
+		@Override
+		public boolean apply(String taskId) {
+			return TaskIdTrie.isPattern(taskId) || TaskEventBus.DEAD_EVENT.equals(taskId)
+					|| shardIndex(taskId) == index;
+		}
+	}
+}
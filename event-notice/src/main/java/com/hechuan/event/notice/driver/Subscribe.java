@@ -9,6 +9,9 @@ import com.google.common.annotations.Beta;
 
 /**
  * 监听器标识注解
+ * <p>
+ * 监听方法只接收事件一个参数，或者以 {@code (String taskId, 事件类型 event)} 的形式同时接收事件的任务ID，
+ * 后者适合订阅通配模式、需要区分具体任务的监听方法。
  * 
  * @author hechuan
  *
@@ -21,7 +24,42 @@ import com.google.common.annotations.Beta;
 @Beta
 public @interface Subscribe {
 
-	/** 任务ID */
+	/**
+	 * 任务ID；以 {@code *} 结尾时为前缀模式，例如 {@code order.*} 订阅所有以 {@code order.} 开头的任务，单独的
+	 * {@code *} 订阅全部任务。{@code *} 不能出现在其他位置
+	 */
 	String taskId() default PostEvent.DEFAULT;
-	
+
+	/**
+	 * 批量大小：大于 1 时事件先在总线中累积，攒够该数量后一次性交给监听方法，监听方法参数必须为
+	 * {@code List<事件类型>}，且必须同时指定 {@link #maxDelay()}
+	 */
+	int batchSize() default 1;
+
+	/**
+	 * 批量最长等待时间（毫秒）：批次中第一个事件到达后最多等待该时间即交给监听方法，0 表示不按时间刷新
+	 */
+	long maxDelay() default 0;
+
+	/**
+	 * 是否合并：为 true 时同一任务ID的事件在等待处理期间只保留最新的一个，监听方法不会收到被替换的中间事件；
+	 * 事件实现 {@link Conflatable} 时按任务ID和合并键合并。不能用于批量监听方法
+	 */
+	boolean conflate() default false;
+
+	/**
+	 * 积压上限：交给执行器但尚未开始执行的投递数，超过后按 {@link #overflow()} 处理新的投递，0 表示不限
+	 */
+	int capacity() default 0;
+
+	/**
+	 * 积压超过 {@link #capacity()} 时的处理方式；由分发线程执行，{@link OverflowPolicy#BLOCK} 会让分发线程等待
+	 */
+	OverflowPolicy overflow() default OverflowPolicy.BLOCK;
+
+	/**
+	 * {@link OverflowPolicy#BLOCK} 的最长等待时间（毫秒），0 表示一直等待
+	 */
+	long blockTimeout() default 0;
+
 }
@@ -4,10 +4,20 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.eventbus.AllowConcurrentEvents;
+import com.google.common.util.concurrent.MoreExecutors;
 
 /**
  * 事件总线监听对象容器类，用于放置监听方法的相关属性
@@ -20,12 +30,21 @@ import com.google.common.eventbus.AllowConcurrentEvents;
  */
 public class Subscriber {
 
+	/** Not started, counted in the backlogs. */
+	private static final int PENDING = 0;
+	private static final int STARTED = 1;
+	/** Dropped or rejected before it started. */
+	private static final int ABANDONED = 2;
+
+	private static final AtomicIntegerFieldUpdater<Handoff> HANDOFF_STATE = AtomicIntegerFieldUpdater
+			.newUpdater(Handoff.class, "state");
+
 	/**
 	 * Creates a {@code Subscriber} for {@code method} on {@code listener}.
 	 */
 	static Subscriber create(TaskEventBus bus, Object listener, Method method) {
 		return isDeclaredThreadSafe(method) ? new Subscriber(bus, listener, method)
-				: new SynchronizedSubscriber(bus, listener, method);
+				: new SerializedSubscriber(bus, listener, method);
 	}
 
 	/** The event bus this subscriber belongs to. */
@@ -38,52 +57,276 @@ public class Subscriber {
 	/** Subscriber method. */
 	private final Method method;
 
+	/** Invoker generated for {@link #method} when the subscriber is created. */
+	private final SubscriberInvoker invoker;
+
+	/** Whether {@link #method} takes a {@code List} of events. */
+	private final boolean batch;
+
 	/** Executor to use for dispatching events to this subscriber. */
 	private final Executor executor;
 
+	/** {@link #executor} when it routes by task id, {@code null} otherwise. */
+	private final TaskAwareExecutor taskAwareExecutor;
+
+	/** Permits bounding concurrent invocations, {@code null} when unlimited. */
+	private final Semaphore concurrencyLimit;
+
+	/** Micro-batch buffer of a batching subscriber, {@code null} otherwise. */
+	private final Accumulator accumulator;
+
+	/** Pending events of a conflating subscriber, {@code null} otherwise. */
+	private final Conflater conflater;
+
+	/** Bound of the deliveries handed to the executor, {@code null} when unbounded. */
+	private final Backlog backlog;
+
+	/**
+	 * Whether single events are delivered straight on the dispatching
+	 * thread, without a hand-off object: the executor is direct, the method
+	 * is thread-safe and the subscriber neither buffers nor bounds events.
+	 * Only a failed invocation, to be retried, gets a {@link Delivery}.
+	 */
+	private final boolean inline;
+
+	/** Invocation statistics of this subscriber. */
+	private final SubscriberMetrics metrics;
+
 	private Subscriber(TaskEventBus bus, Object target, Method method) {
 		this.bus = bus;
 		this.target = checkNotNull(target);
 		this.method = method;
-		method.setAccessible(true);
+		this.invoker = SubscriberInvoker.create(method);
+		this.batch = isBatchMethod(method);
 
 		this.executor = bus.executor();
+		this.taskAwareExecutor = executor instanceof TaskAwareExecutor ? (TaskAwareExecutor) executor : null;
+		this.concurrencyLimit = executor instanceof VirtualThreadExecutor
+				? ((VirtualThreadExecutor) executor).newSubscriberLimit() : null;
+
+		Subscribe subscribe = method.getAnnotation(Subscribe.class);
+		this.accumulator = subscribe != null && (subscribe.batchSize() > 1 || subscribe.maxDelay() > 0)
+				? new Accumulator(subscribe.batchSize(), subscribe.maxDelay()) : null;
+		this.conflater = !batch && (subscribe != null && subscribe.conflate()
+				|| Conflatable.class.isAssignableFrom(eventParameterType(method))) ? new Conflater() : null;
+		this.backlog = subscribe != null && subscribe.capacity() > 0
+				? new Backlog(subscribe.capacity(), subscribe.overflow(),
+						subscribe.blockTimeout() > 0 ? TimeUnit.MILLISECONDS.toNanos(subscribe.blockTimeout())
+								: Long.MAX_VALUE)
+				: null;
+		this.inline = executor == MoreExecutors.directExecutor() && isDeclaredThreadSafe(method)
+				&& accumulator == null && conflater == null && backlog == null;
+		this.metrics = new SubscriberMetrics(subscribe != null ? subscribe.taskId() : PostEvent.DEFAULT,
+				method.getDeclaringClass().getName() + '.' + method.getName() + '('
+						+ eventParameterType(method).getSimpleName() + ')',
+				backlog);
 	}
 
 	/**
-	 * Dispatches {@code event} to this subscriber using the proper executor.
+	 * Dispatches {@code event}, posted under {@code taskId}, to this subscriber
+	 * using the proper executor.
 	 */
-	final void dispatchEvent(final Object event) {
-		executor.execute(new Runnable() {
-			@Override
-			public void run() {
-				try {
-					invokeSubscriberMethod(event);
-				} catch (InvocationTargetException e) {
-					bus.handleSubscriberException(e.getCause(), context(event));
-				}
+	final void dispatchEvent(String taskId, Object event) {
+		dispatchEvent(taskId, event, null);
+	}
+
+	/**
+	 * Dispatches {@code event} and reports the outcome to {@code collector}
+	 * when it is not {@code null}.
+	 */
+	final void dispatchEvent(String taskId, Object event, ResultCollector collector) {
+		dispatchEvent(taskId, event, collector, false);
+	}
+
+	/**
+	 * Dispatches {@code event}, delivering it on the calling thread instead
+	 * of the executor when {@code onCaller} is {@code true}. Batching and
+	 * conflating subscribers always go through the executor.
+	 */
+	final void dispatchEvent(String taskId, Object event, ResultCollector collector, boolean onCaller) {
+		if (accumulator != null) {
+			accumulator.add(taskId, event, collector);
+			return;
+		}
+		if (conflater != null) {
+			conflater.add(taskId, event, collector);
+			return;
+		}
+		if (inline && collector == null) {
+			bus.backlog().release(1);
+			deliverInline(taskId, batch ? Collections.singletonList(event) : event);
+			return;
+		}
+		handOff(new SingleDelivery(taskId, batch ? Collections.singletonList(event) : event, collector, 1),
+				onCaller);
+	}
+
+	/**
+	 * Dispatches a contiguous run of {@code events}, all posted under
+	 * {@code taskId}, with a single executor hand-off. A subscriber taking a
+	 * {@code List} receives the whole run in one invocation.
+	 */
+	final void dispatchEvents(String taskId, List<Object> events) {
+		dispatchEvents(taskId, events, false);
+	}
+
+	/**
+	 * Dispatches a run of {@code events} as {@link #dispatchEvents(String, List)},
+	 * on the calling thread when {@code onCaller} is {@code true}.
+	 */
+	final void dispatchEvents(String taskId, List<Object> events, boolean onCaller) {
+		if (accumulator != null) {
+			accumulator.addAll(taskId, events);
+			return;
+		}
+		if (batch) {
+			handOff(new SingleDelivery(taskId, events, null, events.size()), onCaller);
+			return;
+		}
+		if (conflater != null) {
+			for (Object event : events) {
+				conflater.add(taskId, event, null);
+			}
+			return;
+		}
+		if (inline) {
+			bus.backlog().release(events.size());
+			for (Object event : events) {
+				deliverInline(taskId, event);
 			}
-		});
+			return;
+		}
+		handOff(new Run(taskId, events), onCaller);
 	}
 
 	/**
-	 * Invokes the subscriber method. This method can be overridden to make the
-	 * invocation synchronized.
+	 * Invokes the method with {@code argument} on the calling thread, taking
+	 * the retry path of a {@link Delivery} only when the invocation fails.
 	 */
-	@VisibleForTesting
-	void invokeSubscriberMethod(Object event) throws InvocationTargetException {
+	private void deliverInline(String taskId, Object argument) {
 		try {
-			method.invoke(target, checkNotNull(event));
-		} catch (IllegalArgumentException e) {
-			throw new Error("Method rejected target/argument: " + event, e);
-		} catch (IllegalAccessException e) {
-			throw new Error("Method became inaccessible: " + event, e);
+			invokeWithinLimit(taskId, argument);
 		} catch (InvocationTargetException e) {
-			if (e.getCause() instanceof Error) {
-				throw (Error) e.getCause();
+			new SingleDelivery(taskId, argument, null, 0).failed(e.getCause());
+		}
+	}
+
+	/**
+	 * Hands a flushed micro-batch to the subscriber method in one invocation
+	 * and reports its outcome to the collector of every event in the batch.
+	 */
+	private void dispatchBatch(String taskId, List<Object> events, List<ResultCollector> collectors) {
+		handOff(new SharedDelivery(taskId, events, collectors, events.size()), false);
+	}
+
+	/**
+	 * Admits {@code handoff} into the backlog of this subscriber and hands
+	 * it to the executor, or runs it on the calling thread when asked to or
+	 * when the backlog overflows under {@link OverflowPolicy#CALLER_RUNS}.
+	 * A hand-off the backlog does not admit is abandoned.
+	 */
+	private void handOff(Handoff handoff, boolean onCaller) {
+		PostResult admission = backlog != null ? backlog.admit(handoff.units) : PostResult.ACCEPTED;
+		if (!admission.isAccepted()) {
+			handoff.reject(admission);
+			return;
+		}
+		if (onCaller || admission == PostResult.RAN_ON_CALLER) {
+			runOnCaller(handoff.taskId, handoff);
+			return;
+		}
+		if (backlog != null) {
+			backlog.track(handoff);
+		}
+		bus.backlog().track(handoff);
+		try {
+			execute(handoff.taskId, handoff);
+		} catch (RuntimeException e) {
+			handoff.refused(e);
+			throw e;
+		}
+	}
+
+	/**
+	 * Hands {@code delivery} to the executor. This method can be overridden to
+	 * serialize deliveries.
+	 */
+	void execute(String taskId, Runnable delivery) {
+		if (taskAwareExecutor != null) {
+			taskAwareExecutor.execute(taskId, delivery);
+		} else {
+			executor.execute(delivery);
+		}
+	}
+
+	/**
+	 * Runs {@code delivery} on the calling thread. This method can be
+	 * overridden to serialize deliveries.
+	 */
+	void runOnCaller(String taskId, Runnable delivery) {
+		delivery.run();
+	}
+
+	/**
+	 * Invokes the subscriber method within the concurrency limit.
+	 */
+	private Object invokeWithinLimit(String taskId, Object argument) throws InvocationTargetException {
+		if (concurrencyLimit != null) {
+			concurrencyLimit.acquireUninterruptibly();
+		}
+		long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			Object value = invokeSubscriberMethod(taskId, argument);
+			failed = false;
+			return value;
+		} finally {
+			metrics.record(System.nanoTime() - start, failed);
+			if (concurrencyLimit != null) {
+				concurrencyLimit.release();
 			}
+		}
+	}
+
+	/**
+	 * Invokes the subscriber method, passing {@code taskId} along when the
+	 * method takes it.
+	 */
+	@VisibleForTesting
+	Object invokeSubscriberMethod(String taskId, Object event) throws InvocationTargetException {
+		try {
+			return invoker.invoke(target, taskId, checkNotNull(event));
+		} catch (Error e) {
 			throw e;
+		} catch (Throwable e) {
+			throw new SubscriberFailure(e);
+		}
+	}
+
+	/**
+	 * Wrapper of an exception thrown by the subscriber method. Only its cause
+	 * is ever looked at, so it skips filling in its own stack trace.
+	 */
+	private static final class SubscriberFailure extends InvocationTargetException {
+
+		private static final long serialVersionUID = 1L;
+
+		SubscriberFailure(Throwable cause) {
+			super(cause);
 		}
+
+		@Override
+		public synchronized Throwable fillInStackTrace() {
+			return this;
+		}
+	}
+
+	Method method() {
+		return method;
+	}
+
+	SubscriberMetrics metrics() {
+		return metrics;
 	}
 
 	/**
@@ -107,6 +350,23 @@ public class Subscriber {
 		return false;
 	}
 
+	/**
+	 * Checks whether {@code method} consumes a {@code List} of events instead
+	 * of a single event.
+	 */
+	static boolean isBatchMethod(Method method) {
+		return eventParameterType(method) == List.class;
+	}
+
+	/**
+	 * The type of the event parameter of {@code method}, its last one; a
+	 * method taking two parameters gets the task id of the event first.
+	 */
+	static Class<?> eventParameterType(Method method) {
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		return parameterTypes[parameterTypes.length - 1];
+	}
+
 	/**
 	 * Checks whether {@code method} is thread-safe, as indicated by the
 	 * presence of the {@link AllowConcurrentEvents} annotation.
@@ -116,20 +376,497 @@ public class Subscriber {
 	}
 
 	/**
-	 * Subscriber that synchronizes invocations of a method to ensure that only
-	 * one thread may enter the method at a time.
+	 * Work handed to the executor, standing for {@link #units} deliveries in
+	 * the bus backlog and the backlog of this subscriber until it starts. It
+	 * can be dropped or rejected before that, and then never runs.
+	 */
+	private abstract class Handoff implements Runnable, Backlog.Sheddable {
+
+		final String taskId;
+
+		/** Deliveries this hand-off counts for: events times subscribers. */
+		final int units;
+
+		/** Updated through {@link Subscriber#HANDOFF_STATE}. */
+		volatile int state = PENDING;
+
+		Handoff(String taskId, int units) {
+			this.taskId = taskId;
+			this.units = units;
+		}
+
+		@Override
+		public final void run() {
+			if (state != STARTED) {
+				if (!HANDOFF_STATE.compareAndSet(this, PENDING, STARTED)) {
+					return;
+				}
+				release();
+			}
+			deliver();
+		}
+
+		private void release() {
+			if (backlog != null) {
+				backlog.release(units);
+			}
+			bus.backlog().release(units);
+		}
+
+		@Override
+		public final boolean isPending() {
+			return state == PENDING;
+		}
+
+		@Override
+		public final int shed() {
+			if (!HANDOFF_STATE.compareAndSet(this, PENDING, ABANDONED)) {
+				return 0;
+			}
+			release();
+			abandoned(new PostRejectedException(PostResult.DROPPED, "Dropped by a newer event for " + taskId));
+			return units;
+		}
+
+		/**
+		 * Abandons a hand-off the executor refused, unless it already
+		 * started, giving its units back to the backlogs.
+		 */
+		final void refused(RuntimeException failure) {
+			if (!HANDOFF_STATE.compareAndSet(this, PENDING, ABANDONED)) {
+				return;
+			}
+			release();
+			PostRejectedException rejection = new PostRejectedException(PostResult.REJECTED,
+					"Executor refused a delivery to " + metrics.getSubscriber());
+			rejection.initCause(failure);
+			abandoned(rejection);
+		}
+
+		/**
+		 * Abandons a hand-off the backlog of this subscriber did not admit.
+		 * Rejected ones, unlike dropped ones, are kept as dead letters.
+		 */
+		final void reject(PostResult admission) {
+			state = ABANDONED;
+			bus.backlog().release(units);
+			PostRejectedException rejection = new PostRejectedException(admission,
+					"Subscriber " + metrics.getSubscriber() + " is full: " + admission);
+			if (admission != PostResult.DROPPED) {
+				bus.deadLetter(DeadLetter.failed(taskId, argument(), target, method, rejection, 0));
+			}
+			abandoned(rejection);
+		}
+
+		abstract void deliver();
+
+		/**
+		 * The event, or events, the hand-off would have delivered.
+		 */
+		abstract Object argument();
+
+		/**
+		 * Reports that the hand-off will never run.
+		 */
+		abstract void abandoned(PostRejectedException rejection);
+	}
+
+	/**
+	 * A run of events of a subscriber taking single events, delivered one
+	 * by one within a single hand-off.
+	 */
+	private final class Run extends Handoff {
+
+		private final List<Object> events;
+
+		Run(String taskId, List<Object> events) {
+			super(taskId, events.size());
+			this.events = events;
+		}
+
+		@Override
+		void deliver() {
+			for (Object event : events) {
+				new SingleDelivery(taskId, event, null, 0).run();
+			}
+		}
+
+		@Override
+		Object argument() {
+			return events;
+		}
+
+		@Override
+		void abandoned(PostRejectedException rejection) {
+		}
+	}
+
+	/**
+	 * One invocation of the subscriber method. A failed invocation is run
+	 * again later, through {@link #execute}, as long as the bus
+	 * {@link RetryPolicy} allows; the exception handler and the dead-letter
+	 * queue only see the last failure, and the outcome is reported once.
+	 */
+	private abstract class Delivery extends Handoff {
+
+		final Object argument;
+
+		/** Failed invocations so far; retries are handed over through the timer. */
+		private int attempts;
+
+		Delivery(String taskId, Object argument, int units) {
+			super(taskId, units);
+			this.argument = argument;
+		}
+
+		@Override
+		final void deliver() {
+			Object value;
+			try {
+				value = invokeWithinLimit(taskId, argument);
+			} catch (InvocationTargetException e) {
+				failed(e.getCause());
+				return;
+			} catch (Error e) {
+				completed(null, e);
+				throw e;
+			}
+			completed(value, null);
+		}
+
+		void failed(Throwable failure) {
+			attempts++;
+			RetryPolicy retryPolicy = bus.retryPolicy();
+			if (retryPolicy.shouldRetry(attempts)) {
+				bus.metrics().retried();
+				HashedWheelTimer.shared().schedule(new Runnable() {
+					@Override
+					public void run() {
+						execute(taskId, Delivery.this);
+					}
+				}, retryPolicy.delayNanos(attempts), TimeUnit.NANOSECONDS);
+				return;
+			}
+			bus.handleSubscriberException(failure, context(argument));
+			bus.deadLetter(DeadLetter.failed(taskId, argument, target, method, failure, attempts));
+			completed(null, failure);
+		}
+
+		@Override
+		final Object argument() {
+			return argument;
+		}
+
+		@Override
+		final void abandoned(PostRejectedException rejection) {
+			completed(null, rejection);
+		}
+
+		/**
+		 * Reports the final outcome: the returned value, or the exception
+		 * thrown by the last attempt.
+		 */
+		abstract void completed(Object value, Throwable failure);
+	}
+
+	private final class SingleDelivery extends Delivery {
+
+		private final ResultCollector collector;
+
+		SingleDelivery(String taskId, Object argument, ResultCollector collector, int units) {
+			super(taskId, argument, units);
+			this.collector = collector;
+		}
+
+		@Override
+		void completed(Object value, Throwable failure) {
+			if (collector == null) {
+				return;
+			}
+			if (failure == null) {
+				collector.succeeded(Subscriber.this, value);
+			} else {
+				collector.failed(Subscriber.this, failure);
+			}
+		}
+	}
+
+	/**
+	 * Delivery whose outcome answers several posts: every event of a
+	 * micro-batch, or a conflated event and those it replaced.
+	 */
+	private final class SharedDelivery extends Delivery {
+
+		private final List<ResultCollector> collectors;
+
+		SharedDelivery(String taskId, Object argument, List<ResultCollector> collectors, int units) {
+			super(taskId, argument, units);
+			this.collectors = collectors;
+		}
+
+		@Override
+		void completed(Object value, Throwable failure) {
+			for (ResultCollector collector : collectors) {
+				if (collector == null) {
+					continue;
+				}
+				if (failure == null) {
+					collector.succeeded(Subscriber.this, value);
+				} else {
+					collector.failed(Subscriber.this, failure);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Keeps at most one pending event per (task id, conflation key). An event
+	 * arriving while an older one of the same key waits for the executor
+	 * replaces it in place, without another hand-off; the replaced events'
+	 * collectors receive the outcome of the invocation with the newest one.
+	 */
+	private final class Conflater {
+
+		private final ConcurrentMap<Object, Pending> pending = Maps.newConcurrentMap();
+
+		void add(String taskId, Object event, ResultCollector collector) {
+			Object key = key(taskId, event);
+			while (true) {
+				Pending current = pending.get(key);
+				if (current != null && current.replace(event, collector)) {
+					// the replaced event will never be delivered on its own
+					bus.backlog().release(1);
+					metrics.conflated();
+					return;
+				}
+				Pending fresh = new Pending(key, taskId, event, collector);
+				if (current == null ? pending.putIfAbsent(key, fresh) == null : pending.replace(key, current, fresh)) {
+					handOff(fresh, false);
+					return;
+				}
+			}
+		}
+
+		private Object key(String taskId, Object event) {
+			Object conflationKey = event instanceof Conflatable ? ((Conflatable) event).conflationKey() : null;
+			return conflationKey == null ? taskId : Arrays.asList(taskId, conflationKey);
+		}
+
+		/**
+		 * The newest event of a key, replaceable until its delivery starts.
+		 * It counts for one delivery whatever the number of events it
+		 * replaced.
+		 */
+		private final class Pending extends Handoff {
+
+			private final Object key;
+
+			private Object event;
+			private List<ResultCollector> collectors;
+			private boolean taken;
+
+			Pending(Object key, String taskId, Object event, ResultCollector collector) {
+				super(taskId, 1);
+				this.key = key;
+				this.event = event;
+				if (collector != null) {
+					this.collectors = Lists.newArrayListWithCapacity(2);
+					collectors.add(collector);
+				}
+			}
+
+			synchronized boolean replace(Object newer, ResultCollector collector) {
+				if (taken) {
+					return false;
+				}
+				event = newer;
+				if (collector != null) {
+					if (collectors == null) {
+						collectors = Lists.newArrayListWithCapacity(2);
+					}
+					collectors.add(collector);
+				}
+				return true;
+			}
+
+			@Override
+			void deliver() {
+				Object newest;
+				List<ResultCollector> newestCollectors;
+				synchronized (this) {
+					taken = true;
+					newest = event;
+					newestCollectors = collectors;
+				}
+				pending.remove(key, this);
+				new SharedDelivery(taskId, newest, newestCollectors != null ? newestCollectors
+						: Collections.<ResultCollector> emptyList(), 0).run();
+			}
+
+			@Override
+			synchronized Object argument() {
+				return event;
+			}
+
+			@Override
+			void abandoned(PostRejectedException rejection) {
+				List<ResultCollector> abandonedCollectors;
+				synchronized (this) {
+					taken = true;
+					abandonedCollectors = collectors;
+				}
+				pending.remove(key, this);
+				if (abandonedCollectors != null) {
+					for (ResultCollector collector : abandonedCollectors) {
+						collector.failed(Subscriber.this, rejection);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Accumulates events of a batching subscriber and flushes them when
+	 * {@link Subscribe#batchSize()} events are buffered, or
+	 * {@link Subscribe#maxDelay()} milliseconds after the first buffered event,
+	 * whichever comes first.
+	 */
+	private final class Accumulator {
+
+		private final int batchSize;
+		private final long maxDelay;
+
+		private List<Object> buffer;
+		private List<ResultCollector> collectors;
+		private String bufferTaskId;
+
+		/** Incremented on every flush so a stale timer does not flush a newer batch. */
+		private long generation;
+
+		Accumulator(int batchSize, long maxDelay) {
+			this.batchSize = batchSize;
+			this.maxDelay = maxDelay;
+			this.buffer = Lists.newArrayListWithCapacity(batchSize);
+			this.collectors = Lists.newArrayListWithCapacity(batchSize);
+		}
+
+		void add(String taskId, Object event, ResultCollector collector) {
+			List<Object> full = null;
+			List<ResultCollector> fullCollectors = null;
+			String fullTaskId = null;
+			synchronized (this) {
+				if (buffer.isEmpty()) {
+					bufferTaskId = taskId;
+					scheduleFlush();
+				}
+				buffer.add(event);
+				collectors.add(collector);
+				if (buffer.size() >= batchSize) {
+					fullTaskId = bufferTaskId;
+					fullCollectors = collectors;
+					full = takeBuffer();
+				}
+			}
+			if (full != null) {
+				dispatchBatch(fullTaskId, full, fullCollectors);
+			}
+		}
+
+		void addAll(String taskId, List<Object> events) {
+			for (Object event : events) {
+				add(taskId, event, null);
+			}
+		}
+
+		private void scheduleFlush() {
+			if (maxDelay > 0) {
+				final long scheduledGeneration = generation;
+				HashedWheelTimer.shared().schedule(new Runnable() {
+					@Override
+					public void run() {
+						flush(scheduledGeneration);
+					}
+				}, maxDelay, TimeUnit.MILLISECONDS);
+			}
+		}
+
+		private void flush(long scheduledGeneration) {
+			List<Object> partial;
+			List<ResultCollector> partialCollectors;
+			String partialTaskId;
+			synchronized (this) {
+				if (scheduledGeneration != generation || buffer.isEmpty()) {
+					return;
+				}
+				partialTaskId = bufferTaskId;
+				partialCollectors = collectors;
+				partial = takeBuffer();
+			}
+			dispatchBatch(partialTaskId, partial, partialCollectors);
+		}
+
+		private List<Object> takeBuffer() {
+			List<Object> taken = Collections.unmodifiableList(buffer);
+			buffer = Lists.newArrayListWithCapacity(batchSize);
+			collectors = Lists.newArrayListWithCapacity(batchSize);
+			bufferTaskId = null;
+			generation++;
+			return taken;
+		}
+	}
+
+	/**
+	 * Subscriber whose deliveries go through a {@link Mailbox}, so that only one
+	 * thread at a time enters the method and events are handled in the order
+	 * they were dispatched. Posting threads never block on a busy subscriber:
+	 * they enqueue, and the thread that wins the mailbox drains it on the
+	 * executor.
 	 */
 	@VisibleForTesting
-	static final class SynchronizedSubscriber extends Subscriber {
+	static final class SerializedSubscriber extends Subscriber {
+
+		private final Mailbox mailbox = new Mailbox();
 
-		private SynchronizedSubscriber(TaskEventBus bus, Object target, Method method) {
+		private SerializedSubscriber(TaskEventBus bus, Object target, Method method) {
 			super(bus, target, method);
 		}
 
 		@Override
-		void invokeSubscriberMethod(Object event) throws InvocationTargetException {
-			synchronized (this) {
-				super.invokeSubscriberMethod(event);
+		void execute(String taskId, Runnable delivery) {
+			if (mailbox.enqueue(delivery)) {
+				scheduleDrain(taskId);
+			}
+		}
+
+		/**
+		 * Drains the mailbox on the calling thread when no other thread
+		 * owns it; otherwise the delivery waits its turn in the mailbox.
+		 */
+		@Override
+		void runOnCaller(String taskId, Runnable delivery) {
+			if (mailbox.enqueue(delivery)) {
+				drain(taskId);
+			}
+		}
+
+		private void scheduleDrain(final String taskId) {
+			super.execute(taskId, new Runnable() {
+				@Override
+				public void run() {
+					drain(taskId);
+				}
+			});
+		}
+
+		private void drain(String taskId) {
+			boolean drained = false;
+			try {
+				mailbox.drain();
+				drained = true;
+			} finally {
+				if (!drained && mailbox.release()) {
+					scheduleDrain(taskId);
+				}
 			}
 		}
 	}
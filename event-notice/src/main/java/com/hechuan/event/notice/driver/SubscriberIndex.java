@@ -0,0 +1,189 @@
+package com.hechuan.event.notice.driver;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Splitter;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.Sets;
+import com.google.common.io.Resources;
+import com.hechuan.event.notice.driver.SubscriberRegistry.SubscriberMethod;
+
+/**
+ * 编译期生成的监听方法索引
+ * <p>
+ * 由 event-notice-processor 模块的注解处理器写入各个 jar 的 {@value #RESOURCE}，按类加载器读取一次并缓存。
+ * 注册器先按索引定位监听类的 {@link Subscribe} 方法，索引中没有该类、或索引已与类文件不符时返回 {@code null}，
+ * 由注册器退回反射扫描。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+final class SubscriberIndex {
+
+	private static final Logger logger = Logger.getLogger(SubscriberIndex.class.getName());
+
+	/** Same as {@code SubscriberIndexProcessor.INDEX}. */
+	static final String RESOURCE = "META-INF/event-notice/subscribers.index";
+
+	private static final int LISTENER = 0;
+	private static final int DECLARING_CLASS = 1;
+	private static final int METHOD = 2;
+	private static final int PARAMETER_TYPES = 3;
+	private static final int TASK_ID = 4;
+	private static final int EVENT_TYPE = 5;
+	private static final int FIELDS = 6;
+
+	private static final Splitter FIELD_SPLITTER = Splitter.on('\t');
+	private static final Splitter TYPE_SPLITTER = Splitter.on(',');
+
+	private static final SubscriberIndex EMPTY = new SubscriberIndex(ImmutableListMultimap.<String, List<String>> of());
+
+	private static final LoadingCache<ClassLoader, SubscriberIndex> indexCache = CacheBuilder.newBuilder().weakKeys()
+			.build(new CacheLoader<ClassLoader, SubscriberIndex>() {
+				@Override
+				public SubscriberIndex load(ClassLoader loader) {
+					return read(loader);
+				}
+			});
+
+	/** Index lines, split into fields, by listener class name. */
+	private final ImmutableListMultimap<String, List<String>> lines;
+
+	private SubscriberIndex(ImmutableListMultimap<String, List<String>> lines) {
+		this.lines = lines;
+	}
+
+	/**
+	 * The subscriber methods of {@code clazz} and its supertypes as indexed
+	 * at compile time, or {@code null} when the class has to be scanned.
+	 */
+	static ImmutableList<SubscriberMethod> lookup(Class<?> clazz) {
+		ClassLoader loader = clazz.getClassLoader();
+		return loader == null ? null : indexCache.getUnchecked(loader).methodsOf(clazz);
+	}
+
+	private ImmutableList<SubscriberMethod> methodsOf(Class<?> clazz) {
+		List<List<String>> methodLines = lines.get(clazz.getName());
+		if (methodLines.isEmpty()) {
+			return null;
+		}
+		ImmutableList.Builder<SubscriberMethod> methods = ImmutableList.builder();
+		try {
+			for (List<String> line : methodLines) {
+				Method method = findMethod(declaringClass(clazz, line.get(DECLARING_CLASS)), line.get(METHOD),
+						line.get(PARAMETER_TYPES));
+				Class<?> eventType = Subscriber.eventParameterType(method);
+				if (!eventType.getName().equals(line.get(EVENT_TYPE))) {
+					// the element type of a batch method
+					eventType = Class.forName(line.get(EVENT_TYPE), false, clazz.getClassLoader());
+				}
+				methods.add(new SubscriberMethod(method, line.get(TASK_ID), eventType));
+			}
+		} catch (ClassNotFoundException | NoSuchMethodException e) {
+			logger.log(Level.WARNING, "Subscriber index out of date for " + clazz.getName() + ", scanning it", e);
+			return null;
+		}
+		return methods.build();
+	}
+
+	/**
+	 * The supertype of {@code listener} named {@code name}. Superclasses are
+	 * matched by name; only an interface is loaded by name, which goes
+	 * through the class loader delegation and costs more than scanning.
+	 */
+	private static Class<?> declaringClass(Class<?> listener, String name) throws ClassNotFoundException {
+		for (Class<?> type = listener; type != null; type = type.getSuperclass()) {
+			if (type.getName().equals(name)) {
+				return type;
+			}
+		}
+		Class<?> declaringClass = Class.forName(name, false, listener.getClassLoader());
+		if (!declaringClass.isAssignableFrom(listener)) {
+			throw new ClassNotFoundException(name + " is no longer a supertype of " + listener.getName());
+		}
+		return declaringClass;
+	}
+
+	/**
+	 * The {@link Subscribe} method of {@code declaringClass} matching the
+	 * index line, its parameter types compared by name so that none is
+	 * loaded.
+	 */
+	private static Method findMethod(Class<?> declaringClass, String name, String parameterTypes)
+			throws NoSuchMethodException {
+		List<String> parameterNames = TYPE_SPLITTER.splitToList(parameterTypes);
+		for (Method method : declaringClass.getDeclaredMethods()) {
+			if (method.getName().equals(name) && !method.isSynthetic()
+					&& parameterTypesNamed(method.getParameterTypes(), parameterNames)
+					&& method.isAnnotationPresent(Subscribe.class)) {
+				return method;
+			}
+		}
+		throw new NoSuchMethodException(
+				"no @Subscribe method " + declaringClass.getName() + '.' + name + '(' + parameterTypes + ')');
+	}
+
+	private static boolean parameterTypesNamed(Class<?>[] parameterTypes, List<String> names) {
+		if (parameterTypes.length != names.size()) {
+			return false;
+		}
+		for (int i = 0; i < parameterTypes.length; i++) {
+			if (!parameterTypes[i].getName().equals(names.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Reads every index visible to {@code loader}. A class listed by several
+	 * of them, such as one shaded into more than one jar, keeps the lines of
+	 * the first.
+	 */
+	private static SubscriberIndex read(ClassLoader loader) {
+		ImmutableListMultimap.Builder<String, List<String>> lines = ImmutableListMultimap.builder();
+		Set<String> listeners = Sets.newHashSet();
+		try {
+			Enumeration<URL> resources = loader.getResources(RESOURCE);
+			while (resources.hasMoreElements()) {
+				URL resource = resources.nextElement();
+				Set<String> listenersOfResource = Sets.newHashSet();
+				for (String line : Resources.readLines(resource, Charsets.UTF_8)) {
+					if (line.isEmpty() || line.startsWith("#")) {
+						continue;
+					}
+					List<String> fields = FIELD_SPLITTER.splitToList(line);
+					if (fields.size() != FIELDS) {
+						logger.warning("Skipping a malformed line of " + resource + ": " + line);
+						continue;
+					}
+					String listener = fields.get(LISTENER);
+					if (!listeners.contains(listener)) {
+						listenersOfResource.add(listener);
+						lines.put(listener, fields);
+					}
+				}
+				listeners.addAll(listenersOfResource);
+			}
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "Could not read the subscriber index, scanning every listener", e);
+			return EMPTY;
+		}
+		return new SubscriberIndex(lines.build());
+	}
+}
@@ -0,0 +1,204 @@
+package com.hechuan.event.notice.driver;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import com.google.common.primitives.Primitives;
+
+/**
+ * 监听方法调用器，注册监听时为每个监听方法生成一次，避免每次分发都走 {@link Method#invoke}
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+abstract class SubscriberInvoker {
+
+	/**
+	 * Creates the fastest invoker available for {@code method}: a class
+	 * generated through {@link LambdaMetafactory} when the method is publicly
+	 * reachable, otherwise a {@link MethodHandle}, and plain reflection as the
+	 * last resort.
+	 */
+	static SubscriberInvoker create(Method method) {
+		method.setAccessible(true);
+		if (isGeneratable(method)) {
+			try {
+				return GeneratedInvoker.generate(method);
+			} catch (Throwable e) {
+				// fall through to the method handle invoker
+			}
+		}
+		try {
+			return new MethodHandleInvoker(method);
+		} catch (IllegalAccessException e) {
+			return new ReflectiveInvoker(method);
+		}
+	}
+
+	/**
+	 * Invokes the subscriber method on {@code target}, with {@code taskId}
+	 * only if the method takes it. Exceptions thrown by the subscriber method
+	 * are propagated unwrapped.
+	 */
+	abstract Object invoke(Object target, String taskId, Object event) throws Throwable;
+
+	/**
+	 * A generated class calls the method directly through bytecode, so the
+	 * method and every enclosing class must be public and visible from the
+	 * class loader of this package. Methods taking the task id go through a
+	 * method handle.
+	 */
+	private static boolean isGeneratable(Method method) {
+		if (Modifier.isStatic(method.getModifiers()) || !Modifier.isPublic(method.getModifiers())
+				|| method.getParameterTypes().length != 1) {
+			return false;
+		}
+		for (Class<?> c = method.getDeclaringClass(); c != null; c = c.getEnclosingClass()) {
+			if (!Modifier.isPublic(c.getModifiers()) || !isVisible(c)) {
+				return false;
+			}
+		}
+		for (Class<?> parameterType : method.getParameterTypes()) {
+			if (!Modifier.isPublic(parameterType.getModifiers()) || !isVisible(parameterType)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isVisible(Class<?> clazz) {
+		if (clazz.isPrimitive() || clazz.getClassLoader() == null) {
+			return true;
+		}
+		try {
+			return Class.forName(clazz.getName(), false, SubscriberInvoker.class.getClassLoader()) == clazz;
+		} catch (ClassNotFoundException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Functional interface implemented by {@link LambdaMetafactory} for methods
+	 * with a return value.
+	 */
+	interface GeneratedCall {
+		Object call(Object target, Object event);
+	}
+
+	/**
+	 * Functional interface implemented by {@link LambdaMetafactory} for
+	 * {@code void} methods.
+	 */
+	interface GeneratedVoidCall {
+		void call(Object target, Object event);
+	}
+
+	/**
+	 * Invoker backed by a class spun by {@link LambdaMetafactory}; the call is
+	 * a plain interface dispatch with no boxing of arguments and no access
+	 * checks.
+	 */
+	private static final class GeneratedInvoker extends SubscriberInvoker {
+
+		private final GeneratedCall call;
+		private final GeneratedVoidCall voidCall;
+
+		private GeneratedInvoker(GeneratedCall call, GeneratedVoidCall voidCall) {
+			this.call = call;
+			this.voidCall = voidCall;
+		}
+
+		static GeneratedInvoker generate(Method method) throws Throwable {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			MethodHandle impl = lookup.unreflect(method);
+			Class<?> returnType = method.getReturnType();
+			Class<?> eventType = Primitives.wrap(method.getParameterTypes()[0]);
+
+			if (returnType == void.class) {
+				CallSite site = LambdaMetafactory.metafactory(lookup, "call",
+						MethodType.methodType(GeneratedVoidCall.class),
+						MethodType.methodType(void.class, Object.class, Object.class), impl,
+						MethodType.methodType(void.class, method.getDeclaringClass(), eventType));
+				return new GeneratedInvoker(null, (GeneratedVoidCall) site.getTarget().invoke());
+			}
+
+			CallSite site = LambdaMetafactory.metafactory(lookup, "call", MethodType.methodType(GeneratedCall.class),
+					MethodType.methodType(Object.class, Object.class, Object.class), impl,
+					MethodType.methodType(Primitives.wrap(returnType), method.getDeclaringClass(), eventType));
+			return new GeneratedInvoker((GeneratedCall) site.getTarget().invoke(), null);
+		}
+
+		@Override
+		Object invoke(Object target, String taskId, Object event) {
+			if (voidCall != null) {
+				voidCall.call(target, event);
+				return null;
+			}
+			return call.call(target, event);
+		}
+	}
+
+	/**
+	 * Invoker backed by a {@link MethodHandle} adapted to
+	 * {@code (Object, String, Object)Object}, used for methods a generated
+	 * class cannot reach (non-public methods or classes) and for methods
+	 * taking the task id.
+	 */
+	private static final class MethodHandleInvoker extends SubscriberInvoker {
+
+		private final MethodHandle handle;
+
+		MethodHandleInvoker(Method method) throws IllegalAccessException {
+			MethodHandle unreflected = MethodHandles.lookup().unreflect(method);
+			if (Modifier.isStatic(method.getModifiers())) {
+				unreflected = MethodHandles.dropArguments(unreflected, 0, Object.class);
+			}
+			if (method.getParameterTypes().length == 1) {
+				unreflected = MethodHandles.dropArguments(unreflected, 1, String.class);
+			}
+			this.handle = unreflected
+					.asType(MethodType.methodType(Object.class, Object.class, String.class, Object.class));
+		}
+
+		@Override
+		Object invoke(Object target, String taskId, Object event) throws Throwable {
+			return handle.invokeExact(target, taskId, event);
+		}
+	}
+
+	/**
+	 * Reflective invoker, kept as the fallback when neither a generated class
+	 * nor a method handle can be created.
+	 */
+	private static final class ReflectiveInvoker extends SubscriberInvoker {
+
+		private final Method method;
+
+		ReflectiveInvoker(Method method) {
+			this.method = method;
+		}
+
+		@Override
+		Object invoke(Object target, String taskId, Object event) throws Throwable {
+			try {
+				return method.getParameterTypes().length == 1 ? method.invoke(target, event)
+						: method.invoke(target, taskId, event);
+			} catch (IllegalArgumentException e) {
+				throw new Error("Method rejected target/argument: " + event, e);
+			} catch (IllegalAccessException e) {
+				throw new Error("Method became inaccessible: " + event, e);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+	}
+}
@@ -0,0 +1,146 @@
+package com.hechuan.event.notice.driver;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * 单个监听方法的调用统计：调用次数、失败次数、积压和耗时直方图
+ * <p>
+ * 记录路径只有 {@link LongAdder} 自增和 {@link Recorder} 的无锁写入，不产生对象；直方图在读取时才合并。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public final class SubscriberMetrics {
+
+	/** Latencies above this value are recorded as this value. */
+	private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+	/**
+	 * Histograms start small and grow with the highest value they record, a
+	 * few kilobytes for sub-second values instead of some 35 KB each sized
+	 * for {@link #HIGHEST_TRACKABLE_NANOS} up front.
+	 */
+	private static final int SIGNIFICANT_DIGITS = 2;
+
+	private final String taskId;
+	private final String subscriber;
+	/** {@code null} when the subscriber method is unbounded. */
+	private final Backlog backlog;
+
+	private final LongAdder invocations = new LongAdder();
+	private final LongAdder errors = new LongAdder();
+	private final LongAdder conflated = new LongAdder();
+	private final Recorder latency = new Recorder(SIGNIFICANT_DIGITS);
+
+	/** All latencies recorded so far, guarded by {@code this}. */
+	private final Histogram accumulated = new Histogram(SIGNIFICANT_DIGITS);
+
+	/** Interval histogram handed back to {@link #latency} on the next read. */
+	private Histogram recycled;
+
+	SubscriberMetrics(String taskId, String subscriber, Backlog backlog) {
+		this.taskId = taskId;
+		this.subscriber = subscriber;
+		this.backlog = backlog;
+	}
+
+	void record(long latencyNanos, boolean failed) {
+		invocations.increment();
+		if (failed) {
+			errors.increment();
+		}
+		latency.recordValue(Math.min(Math.max(latencyNanos, 0L), HIGHEST_TRACKABLE_NANOS));
+	}
+
+	void conflated() {
+		conflated.increment();
+	}
+
+	/**
+	 * @return The task id the subscriber method is registered for.
+	 */
+	public String getTaskId() {
+		return taskId;
+	}
+
+	/**
+	 * @return The subscriber method, as {@code Class.method(EventType)}.
+	 */
+	public String getSubscriber() {
+		return subscriber;
+	}
+
+	public long getInvocations() {
+		return invocations.sum();
+	}
+
+	public long getErrors() {
+		return errors.sum();
+	}
+
+	/**
+	 * @return Number of events replaced by a newer one before being handled.
+	 */
+	public long getConflated() {
+		return conflated.sum();
+	}
+
+	/**
+	 * @return Deliveries handed to the executor and not started yet. Only
+	 *         counted for a subscriber method with a
+	 *         {@link Subscribe#capacity()}, 0 otherwise; the bus counts them
+	 *         all in {@link EventBusMetrics#getQueued()}.
+	 */
+	public int getQueued() {
+		return backlog != null ? backlog.occupied() : 0;
+	}
+
+	/**
+	 * @return The {@link Subscribe#capacity()} of the subscriber method, 0
+	 *         when unbounded.
+	 */
+	public int getCapacity() {
+		return backlog != null ? backlog.capacity() : 0;
+	}
+
+	/**
+	 * @return Deliveries dropped because the subscriber method was full.
+	 */
+	public long getDropped() {
+		return backlog != null ? backlog.dropped() : 0L;
+	}
+
+	/**
+	 * @return Deliveries rejected, or given up after waiting, because the
+	 *         subscriber method was full.
+	 */
+	public long getRejected() {
+		return backlog != null ? backlog.rejected() : 0L;
+	}
+
+	/**
+	 * Returns a copy of the latency histogram (nanoseconds) over every
+	 * invocation recorded so far.
+	 */
+	public synchronized Histogram latencySnapshot() {
+		recycled = latency.getIntervalHistogram(recycled);
+		accumulated.add(recycled);
+		return accumulated.copy();
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).add("taskId", taskId).add("subscriber", subscriber)
+				.add("invocations", getInvocations()).add("errors", getErrors()).add("conflated", getConflated())
+				.add("queued", getQueued()).toString();
+	}
+}
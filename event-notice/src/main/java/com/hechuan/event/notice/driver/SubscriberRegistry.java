@@ -4,19 +4,23 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
 import com.google.common.base.Throwables;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
@@ -25,7 +29,6 @@ import com.google.common.collect.FluentIterable;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
@@ -43,9 +46,16 @@ import com.google.common.util.concurrent.UncheckedExecutionException;
  */
 public class SubscriberRegistry {
 
+	private static final Subscriber[] NO_SUBSCRIBERS = new Subscriber[0];
+
 	private final ConcurrentMap<SubscriberIdentifier, CopyOnWriteArraySet<Subscriber>> subscribers = Maps
 			.newConcurrentMap();
 
+	/**
+	 * 路由表：(taskId, 具体事件类) -> 订阅者数组，注册/注销时整体重建
+	 */
+	private volatile RouteTable routes = new RouteTable(TaskIdTrie.EMPTY);
+
 	/**
 	 * The event bus this registry belongs to.
 	 */
@@ -59,7 +69,15 @@ public class SubscriberRegistry {
 	 * Registers all subscriber methods on the given listener object.
 	 */
 	void register(Object listener) {
-		Multimap<SubscriberIdentifier, Subscriber> listenerMethods = findAllSubscribers(listener);
+		register(listener, Predicates.<String> alwaysTrue());
+	}
+
+	/**
+	 * Registers the subscriber methods on the given listener object whose
+	 * {@link Subscribe#taskId()} matches {@code taskIds}.
+	 */
+	synchronized void register(Object listener, Predicate<String> taskIds) {
+		Multimap<SubscriberIdentifier, Subscriber> listenerMethods = findAllSubscribers(listener, taskIds);
 
 		for (Map.Entry<SubscriberIdentifier, Collection<Subscriber>> entry : listenerMethods.asMap().entrySet()) {
 			SubscriberIdentifier identifier = entry.getKey();
@@ -74,24 +92,66 @@ public class SubscriberRegistry {
 
 			eventSubscribers.addAll(eventMethodsInListener);
 		}
+		routes = routes.rebuild();
 	}
 
 	/**
 	 * Unregisters all subscribers on the given listener object.
 	 */
 	void unregister(Object listener) {
-		Multimap<SubscriberIdentifier, Subscriber> listenerMethods = findAllSubscribers(listener);
+		unregister(listener, Predicates.<String> alwaysTrue());
+	}
 
-		for (Map.Entry<SubscriberIdentifier, Collection<Subscriber>> entry : listenerMethods.asMap().entrySet()) {
-			SubscriberIdentifier identifier = entry.getKey();
-			Collection<Subscriber> listenerMethodsForType = entry.getValue();
+	/**
+	 * Unregisters the subscribers on the given listener object whose task id
+	 * matches {@code taskIds}, as registered by
+	 * {@link #register(Object, Predicate)}. Registered subscribers are matched
+	 * by listener and method, without creating new ones to compare with.
+	 */
+	synchronized void unregister(Object listener, Predicate<String> taskIds) {
+		Multimap<SubscriberIdentifier, Method> listenerMethods = HashMultimap.create();
+		for (SubscriberMethod subscriberMethod : getAnnotatedMethods(listener.getClass())) {
+			if (taskIds.apply(subscriberMethod.taskId)) {
+				listenerMethods.put(new SubscriberIdentifier(subscriberMethod.taskId, subscriberMethod.eventType),
+						subscriberMethod.method);
+			}
+		}
 
-			CopyOnWriteArraySet<Subscriber> currentSubscribers = subscribers.get(identifier);
-			if (currentSubscribers == null || !currentSubscribers.removeAll(listenerMethodsForType)) {
+		for (Map.Entry<SubscriberIdentifier, Collection<Method>> entry : listenerMethods.asMap().entrySet()) {
+			CopyOnWriteArraySet<Subscriber> currentSubscribers = subscribers.get(entry.getKey());
+			if (currentSubscribers == null || !removeSubscribers(currentSubscribers, listener, entry.getValue())) {
 				throw new IllegalArgumentException(
 						"missing event subscriber for an annotated method. Is " + listener + " registered?");
 			}
 		}
+		routes = routes.rebuild();
+	}
+
+	/**
+	 * Removes the subscribers of {@code methods} on {@code listener}.
+	 *
+	 * @return whether any was registered
+	 */
+	private static boolean removeSubscribers(CopyOnWriteArraySet<Subscriber> eventSubscribers, Object listener,
+			Collection<Method> methods) {
+		List<Subscriber> removed = Lists.newArrayListWithCapacity(methods.size());
+		for (Subscriber subscriber : eventSubscribers) {
+			if (subscriber.target == listener && methods.contains(subscriber.method())) {
+				removed.add(subscriber);
+			}
+		}
+		return eventSubscribers.removeAll(removed);
+	}
+
+	/**
+	 * 当前注册的全部订阅者
+	 */
+	ImmutableList<Subscriber> allSubscribers() {
+		ImmutableList.Builder<Subscriber> all = ImmutableList.builder();
+		for (CopyOnWriteArraySet<Subscriber> eventSubscribers : subscribers.values()) {
+			all.addAll(eventSubscribers);
+		}
+		return all.build();
 	}
 
 	@VisibleForTesting
@@ -99,58 +159,120 @@ public class SubscriberRegistry {
 		return MoreObjects.firstNonNull(subscribers.get(identifier), ImmutableSet.<Subscriber> of());
 	}
 
-	Iterator<Subscriber> getSubscribers(PostEvent event) {
-		ImmutableSet<SubscriberIdentifier> identifiers = flattenHierarchy(fromPostEvent(event));
+	/**
+	 * 取得广播事件的全部订阅者，命中路由表时仅一次查表且不产生任何对象；返回的数组不可修改
+	 */
+	Subscriber[] getSubscribers(PostEvent event) {
+		TaskKey taskKey = event.getTaskKey();
+		return taskKey != null ? routes.get(taskKey, event.getEvent().getClass())
+				: routes.get(event.getTaskId(), event.getEvent().getClass());
+	}
 
-		List<Iterator<Subscriber>> subscriberIterators = Lists.newArrayListWithCapacity(identifiers.size());
+	/**
+	 * 取得 (taskId, 具体事件类) 的全部订阅者
+	 */
+	Subscriber[] getSubscribers(String taskId, Class<?> eventType) {
+		return routes.get(taskId, eventType);
+	}
+
+	/**
+	 * 按事件类的全部父类和接口展开，收集 (taskId, 具体事件类) 对应的订阅者：先是订阅该任务ID的，再是通配模式匹配该任务ID的
+	 */
+	private Subscriber[] resolve(String taskId, Class<?> eventType, TaskIdTrie patterns) {
+		ImmutableSet<SubscriberIdentifier> identifiers = flattenHierarchy(new SubscriberIdentifier(taskId, eventType));
+
+		List<Subscriber> resolved = Lists.newArrayList();
+		collect(identifiers, taskId, resolved);
+		for (String pattern : patterns.match(taskId)) {
+			if (!pattern.equals(taskId)) {
+				collect(identifiers, pattern, resolved);
+			}
+		}
+		return resolved.isEmpty() ? NO_SUBSCRIBERS : resolved.toArray(new Subscriber[resolved.size()]);
+	}
 
+	private void collect(ImmutableSet<SubscriberIdentifier> identifiers, String taskId, List<Subscriber> resolved) {
 		for (SubscriberIdentifier identifier : identifiers) {
-			CopyOnWriteArraySet<Subscriber> eventSubscribers = subscribers.get(identifier);
+			CopyOnWriteArraySet<Subscriber> eventSubscribers = subscribers
+					.get(taskId.equals(identifier.taskId) ? identifier
+							: new SubscriberIdentifier(taskId, identifier.eventType));
 			if (eventSubscribers != null) {
-				// eager no-copy snapshot
-				subscriberIterators.add(eventSubscribers.iterator());
+				resolved.addAll(eventSubscribers);
 			}
 		}
+	}
 
-		return Iterators.concat(subscriberIterators.iterator());
+	/**
+	 * 当前注册的通配模式索引
+	 */
+	private TaskIdTrie indexPatterns() {
+		List<String> taskIds = Lists.newArrayList();
+		for (Map.Entry<SubscriberIdentifier, CopyOnWriteArraySet<Subscriber>> entry : subscribers.entrySet()) {
+			if (!entry.getValue().isEmpty()) {
+				taskIds.add(entry.getKey().taskId);
+			}
+		}
+		return TaskIdTrie.of(taskIds);
 	}
 
-	private static final LoadingCache<Class<?>, ImmutableList<Method>> subscriberMethodsCache = CacheBuilder
-			.newBuilder().weakKeys().build(new CacheLoader<Class<?>, ImmutableList<Method>>() {
+	private static final LoadingCache<Class<?>, ImmutableList<SubscriberMethod>> subscriberMethodsCache = CacheBuilder
+			.newBuilder().weakKeys().build(new CacheLoader<Class<?>, ImmutableList<SubscriberMethod>>() {
 				@Override
-				public ImmutableList<Method> load(Class<?> concreteClass) throws Exception {
+				public ImmutableList<SubscriberMethod> load(Class<?> concreteClass) throws Exception {
 					return getAnnotatedMethodsNotCached(concreteClass);
 				}
 			});
 
-	private Multimap<SubscriberIdentifier, Subscriber> findAllSubscribers(Object listener) {
+	private Multimap<SubscriberIdentifier, Subscriber> findAllSubscribers(Object listener,
+			Predicate<String> taskIds) {
 		Multimap<SubscriberIdentifier, Subscriber> methodsInListener = HashMultimap.create();
 		Class<?> clazz = listener.getClass();
-		for (Method method : getAnnotatedMethods(clazz)) {
-			Class<?>[] parameterTypes = method.getParameterTypes();
-			Class<?> eventType = parameterTypes[0];
-			Subscribe subscribe = method.getAnnotation(Subscribe.class);
-			SubscriberIdentifier identifier = new SubscriberIdentifier(subscribe.taskId(), eventType);
-			methodsInListener.put(identifier, Subscriber.create(bus, listener, method));
+		for (SubscriberMethod subscriberMethod : getAnnotatedMethods(clazz)) {
+			if (!taskIds.apply(subscriberMethod.taskId)) {
+				continue;
+			}
+			SubscriberIdentifier identifier = new SubscriberIdentifier(subscriberMethod.taskId,
+					subscriberMethod.eventType);
+			methodsInListener.put(identifier, Subscriber.create(bus, listener, subscriberMethod.method));
 		}
 		return methodsInListener;
 	}
 
-	private static ImmutableList<Method> getAnnotatedMethods(Class<?> clazz) {
+	/**
+	 * 监听方法订阅的事件类型；参数为 {@code List<T>} 的批量监听方法订阅的是元素类型 {@code T}
+	 */
+	private static Class<?> eventTypeOf(Method method) {
+		if (Subscriber.isBatchMethod(method)) {
+			Type elementType = TypeToken.of(method.getGenericParameterTypes()[0])
+					.resolveType(List.class.getTypeParameters()[0]).getType();
+			return TypeToken.of(elementType).getRawType();
+		}
+		return Subscriber.eventParameterType(method);
+	}
+
+	private static ImmutableList<SubscriberMethod> getAnnotatedMethods(Class<?> clazz) {
 		return subscriberMethodsCache.getUnchecked(clazz);
 	}
 
-	private static ImmutableList<Method> getAnnotatedMethodsNotCached(Class<?> clazz) {
+	/**
+	 * 监听类及其全部父类、接口上的监听方法：编译期索引收录了该类时直接按索引定位，否则反射扫描整个类型层次
+	 *
+	 * @see SubscriberIndex
+	 */
+	private static ImmutableList<SubscriberMethod> getAnnotatedMethodsNotCached(Class<?> clazz) {
+		ImmutableList<SubscriberMethod> indexed = SubscriberIndex.lookup(clazz);
+		if (indexed != null) {
+			for (SubscriberMethod subscriberMethod : indexed) {
+				checkSubscriberMethod(subscriberMethod.method);
+			}
+			return indexed;
+		}
 		Set<? extends Class<?>> supertypes = TypeToken.of(clazz).getTypes().rawTypes();
 		Map<MethodIdentifier, Method> identifiers = Maps.newHashMap();
 		for (Class<?> supertype : supertypes) {
 			for (Method method : supertype.getDeclaredMethods()) {
 				if (method.isAnnotationPresent(Subscribe.class) && !method.isSynthetic()) {
-					Class<?>[] parameterTypes = method.getParameterTypes();
-					checkArgument(parameterTypes.length == 1,
-							"Method %s has @Subscribe annotation but has %s parameters."
-									+ "Subscriber methods must have exactly 1 parameter.",
-							method, parameterTypes.length);
+					checkSubscriberMethod(method);
 
 					MethodIdentifier ident = new MethodIdentifier(method);
 					if (!identifiers.containsKey(ident)) {
@@ -159,7 +281,55 @@ public class SubscriberRegistry {
 				}
 			}
 		}
-		return ImmutableList.copyOf(identifiers.values());
+		ImmutableList.Builder<SubscriberMethod> methods = ImmutableList.builder();
+		for (Method method : identifiers.values()) {
+			methods.add(new SubscriberMethod(method, method.getAnnotation(Subscribe.class).taskId(),
+					eventTypeOf(method)));
+		}
+		return methods.build();
+	}
+
+	/**
+	 * 校验监听方法：只有一个事件参数，或任务ID（{@code String}）加事件两个参数；任务ID中的通配符只能出现在末尾；
+	 * 批量监听方法的参数必须是声明了元素类型的 {@code List}，且不能合并或接收任务ID
+	 */
+	private static void checkSubscriberMethod(Method method) {
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		checkArgument(parameterTypes.length == 1 || parameterTypes.length == 2 && parameterTypes[0] == String.class,
+				"Method %s has @Subscribe annotation but has %s parameters."
+						+ "Subscriber methods must have exactly 1 parameter, or a String task id and the event.",
+				method, parameterTypes.length);
+
+		Subscribe subscribe = method.getAnnotation(Subscribe.class);
+		TaskIdTrie.checkPattern(subscribe.taskId());
+		checkArgument(subscribe.batchSize() >= 1, "Method %s has @Subscribe batchSize %s, must be at least 1.", method,
+				subscribe.batchSize());
+		checkArgument(subscribe.maxDelay() >= 0, "Method %s has @Subscribe maxDelay %s, must not be negative.",
+				method, subscribe.maxDelay());
+		checkArgument(subscribe.capacity() >= 0, "Method %s has @Subscribe capacity %s, must not be negative.",
+				method, subscribe.capacity());
+		checkArgument(subscribe.blockTimeout() >= 0, "Method %s has @Subscribe blockTimeout %s, must not be negative.",
+				method, subscribe.blockTimeout());
+
+		if (Subscriber.isBatchMethod(method)) {
+			checkArgument(parameterTypes.length == 1,
+					"Method %s takes a task id and a List of events; a batch may span several task ids.", method);
+			checkArgument(!subscribe.conflate(),
+					"Method %s has @Subscribe conflate but takes a List of events; only single events are conflated.",
+					method);
+			checkArgument(method.getGenericParameterTypes()[0] instanceof ParameterizedType,
+					"Method %s takes a raw List. Batch subscriber methods must declare the event type, "
+							+ "e.g. List<TaskEvent>.",
+					method);
+			checkArgument(subscribe.batchSize() == 1 || subscribe.maxDelay() > 0,
+					"Method %s has @Subscribe batchSize %s but no maxDelay; a partial batch would never be flushed.",
+					method, subscribe.batchSize());
+		} else {
+			checkArgument(subscribe.batchSize() == 1 && subscribe.maxDelay() == 0,
+					"Method %s has @Subscribe batching attributes but takes a single event. "
+							+ "Batch subscriber methods must take a List of events.",
+					method);
+		}
 	}
 
 	/**
@@ -198,15 +368,124 @@ public class SubscriberRegistry {
 	}
 
 	/**
-	 * 将广播参数转换为订阅者标识
-	 *
-	 * @param event
-	 *            广播参数
-	 * @return 订阅者标识
+	 * 写时复制的路由表。每一代路由表只对应一个注册状态，未命中的路由在首次广播时补齐，
+	 * 注册或注销后按已知路由整体重建出新的一代并替换。路由按具体任务ID缓存，通配模式只在未命中时经前缀树匹配。
+	 */
+	private final class RouteTable {
+
+		/**
+		 * Bound on the cached task ids; patterns invite high-cardinality ids
+		 * such as one per order, so the cache starts over once it is reached.
+		 */
+		private static final int MAX_CACHED_TASK_IDS = 4096;
+
+		private final ConcurrentMap<String, ConcurrentMap<Class<?>, Subscriber[]>> routes = Maps.newConcurrentMap();
+
+		/**
+		 * Per task key id, the same class routes as in {@link #routes}, so
+		 * that posts carrying a {@link TaskKey} skip hashing the task id.
+		 * Grown by copy; an entry lost to a concurrent growth is just filled
+		 * again on the next post.
+		 */
+		private volatile AtomicReferenceArray<ConcurrentMap<Class<?>, Subscriber[]>> keyRoutes = new AtomicReferenceArray<ConcurrentMap<Class<?>, Subscriber[]>>(
+				0);
+
+		private final TaskIdTrie patterns;
+
+		RouteTable(TaskIdTrie patterns) {
+			this.patterns = patterns;
+		}
+
+		Subscriber[] get(TaskKey taskKey, Class<?> eventType) {
+			int id = taskKey.id();
+			AtomicReferenceArray<ConcurrentMap<Class<?>, Subscriber[]>> byKey = keyRoutes;
+			if (id < byKey.length()) {
+				ConcurrentMap<Class<?>, Subscriber[]> taskRoutes = byKey.get(id);
+				if (taskRoutes != null) {
+					Subscriber[] targets = taskRoutes.get(eventType);
+					if (targets != null) {
+						return targets;
+					}
+				}
+			}
+			String taskId = taskKey.getTaskId();
+			Subscriber[] targets = get(taskId, eventType);
+			ConcurrentMap<Class<?>, Subscriber[]> taskRoutes = routes.get(taskId);
+			if (taskRoutes != null) {
+				keyRoutes(id).set(id, taskRoutes);
+			}
+			return targets;
+		}
+
+		private AtomicReferenceArray<ConcurrentMap<Class<?>, Subscriber[]>> keyRoutes(int id) {
+			AtomicReferenceArray<ConcurrentMap<Class<?>, Subscriber[]>> byKey = keyRoutes;
+			if (id < byKey.length()) {
+				return byKey;
+			}
+			synchronized (this) {
+				byKey = keyRoutes;
+				if (id >= byKey.length()) {
+					AtomicReferenceArray<ConcurrentMap<Class<?>, Subscriber[]>> grown = new AtomicReferenceArray<ConcurrentMap<Class<?>, Subscriber[]>>(
+							Math.max(id + 1, byKey.length() * 2));
+					for (int i = 0; i < byKey.length(); i++) {
+						grown.set(i, byKey.get(i));
+					}
+					keyRoutes = byKey = grown;
+				}
+				return byKey;
+			}
+		}
+
+		Subscriber[] get(String taskId, Class<?> eventType) {
+			ConcurrentMap<Class<?>, Subscriber[]> taskRoutes = routes.get(taskId);
+			if (taskRoutes != null) {
+				Subscriber[] targets = taskRoutes.get(eventType);
+				if (targets != null) {
+					return targets;
+				}
+			}
+			return put(taskId, eventType, resolve(taskId, eventType, patterns));
+		}
+
+		private Subscriber[] put(String taskId, Class<?> eventType, Subscriber[] targets) {
+			ConcurrentMap<Class<?>, Subscriber[]> taskRoutes = routes.get(taskId);
+			if (taskRoutes == null) {
+				if (routes.size() >= MAX_CACHED_TASK_IDS) {
+					routes.clear();
+				}
+				ConcurrentMap<Class<?>, Subscriber[]> newRoutes = Maps.newConcurrentMap();
+				taskRoutes = MoreObjects.firstNonNull(routes.putIfAbsent(taskId, newRoutes), newRoutes);
+			}
+			taskRoutes.put(eventType, targets);
+			return targets;
+		}
+
+		RouteTable rebuild() {
+			RouteTable table = new RouteTable(indexPatterns());
+			for (Map.Entry<String, ConcurrentMap<Class<?>, Subscriber[]>> taskRoutes : routes.entrySet()) {
+				for (Class<?> eventType : taskRoutes.getValue().keySet()) {
+					table.put(taskRoutes.getKey(), eventType,
+							resolve(taskRoutes.getKey(), eventType, table.patterns));
+				}
+			}
+			return table;
+		}
+	}
+
+	/**
+	 * A subscriber method with the task id and event type it subscribes to.
 	 */
-	private SubscriberIdentifier fromPostEvent(PostEvent event) {
+	static final class SubscriberMethod {
+
+		final Method method;
+		final String taskId;
+		final Class<?> eventType;
 
-		return new SubscriberIdentifier(event.getTaskId(), event.getEvent().getClass());
+		SubscriberMethod(Method method, String taskId, Class<?> eventType) {
+			this.method = method;
+			this.taskId = taskId;
+			this.eventType = eventType;
+		}
 	}
 
 	private static final class MethodIdentifier {
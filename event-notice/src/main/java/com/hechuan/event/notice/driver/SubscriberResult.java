@@ -0,0 +1,71 @@
+package com.hechuan.event.notice.driver;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.lang.reflect.Method;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * 单个监听方法处理一次广播的结果：返回值或抛出的异常
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class SubscriberResult {
+
+	private final Object subscriber;
+	private final Method subscriberMethod;
+	private final Object value;
+	private final Throwable failure;
+
+	SubscriberResult(Object subscriber, Method subscriberMethod, Object value, Throwable failure) {
+		this.subscriber = checkNotNull(subscriber);
+		this.subscriberMethod = checkNotNull(subscriberMethod);
+		this.value = value;
+		this.failure = failure;
+	}
+
+	/**
+	 * @return The object the subscriber method was called on.
+	 */
+	public Object getSubscriber() {
+		return subscriber;
+	}
+
+	/**
+	 * @return The subscribed method.
+	 */
+	public Method getSubscriberMethod() {
+		return subscriberMethod;
+	}
+
+	/**
+	 * @return The value returned by the subscriber method, {@code null} for
+	 *         {@code void} methods or when it failed.
+	 */
+	public Object getValue() {
+		return value;
+	}
+
+	/**
+	 * @return The exception thrown by the subscriber method, {@code null} when
+	 *         it succeeded.
+	 */
+	public Throwable getFailure() {
+		return failure;
+	}
+
+	public boolean isSuccess() {
+		return failure == null;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).add("subscriber", subscriber)
+				.add("method", subscriberMethod.getName()).add("value", value).add("failure", failure).toString();
+	}
+}
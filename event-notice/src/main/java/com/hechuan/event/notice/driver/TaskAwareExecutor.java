@@ -0,0 +1,20 @@
+package com.hechuan.event.notice.driver;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 可感知任务ID的执行器，总线分发时会把事件所属的 taskId 一并交给执行器
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public interface TaskAwareExecutor extends Executor {
+
+	/**
+	 * Executes the delivery of an event posted under {@code taskId}.
+	 */
+	void execute(String taskId, Runnable command);
+}
@@ -1,11 +1,20 @@
 package com.hechuan.event.notice.driver;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.base.Predicate;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.MoreExecutors;
 
 import java.lang.reflect.Method;
-import java.util.Iterator;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -36,6 +45,14 @@ public class TaskEventBus {
 	
 	private final Dispatcher dispatcher;
 
+	private final EventBusMetrics metrics = new EventBusMetrics(this);
+
+	private volatile RetryPolicy retryPolicy = RetryPolicy.none();
+
+	private volatile DeadLetterQueue deadLetters = new DeadLetterQueue();
+
+	private final Backlog backlog = new Backlog();
+
 	
 	public TaskEventBus() {
 		this("default");
@@ -46,6 +63,24 @@ public class TaskEventBus {
 		this(identifier, MoreExecutors.directExecutor(), Dispatcher.perThreadDispatchQueue(), LoggingHandler.INSTANCE);
 	}
 
+	/**
+	 * Creates a bus delivering through the given {@code dispatcher}, for
+	 * example {@link Dispatcher#ringBuffer(int, WaitStrategy)} for
+	 * asynchronous delivery.
+	 */
+	public TaskEventBus(String identifier, Dispatcher dispatcher) {
+		this(identifier, MoreExecutors.directExecutor(), dispatcher, LoggingHandler.INSTANCE);
+	}
+
+	/**
+	 * Creates a bus delivering on the given {@code executor}. With a
+	 * {@link PartitionedExecutor}, events of one task are delivered in order
+	 * while different tasks run in parallel.
+	 */
+	public TaskEventBus(String identifier, Executor executor) {
+		this(identifier, executor, Dispatcher.perThreadDispatchQueue(), LoggingHandler.INSTANCE);
+	}
+
 	public TaskEventBus(SubscriberExceptionHandler exceptionHandler) {
 		this("default", MoreExecutors.directExecutor(), Dispatcher.perThreadDispatchQueue(), exceptionHandler);
 	}
@@ -66,6 +101,104 @@ public class TaskEventBus {
 		return executor;
 	}
 
+	final Dispatcher dispatcher() {
+		return dispatcher;
+	}
+
+	final SubscriberRegistry registry() {
+		return subscribers;
+	}
+
+	/**
+	 * Returns the runtime statistics of this bus.
+	 */
+	public EventBusMetrics metrics() {
+		return metrics;
+	}
+
+	final RetryPolicy retryPolicy() {
+		return retryPolicy;
+	}
+
+	/**
+	 * Sets how subscriber methods retry the events they fail to handle.
+	 * Defaults to {@link RetryPolicy#none()}. Retries are scheduled on a
+	 * timer and run on the bus executor, so the posting thread never waits
+	 * for them; with the direct executor they run on the timer thread.
+	 */
+	public void setRetryPolicy(RetryPolicy retryPolicy) {
+		this.retryPolicy = checkNotNull(retryPolicy);
+	}
+
+	/**
+	 * Returns the events no subscriber handles and the events subscribers
+	 * gave up on.
+	 */
+	public DeadLetterQueue deadLetters() {
+		return deadLetters;
+	}
+
+	/**
+	 * Replaces the dead-letter queue, for example with one of another
+	 * capacity.
+	 */
+	public void setDeadLetterQueue(DeadLetterQueue deadLetters) {
+		this.deadLetters = checkNotNull(deadLetters);
+	}
+
+	final void deadLetter(DeadLetter letter) {
+		deadLetters.add(letter);
+	}
+
+	final Backlog backlog() {
+		return backlog;
+	}
+
+	/**
+	 * Bounds the deliveries this bus holds: accepted by a post and not
+	 * started by their subscriber yet, whether they wait in the dispatcher,
+	 * in the executor or in a subscriber mailbox. An event posted to n
+	 * subscribers counts n times. Once {@code capacity} is reached, a post
+	 * is handled as {@code overflow} says and its outcome returned by
+	 * {@link #post}. {@link OverflowPolicy#BLOCK} waits without limit; a
+	 * subscriber posting from its own executor thread should use
+	 * {@link #setCapacity(int, OverflowPolicy, long, TimeUnit)} instead, so
+	 * as not to wait for itself. Unbounded by default; pass
+	 * {@link Integer#MAX_VALUE} to lift the bound. Each subscriber method
+	 * can be bounded as well through {@link Subscribe#capacity()}.
+	 */
+	public void setCapacity(int capacity, OverflowPolicy overflow) {
+		backlog.setLimit(capacity, overflow, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Bounds the deliveries this bus holds as
+	 * {@link #setCapacity(int, OverflowPolicy)}, a post blocked by
+	 * {@link OverflowPolicy#BLOCK} giving up after {@code blockTimeout}.
+	 */
+	public void setCapacity(int capacity, OverflowPolicy overflow, long blockTimeout, TimeUnit unit) {
+		backlog.setLimit(capacity, overflow, unit.toNanos(blockTimeout));
+	}
+
+	/**
+	 * Stores an event no subscriber handles and posts a {@link DeadEvent}
+	 * wrapping it under {@link #DEAD_EVENT}. Dead events themselves are
+	 * dropped when nobody listens to them.
+	 */
+	private void unrouted(String taskId, Object event) {
+		if (event instanceof DeadEvent) {
+			return;
+		}
+		deadLetters.add(DeadLetter.unrouted(taskId, event));
+		Subscriber[] deadSubscribers = subscribers.getSubscribers(DEAD_EVENT, DeadEvent.class);
+		if (deadSubscribers.length > 0) {
+			metrics.posted(1L);
+			backlog.acquire(deadSubscribers.length);
+			dispatcher.dispatch(PostEvent.create().setTaskId(DEAD_EVENT).setEvent(new DeadEvent(this, event)),
+					deadSubscribers);
+		}
+	}
+
 	public void handleSubscriberException(Throwable e, SubscriberExceptionContext context) {
 		checkNotNull(e);
 		checkNotNull(context);
@@ -82,14 +215,229 @@ public class TaskEventBus {
 		subscribers.unregister(object);
 	}
 
-	
-	public void post(PostEvent postEvent) {
-		Iterator<Subscriber> eventSubscribers = subscribers.getSubscribers(postEvent);
-		if (eventSubscribers.hasNext()) {
-			dispatcher.dispatch(postEvent.getEvent(), eventSubscribers);
-		} else if (!(postEvent.getEvent() instanceof DeadEvent)) {
-			throw new RuntimeException("该事件无任何监听者处理");
+	/**
+	 * Registers the subscriber methods of {@code object} whose task id
+	 * matches {@code taskIds}.
+	 */
+	final void register(Object object, Predicate<String> taskIds) {
+		subscribers.register(object, taskIds);
+	}
+
+	final void unregister(Object object, Predicate<String> taskIds) {
+		subscribers.unregister(object, taskIds);
+	}
+
+	/**
+	 * Posts {@code postEvent} to its subscribers. An event no subscriber
+	 * handles goes to the {@linkplain #deadLetters() dead letters} instead.
+	 * When the bus is {@linkplain #setCapacity(int, OverflowPolicy) full},
+	 * the event is handled as its overflow policy says; rejected and
+	 * timed-out events are kept as dead letters as well, dropped ones are
+	 * only counted.
+	 *
+	 * @return whether the event was accepted, and why not otherwise
+	 */
+	public PostResult post(PostEvent postEvent) {
+		Subscriber[] eventSubscribers = subscribers.getSubscribers(postEvent);
+		if (eventSubscribers.length == 0) {
+			unrouted(postEvent.getTaskId(), postEvent.getEvent());
+			return PostResult.UNROUTED;
+		}
+		return dispatch(postEvent, eventSubscribers, null);
+	}
+
+	/**
+	 * Posts {@code postEvent} as {@link #post} does, and passes the outcome of
+	 * every subscriber to {@code onCompletion} once all of them have run, as
+	 * {@link #postAsync} completes its future: with an empty list when no
+	 * subscriber handles the event, with a {@link PostRejectedException}
+	 * when the full bus does not accept it. For subclasses needing both the
+	 * admission and the outcome.
+	 */
+	protected final PostResult post(PostEvent postEvent,
+			BiConsumer<? super List<SubscriberResult>, ? super Throwable> onCompletion) {
+		checkNotNull(onCompletion);
+		Subscriber[] eventSubscribers = subscribers.getSubscribers(postEvent);
+		ResultCollector collector = new ResultCollector(eventSubscribers);
+		collector.future().whenComplete(onCompletion);
+		if (eventSubscribers.length == 0) {
+			unrouted(postEvent.getTaskId(), postEvent.getEvent());
+			return PostResult.UNROUTED;
+		}
+		return dispatch(postEvent, eventSubscribers, collector);
+	}
+
+	/**
+	 * Posts {@code postEvent} and returns a future completed with the outcome
+	 * of every subscriber, in subscriber order, once all of them have run.
+	 * Each {@link SubscriberResult} carries the method's return value or the
+	 * exception thrown by its last attempt under the {@link RetryPolicy}; that
+	 * failure is also passed to the exception handler. The caller never blocks
+	 * on subscribers unless the bus delivers on the posting thread (direct
+	 * executor with a synchronous dispatcher). If no subscriber handles the
+	 * event it goes to the dead letters and the future completes with an
+	 * empty list. If the bus is full and does not accept the event, the
+	 * future fails with a {@link PostRejectedException}; a subscriber
+	 * dropping or rejecting it for the same reason reports that exception
+	 * as its outcome.
+	 */
+	public CompletableFuture<List<SubscriberResult>> postAsync(PostEvent postEvent) {
+		Subscriber[] eventSubscribers = subscribers.getSubscribers(postEvent);
+		ResultCollector collector = new ResultCollector(eventSubscribers);
+		if (eventSubscribers.length == 0) {
+			unrouted(postEvent.getTaskId(), postEvent.getEvent());
+			return collector.future();
+		}
+		try {
+			dispatch(postEvent, eventSubscribers, collector);
+		} catch (RuntimeException e) {
+			collector.future().completeExceptionally(e);
+		}
+		return collector.future();
+	}
+
+	/**
+	 * Admits {@code postEvent} into the backlog and hands it to the
+	 * dispatcher, or to the subscribers on the calling thread. A refused
+	 * event fails {@code collector}, if any.
+	 */
+	private PostResult dispatch(PostEvent postEvent, Subscriber[] eventSubscribers, ResultCollector collector) {
+		PostResult admission = backlog.admit(eventSubscribers.length);
+		if (admission == PostResult.ACCEPTED) {
+			metrics.posted(1L);
+			dispatcher.dispatch(postEvent, eventSubscribers, collector);
+		} else if (admission == PostResult.RAN_ON_CALLER) {
+			metrics.posted(1L);
+			for (Subscriber subscriber : eventSubscribers) {
+				subscriber.dispatchEvent(postEvent.getTaskId(), postEvent.getEvent(), collector, true);
+			}
+		} else if (collector != null || admission != PostResult.DROPPED) {
+			PostRejectedException rejection = new PostRejectedException(admission,
+					"Bus " + identifier + " is full: " + admission);
+			refused(postEvent.getTaskId(), postEvent.getEvent(), rejection);
+			if (collector != null) {
+				collector.future().completeExceptionally(rejection);
+			}
+		}
+		return admission;
+	}
+
+	/**
+	 * Keeps an event the full bus rejected or gave up waiting for as a dead
+	 * letter. Dropped events are only counted.
+	 */
+	private void refused(String taskId, Object event, PostRejectedException rejection) {
+		if (rejection.getResult() != PostResult.DROPPED) {
+			deadLetters.add(DeadLetter.refused(taskId, event, rejection));
+		}
+	}
+
+	/**
+	 * Posts a burst of events at once. Events are grouped by (taskId, event
+	 * class); subscribers are resolved and the dispatcher entered once per
+	 * group, and every subscriber receives each group as one contiguous run in
+	 * posting order. Subscriber methods taking a {@code List} of events receive
+	 * a whole group in a single invocation. Groups are dispatched in the order
+	 * of their first event, each at the highest priority among its events;
+	 * events of a group no subscriber handles go to the dead letters. A full
+	 * bus applies its overflow policy to a whole group at a time, keeping the
+	 * events of a rejected or timed-out group as dead letters.
+	 *
+	 * @return the number of events accepted
+	 */
+	public int postAll(Collection<? extends PostEvent> postEvents) {
+		Map<String, Map<Class<?>, Group>> groups = Maps.newLinkedHashMap();
+		for (PostEvent postEvent : postEvents) {
+			Map<Class<?>, Group> taskGroups = groups.get(postEvent.getTaskId());
+			if (taskGroups == null) {
+				taskGroups = Maps.newLinkedHashMap();
+				groups.put(postEvent.getTaskId(), taskGroups);
+			}
+			Group group = taskGroups.get(postEvent.getEvent().getClass());
+			if (group == null) {
+				group = new Group();
+				taskGroups.put(postEvent.getEvent().getClass(), group);
+			}
+			group.add(postEvent);
 		}
+
+		int accepted = 0;
+		for (Map.Entry<String, Map<Class<?>, Group>> taskGroups : groups.entrySet()) {
+			String taskId = taskGroups.getKey();
+			for (Map.Entry<Class<?>, Group> entry : taskGroups.getValue().entrySet()) {
+				Group group = entry.getValue();
+				Subscriber[] groupSubscribers = subscribers.getSubscribers(taskId, entry.getKey());
+				if (groupSubscribers.length == 0) {
+					for (Object event : group.events) {
+						unrouted(taskId, event);
+					}
+					continue;
+				}
+				List<Object> events = Collections.unmodifiableList(group.events);
+				PostResult admission = backlog.admit(events.size() * groupSubscribers.length);
+				if (admission == PostResult.ACCEPTED) {
+					dispatcher.dispatchAll(taskId, events, group.priority, groupSubscribers);
+				} else if (admission == PostResult.RAN_ON_CALLER) {
+					for (Subscriber subscriber : groupSubscribers) {
+						subscriber.dispatchEvents(taskId, events, true);
+					}
+				} else {
+					if (admission != PostResult.DROPPED) {
+						PostRejectedException rejection = new PostRejectedException(admission,
+								"Bus " + identifier + " is full: " + admission);
+						for (Object event : events) {
+							refused(taskId, event, rejection);
+						}
+					}
+					continue;
+				}
+				metrics.posted(events.size());
+				accepted += events.size();
+			}
+		}
+		return accepted;
+	}
+
+	/**
+	 * Events of one (taskId, event class) group of {@link #postAll}.
+	 */
+	private static final class Group {
+		final List<Object> events = Lists.newArrayList();
+		Priority priority = Priority.LOW;
+
+		void add(PostEvent postEvent) {
+			events.add(postEvent.getEvent());
+			if (postEvent.getPriority().compareTo(priority) < 0) {
+				priority = postEvent.getPriority();
+			}
+		}
+	}
+
+	/**
+	 * Posts {@code postEvent} through {@link #post} once {@code delay} has
+	 * elapsed, within a millisecond. Pending posts live on a timer wheel
+	 * shared by every bus: scheduling and cancelling take constant time
+	 * whatever the number pending, and a pending post costs a single small
+	 * object. The post happens on the timer thread, so a bus delivering on
+	 * the posting thread should only use this with fast subscribers. Pending
+	 * posts are not persisted.
+	 *
+	 * @return a handle cancelling the post
+	 */
+	public ScheduledPost postDelayed(PostEvent postEvent, long delay, TimeUnit unit) {
+		checkNotNull(unit);
+		return HashedWheelTimer.shared().schedule(new ScheduledPost(this, postEvent), delay, unit);
+	}
+
+	/**
+	 * Posts {@code postEvent} at {@code timeMillis}, in milliseconds since the
+	 * epoch, as {@link #postDelayed}; a time in the past posts on the next
+	 * tick. Later changes of the wall clock do not move the post.
+	 *
+	 * @return a handle cancelling the post
+	 */
+	public ScheduledPost postAt(PostEvent postEvent, long timeMillis) {
+		return postDelayed(postEvent, timeMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
 	}
 
 	@Override
@@ -118,7 +466,7 @@ public class TaskEventBus {
 		private static String message(SubscriberExceptionContext context) {
 			Method method = context.getSubscriberMethod();
 			return "Exception thrown by subscriber method " + method.getName() + '('
-					+ method.getParameterTypes()[0].getName() + ')' + " on subscriber " + context.getSubscriber()
+					+ Subscriber.eventParameterType(method).getName() + ')' + " on subscriber " + context.getSubscriber()
 					+ " when dispatching event: " + context.getEvent();
 		}
 	}
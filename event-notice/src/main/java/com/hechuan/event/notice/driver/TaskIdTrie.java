@@ -0,0 +1,136 @@
+package com.hechuan.event.notice.driver;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * 任务ID通配模式的前缀树索引
+ * <p>
+ * 模式以 {@code *} 结尾表示前缀匹配，例如 {@code order.*} 匹配所有以 {@code order.} 开头的任务ID，单独的
+ * {@code *} 匹配任意任务ID。查找沿任务ID逐字符下降，开销只与任务ID长度有关，与已注册的模式数量无关。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+final class TaskIdTrie {
+
+	static final char WILDCARD = '*';
+
+	static final TaskIdTrie EMPTY = new TaskIdTrie(new Node());
+
+	private final Node root;
+
+	private TaskIdTrie(Node root) {
+		this.root = root;
+	}
+
+	/**
+	 * Checks whether {@code taskId} is a pattern rather than a concrete task
+	 * id.
+	 */
+	static boolean isPattern(String taskId) {
+		return taskId.indexOf(WILDCARD) >= 0;
+	}
+
+	/**
+	 * Checks that {@code pattern} has a single {@code *}, in last position.
+	 */
+	static void checkPattern(String pattern) {
+		int wildcard = pattern.indexOf(WILDCARD);
+		checkArgument(wildcard < 0 || wildcard == pattern.length() - 1,
+				"taskId pattern %s must end with its only '%s'", pattern, WILDCARD);
+	}
+
+	/**
+	 * Builds the index of the patterns among {@code taskIds}; concrete task ids
+	 * are ignored.
+	 */
+	static TaskIdTrie of(Iterable<String> taskIds) {
+		Node root = null;
+		for (String taskId : taskIds) {
+			if (!isPattern(taskId)) {
+				continue;
+			}
+			checkPattern(taskId);
+			if (root == null) {
+				root = new Node();
+			}
+			Node node = root;
+			for (int i = 0; i < taskId.length() - 1; i++) {
+				node = node.child(taskId.charAt(i), true);
+			}
+			node.pattern = taskId;
+		}
+		return root == null ? EMPTY : new TaskIdTrie(root);
+	}
+
+	boolean isEmpty() {
+		return root.pattern == null && root.keys.length == 0;
+	}
+
+	/**
+	 * Returns the patterns matching the concrete {@code taskId}, shortest
+	 * prefix first.
+	 */
+	List<String> match(String taskId) {
+		if (isEmpty()) {
+			return ImmutableList.of();
+		}
+		ImmutableList.Builder<String> patterns = ImmutableList.builder();
+		Node node = root;
+		for (int i = 0;; i++) {
+			if (node.pattern != null) {
+				patterns.add(node.pattern);
+			}
+			if (i == taskId.length() || (node = node.child(taskId.charAt(i), false)) == null) {
+				return patterns.build();
+			}
+		}
+	}
+
+	/**
+	 * Trie node. Children are kept in sorted parallel arrays, searched by
+	 * bisection.
+	 */
+	private static final class Node {
+
+		private static final char[] NO_KEYS = new char[0];
+		private static final Node[] NO_CHILDREN = new Node[0];
+
+		private char[] keys = NO_KEYS;
+		private Node[] children = NO_CHILDREN;
+
+		/** Pattern ending at this node, {@code null} if none. */
+		private String pattern;
+
+		Node child(char key, boolean create) {
+			int index = Arrays.binarySearch(keys, key);
+			if (index >= 0) {
+				return children[index];
+			}
+			if (!create) {
+				return null;
+			}
+			int insertion = -index - 1;
+			char[] newKeys = new char[keys.length + 1];
+			Node[] newChildren = new Node[children.length + 1];
+			System.arraycopy(keys, 0, newKeys, 0, insertion);
+			System.arraycopy(children, 0, newChildren, 0, insertion);
+			System.arraycopy(keys, insertion, newKeys, insertion + 1, keys.length - insertion);
+			System.arraycopy(children, insertion, newChildren, insertion + 1, children.length - insertion);
+			Node child = new Node();
+			newKeys[insertion] = key;
+			newChildren[insertion] = child;
+			keys = newKeys;
+			children = newChildren;
+			return child;
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package com.hechuan.event.notice.driver;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.Maps;
+
+/**
+ * 驻留的任务ID句柄
+ * <p>
+ * 同一任务ID只对应一个句柄，并分配一个稠密的整数编号，路由表按编号直接下标访问，广播时不再对任务ID做哈希。句柄一经创建永不回收，
+ * 适用于数量有限、长期使用的任务ID；一次性的任务ID（如每个订单一个）仍应直接使用字符串。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public final class TaskKey {
+
+	private static final ConcurrentMap<String, TaskKey> interned = Maps.newConcurrentMap();
+
+	private static final AtomicInteger nextId = new AtomicInteger();
+
+	/**
+	 * Returns the key of {@code taskId}, creating it on first use. Obtain it
+	 * once and keep it rather than calling this method for every post.
+	 */
+	public static TaskKey of(String taskId) {
+		TaskKey key = interned.get(checkNotNull(taskId));
+		if (key == null) {
+			checkArgument(!TaskIdTrie.isPattern(taskId), "taskId pattern %s cannot be posted to", taskId);
+			synchronized (interned) {
+				key = interned.get(taskId);
+				if (key == null) {
+					key = new TaskKey(taskId, nextId.getAndIncrement());
+					interned.put(taskId, key);
+				}
+			}
+		}
+		return key;
+	}
+
+	private final String taskId;
+	private final int id;
+
+	private TaskKey(String taskId, int id) {
+		this.taskId = taskId;
+		this.id = id;
+	}
+
+	public String getTaskId() {
+		return taskId;
+	}
+
+	/**
+	 * Dense id, starting at 0, unique among all keys.
+	 */
+	int id() {
+		return id;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper("TaskKey").add("taskId", taskId).add("id", id).toString();
+	}
+}
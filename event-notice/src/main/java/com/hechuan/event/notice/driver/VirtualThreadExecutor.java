@@ -0,0 +1,109 @@
+package com.hechuan.event.notice.driver;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 虚拟线程执行器：每次监听方法调用都在一个新的虚拟线程上执行，适合会阻塞在 I/O 上的监听方法
+ * <p>
+ * 需要 JDK 21 及以上运行；源码仍按 1.8 编译，虚拟线程工厂在运行时通过 {@link MethodHandle} 获取。
+ * 由 {@link #create(int)} 创建，不支持虚拟线程的 JDK 上返回空，调用方可改用平台线程池。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public final class VirtualThreadExecutor implements Executor {
+
+	/** {@code Thread.ofVirtual().name(...).factory()}, or {@code null} before JDK 21. */
+	private static final ThreadFactory VIRTUAL_THREAD_FACTORY = virtualThreadFactory();
+
+	private final ThreadFactory threadFactory;
+
+	/** Maximum concurrent invocations per subscriber, {@code 0} when unlimited. */
+	private final int maxConcurrencyPerSubscriber;
+
+	private VirtualThreadExecutor(ThreadFactory threadFactory, int maxConcurrencyPerSubscriber) {
+		this.threadFactory = threadFactory;
+		this.maxConcurrencyPerSubscriber = maxConcurrencyPerSubscriber;
+	}
+
+	/**
+	 * Creates an executor that does not limit concurrency per subscriber.
+	 *
+	 * @return the executor, or empty if the running JDK has no virtual
+	 *         threads
+	 */
+	public static Optional<VirtualThreadExecutor> create() {
+		return create(0);
+	}
+
+	/**
+	 * @param maxConcurrencyPerSubscriber
+	 *            maximum number of concurrent invocations of one subscriber
+	 *            method, {@code 0} for no limit. Invocations over the limit
+	 *            wait on their own virtual thread, never on the posting thread.
+	 * @return the executor, or empty if the running JDK has no virtual
+	 *         threads
+	 */
+	public static Optional<VirtualThreadExecutor> create(int maxConcurrencyPerSubscriber) {
+		checkArgument(maxConcurrencyPerSubscriber >= 0, "maxConcurrencyPerSubscriber must not be negative: %s",
+				maxConcurrencyPerSubscriber);
+		if (VIRTUAL_THREAD_FACTORY == null) {
+			return Optional.empty();
+		}
+		return Optional.of(new VirtualThreadExecutor(VIRTUAL_THREAD_FACTORY, maxConcurrencyPerSubscriber));
+	}
+
+	/**
+	 * Returns whether the running JDK supports virtual threads.
+	 */
+	public static boolean isSupported() {
+		return VIRTUAL_THREAD_FACTORY != null;
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		threadFactory.newThread(checkNotNull(command)).start();
+	}
+
+	public int maxConcurrencyPerSubscriber() {
+		return maxConcurrencyPerSubscriber;
+	}
+
+	/**
+	 * Returns the permits bounding concurrent invocations of one subscriber,
+	 * or {@code null} when unlimited.
+	 */
+	Semaphore newSubscriberLimit() {
+		return maxConcurrencyPerSubscriber == 0 ? null : new Semaphore(maxConcurrencyPerSubscriber);
+	}
+
+	private static ThreadFactory virtualThreadFactory() {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			Class<?> virtualBuilderClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+			MethodHandle ofVirtual = lookup.findStatic(Thread.class, "ofVirtual",
+					MethodType.methodType(virtualBuilderClass));
+			MethodHandle name = lookup.findVirtual(virtualBuilderClass, "name",
+					MethodType.methodType(virtualBuilderClass, String.class, long.class));
+			MethodHandle factory = lookup.findVirtual(builderClass, "factory", MethodType.methodType(ThreadFactory.class));
+
+			Object builder = name.invoke(ofVirtual.invoke(), "task-event-bus-vt-", 0L);
+			return (ThreadFactory) factory.invoke(builder);
+		} catch (Throwable e) {
+			return null;
+		}
+	}
+}
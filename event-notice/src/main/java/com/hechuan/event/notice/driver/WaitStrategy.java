@@ -0,0 +1,171 @@
+package com.hechuan.event.notice.driver;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 环形缓冲分发器消费线程的等待策略
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public abstract class WaitStrategy {
+
+	/**
+	 * Spins on the slot. Lowest latency, burns a core per consumer thread.
+	 */
+	public static WaitStrategy busySpin() {
+		return new BusySpinWaitStrategy();
+	}
+
+	/**
+	 * Spins briefly, then yields the CPU between checks.
+	 */
+	public static WaitStrategy yielding() {
+		return new YieldingWaitStrategy();
+	}
+
+	/**
+	 * Spins, yields, then parks for short periods. A good compromise between
+	 * latency and CPU usage.
+	 */
+	public static WaitStrategy parking() {
+		return new ParkingWaitStrategy();
+	}
+
+	/**
+	 * Blocks on a condition until a producer publishes. Uses the least CPU at
+	 * the cost of a wake-up on the publishing thread.
+	 */
+	public static WaitStrategy blocking() {
+		return new BlockingWaitStrategy();
+	}
+
+	WaitStrategy() {
+	}
+
+	/**
+	 * Waits until {@code sequence} is published to {@code ring}. A sequence
+	 * claimed by a producer that has not published it yet keeps the consumer
+	 * waiting like any other.
+	 *
+	 * @return {@code false} once the dispatcher has been halted
+	 */
+	abstract boolean waitFor(long sequence, RingBufferDispatcher ring);
+
+	/**
+	 * Wakes up consumers blocked in {@link #waitFor}; called after every
+	 * publication and on halt.
+	 */
+	void signalAllWhenBlocking() {
+	}
+
+	private static final class BusySpinWaitStrategy extends WaitStrategy {
+
+		@Override
+		boolean waitFor(long sequence, RingBufferDispatcher ring) {
+			while (!ring.isPublished(sequence)) {
+				if (!ring.isRunning()) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	private static final class YieldingWaitStrategy extends WaitStrategy {
+
+		private static final int SPIN_TRIES = 100;
+
+		@Override
+		boolean waitFor(long sequence, RingBufferDispatcher ring) {
+			int counter = SPIN_TRIES;
+			while (!ring.isPublished(sequence)) {
+				if (!ring.isRunning()) {
+					return false;
+				}
+				if (counter > 0) {
+					--counter;
+				} else {
+					Thread.yield();
+				}
+			}
+			return true;
+		}
+	}
+
+	private static final class ParkingWaitStrategy extends WaitStrategy {
+
+		private static final int SPIN_TRIES = 100;
+		private static final int YIELD_TRIES = 100;
+		private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+		@Override
+		boolean waitFor(long sequence, RingBufferDispatcher ring) {
+			int counter = SPIN_TRIES + YIELD_TRIES;
+			while (!ring.isPublished(sequence)) {
+				if (!ring.isRunning()) {
+					return false;
+				}
+				if (counter > YIELD_TRIES) {
+					--counter;
+				} else if (counter > 0) {
+					--counter;
+					Thread.yield();
+				} else {
+					LockSupport.parkNanos(PARK_NANOS);
+				}
+			}
+			return true;
+		}
+	}
+
+	private static final class BlockingWaitStrategy extends WaitStrategy {
+
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Condition published = lock.newCondition();
+
+		/** Set by waiting consumers so producers only take the lock when needed. */
+		private final AtomicBoolean signalNeeded = new AtomicBoolean(false);
+
+		@Override
+		boolean waitFor(long sequence, RingBufferDispatcher ring) {
+			if (!ring.isPublished(sequence)) {
+				lock.lock();
+				try {
+					while (true) {
+						signalNeeded.set(true);
+						if (ring.isPublished(sequence)) {
+							break;
+						}
+						if (!ring.isRunning()) {
+							return false;
+						}
+						published.awaitUninterruptibly();
+					}
+				} finally {
+					lock.unlock();
+				}
+			}
+			return true;
+		}
+
+		@Override
+		void signalAllWhenBlocking() {
+			if (signalNeeded.getAndSet(false)) {
+				lock.lock();
+				try {
+					published.signalAll();
+				} finally {
+					lock.unlock();
+				}
+			}
+		}
+	}
+}
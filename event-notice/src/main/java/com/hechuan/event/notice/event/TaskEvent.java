@@ -1,5 +1,7 @@
 package com.hechuan.event.notice.event;
 
+import java.io.Serializable;
+
 import com.google.common.base.MoreObjects;
 
 /**
@@ -11,7 +13,9 @@ import com.google.common.base.MoreObjects;
  *
  * @version 1.0.0
  */
-public class TaskEvent {
+public class TaskEvent implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	public TaskEvent() {
 
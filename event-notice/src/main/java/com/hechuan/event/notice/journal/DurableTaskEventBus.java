@@ -0,0 +1,197 @@
+package com.hechuan.event.notice.journal;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.hechuan.event.notice.driver.Dispatcher;
+import com.hechuan.event.notice.driver.PostEvent;
+import com.hechuan.event.notice.driver.PostRejectedException;
+import com.hechuan.event.notice.driver.PostResult;
+import com.hechuan.event.notice.driver.SubscriberResult;
+import com.hechuan.event.notice.driver.TaskEventBus;
+
+/**
+ * 带预写日志的事件总线
+ * <p>
+ * 每个事件先追加到 {@link EventJournal} 再分发，所有监听方法都得出结果后记录确认；监听方法抛出的异常在
+ * {@link com.hechuan.event.notice.driver.RetryPolicy} 重试用尽后已进入死信队列，同样确认，不会阻塞分段回收。
+ * 进程退出时尚未处理完的事件未确认，下次启动时由 {@link #recover()} 重新分发（至少一次语义）。无人监听的事件进入死信队列并立即确认；
+ * 总线积压已满未受理的事件按溢出策略计数或进入死信队列，同样立即确认，恢复时亦然，不会重放。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class DurableTaskEventBus extends TaskEventBus {
+
+	private static final Logger logger = Logger.getLogger(DurableTaskEventBus.class.getName());
+
+	private final EventJournal journal;
+
+	private volatile boolean syncOnPost;
+
+	public DurableTaskEventBus(String identifier, EventJournal journal) {
+		super(identifier);
+		this.journal = checkNotNull(journal);
+	}
+
+	public DurableTaskEventBus(String identifier, Dispatcher dispatcher, EventJournal journal) {
+		super(identifier, dispatcher);
+		this.journal = checkNotNull(journal);
+	}
+
+	public DurableTaskEventBus(String identifier, Executor executor, EventJournal journal) {
+		super(identifier, executor);
+		this.journal = checkNotNull(journal);
+	}
+
+	public EventJournal journal() {
+		return journal;
+	}
+
+	/**
+	 * When {@code true}, a post returns only once its journal record has been
+	 * forced to disk, surviving an operating system crash as well. Concurrent
+	 * posts share the same force. Defaults to {@code false}: records reach the
+	 * disk within the journal flush interval, and survive a JVM crash as soon
+	 * as they are appended.
+	 */
+	public void setSyncOnPost(boolean syncOnPost) {
+		this.syncOnPost = syncOnPost;
+	}
+
+	/**
+	 * Journals and posts {@code postEvent}, returning the admission of the
+	 * bus. An event the full bus does not accept is acknowledged right away.
+	 */
+	@Override
+	public PostResult post(PostEvent postEvent) {
+		checkNotNull(postEvent);
+		long sequence;
+		try {
+			sequence = append(postEvent);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for the journal", e);
+		}
+		try {
+			return post(postEvent, acknowledgement(postEvent, sequence, true));
+		} catch (RuntimeException e) {
+			// the caller sees the failure
+			acknowledge(sequence);
+			throw e;
+		}
+	}
+
+	@Override
+	public CompletableFuture<List<SubscriberResult>> postAsync(PostEvent postEvent) {
+		checkNotNull(postEvent);
+		long sequence;
+		try {
+			sequence = append(postEvent);
+		} catch (IOException e) {
+			return failed(new UncheckedIOException(e));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return failed(new IllegalStateException("Interrupted while waiting for the journal", e));
+		}
+		return dispatch(postEvent, sequence, true);
+	}
+
+	private long append(PostEvent postEvent) throws IOException, InterruptedException {
+		long sequence = journal.append(postEvent);
+		if (syncOnPost) {
+			journal.awaitFlushed(sequence);
+		}
+		return sequence;
+	}
+
+	/**
+	 * Journals and posts the events one by one; unlike
+	 * {@link TaskEventBus#postAll}, events are not grouped.
+	 */
+	@Override
+	public int postAll(Collection<? extends PostEvent> postEvents) {
+		int accepted = 0;
+		for (PostEvent postEvent : postEvents) {
+			if (post(postEvent).isAccepted()) {
+				accepted++;
+			}
+		}
+		return accepted;
+	}
+
+	/**
+	 * Dispatches again the events a previous run journaled but did not get
+	 * handled. Call it once, after the listeners are registered.
+	 *
+	 * @return the number of events dispatched again
+	 */
+	public int recover() {
+		List<EventJournal.Entry> entries = journal.recover();
+		for (EventJournal.Entry entry : entries) {
+			dispatch(entry.getPostEvent(), entry.getSequence(), false);
+		}
+		return entries.size();
+	}
+
+	/**
+	 * Dispatches a journaled event and acknowledges it once every subscriber
+	 * has an outcome.
+	 */
+	private CompletableFuture<List<SubscriberResult>> dispatch(PostEvent postEvent, long sequence,
+			boolean acknowledgeFailed) {
+		return super.postAsync(postEvent).whenComplete(acknowledgement(postEvent, sequence, acknowledgeFailed));
+	}
+
+	/**
+	 * Acknowledges the journaled event once every subscriber has an outcome:
+	 * a subscriber failure is reported only after the retry policy gave up
+	 * and the failure went to the dead letters, so keeping the event would
+	 * only pin its journal segment. The same holds once the full bus refused
+	 * it, which already counted it as dropped or kept it as a dead letter. A
+	 * post failing otherwise is acknowledged when the caller sees the
+	 * failure, and kept for the next recovery when it is recovered itself.
+	 */
+	private BiConsumer<List<SubscriberResult>, Throwable> acknowledgement(final PostEvent postEvent,
+			final long sequence, final boolean acknowledgeFailed) {
+		return new BiConsumer<List<SubscriberResult>, Throwable>() {
+			@Override
+			public void accept(List<SubscriberResult> results, Throwable failure) {
+				if (failure == null || acknowledgeFailed || failure instanceof PostRejectedException) {
+					acknowledge(sequence);
+				} else {
+					logger.log(Level.WARNING, "Recovered event " + postEvent + " failed, kept in the journal",
+							failure);
+				}
+			}
+		};
+	}
+
+	private void acknowledge(long sequence) {
+		try {
+			journal.acknowledge(sequence);
+		} catch (IOException e) {
+			logger.log(Level.SEVERE, "Failed to acknowledge journaled event " + sequence, e);
+		}
+	}
+
+	private static <T> CompletableFuture<T> failed(Throwable failure) {
+		CompletableFuture<T> future = new CompletableFuture<T>();
+		future.completeExceptionally(failure);
+		return future;
+	}
+}
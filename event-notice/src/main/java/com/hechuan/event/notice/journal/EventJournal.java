@@ -0,0 +1,538 @@
+package com.hechuan.event.notice.journal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.hechuan.event.notice.codec.BinaryEventSerializer;
+import com.hechuan.event.notice.driver.PostEvent;
+
+/**
+ * 事件预写日志
+ * <p>
+ * 事件在分发前顺序追加到内存映射的分段文件中，成功处理后追加一条确认记录。JVM 退出时已写入映射内存的记录由操作系统落盘；
+ * 刷盘线程按固定间隔或有等待者时一次性 force 所有脏分段（组提交），不会每个事件一次 fsync。重新打开日志时，
+ * 上次未确认的事件可通过 {@link #recover()} 取回重放。
+ * <p>
+ * 记录格式：{@code [int 负载长度][int CRC32][byte 类型][long 序号][负载]}，CRC 覆盖类型、序号和负载。
+ * 分段只从最旧的一端删除，且要求其中事件全部确认，保证确认记录不会早于它确认的事件被删除。分段文件按递增的分段号命名，
+ * 只含确认记录的分段不会与下一个分段重名；已存在的分段文件只以只读方式打开，不会被覆盖。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class EventJournal implements Closeable {
+
+	private static final Logger logger = Logger.getLogger(EventJournal.class.getName());
+
+	public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+	public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 10L;
+
+	private static final int MAGIC = 0x54454a31; // "TEJ1"
+	private static final int SEGMENT_HEADER = 8;
+	private static final int RECORD_HEADER = 17;
+	private static final String SUFFIX = ".journal";
+
+	private static final byte EVENT = 1;
+	private static final byte ACK = 2;
+
+	private final File directory;
+	private final int segmentSize;
+	private final long flushIntervalMillis;
+	private final EventSerializer serializer;
+
+	/** All live segments by segment number, oldest first; guarded by {@code this} for writes. */
+	private final ConcurrentNavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<Long, Segment>();
+
+	/**
+	 * Segments holding events, by the sequence of their first event, to find
+	 * the segment of an acknowledged event; guarded by {@code this} for
+	 * writes. A segment holding only acknowledgements shares its first
+	 * sequence with the next segment and is replaced by it here.
+	 */
+	private final ConcurrentNavigableMap<Long, Segment> eventSegments = new ConcurrentSkipListMap<Long, Segment>();
+
+	private final CRC32 crc = new CRC32();
+
+	private Segment active;
+	private int writePosition;
+	private long nextSequence;
+	private long nextSegment;
+
+	/** Rolled segments the flusher has not forced yet. */
+	private final List<Segment> unflushed = Lists.newArrayList();
+
+	/** Unacknowledged events of a previous run, until taken by {@link #recover()}. */
+	private List<Entry> recovered;
+
+	private long lastAppended = -1L;
+	private boolean dirty;
+
+	private final ReentrantLock flushLock = new ReentrantLock();
+	private final Condition flushRequested = flushLock.newCondition();
+	private final Condition flushed = flushLock.newCondition();
+	private long flushedSequence = -1L;
+	private int waiters;
+
+	private final Thread flusher;
+	private volatile boolean running = true;
+
+	/**
+	 * Opens the journal in {@code directory} with 64 MB segments, a flush
+	 * every 10 ms and the compact binary format of {@link BinaryEventSerializer}.
+	 */
+	public EventJournal(File directory) throws IOException {
+		this(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_FLUSH_INTERVAL_MILLIS, new BinaryEventSerializer());
+	}
+
+	/**
+	 * Opens the journal in {@code directory}, reading back the events a
+	 * previous run left unacknowledged.
+	 *
+	 * @param segmentSize
+	 *            size of each memory-mapped segment file, also the upper bound
+	 *            of a serialized event
+	 * @param flushIntervalMillis
+	 *            longest time an appended record stays only in the page cache
+	 */
+	public EventJournal(File directory, int segmentSize, long flushIntervalMillis, EventSerializer serializer)
+			throws IOException {
+		checkArgument(segmentSize > SEGMENT_HEADER + RECORD_HEADER, "segmentSize too small: %s", segmentSize);
+		checkArgument(flushIntervalMillis > 0, "flushIntervalMillis must be positive: %s", flushIntervalMillis);
+		this.directory = checkNotNull(directory);
+		this.segmentSize = segmentSize;
+		this.flushIntervalMillis = flushIntervalMillis;
+		this.serializer = checkNotNull(serializer);
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Cannot create journal directory " + directory);
+		}
+
+		synchronized (this) {
+			this.recovered = load();
+			this.active = createSegment();
+			reclaim();
+		}
+
+		this.flusher = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				flushLoop();
+			}
+		}, "task-event-bus-journal-flusher");
+		flusher.setDaemon(true);
+		flusher.start();
+	}
+
+	/**
+	 * Appends {@code postEvent}, serialized straight into the mapped segment.
+	 *
+	 * @return the sequence of the event, to pass to {@link #acknowledge}
+	 */
+	public synchronized long append(PostEvent postEvent) throws IOException {
+		checkNotNull(postEvent);
+		long sequence = nextSequence;
+		write(EVENT, sequence, postEvent);
+		nextSequence++;
+		active.unacknowledged.set((int) (sequence - active.base));
+		active.pending++;
+		lastAppended = sequence;
+		return sequence;
+	}
+
+	/**
+	 * Records that the event of {@code sequence} was handled; it will not be
+	 * replayed. Segments whose events are all acknowledged are deleted.
+	 * Acknowledging an event again does nothing.
+	 */
+	public synchronized void acknowledge(long sequence) throws IOException {
+		checkArgument(sequence >= 0 && sequence < nextSequence, "unknown sequence %s", sequence);
+		Map.Entry<Long, Segment> entry = eventSegments.floorEntry(sequence);
+		if (entry == null) {
+			// its segment is already reclaimed
+			return;
+		}
+		Segment segment = entry.getValue();
+		int index = (int) (sequence - segment.base);
+		if (!segment.unacknowledged.get(index)) {
+			return;
+		}
+		write(ACK, sequence, null);
+		segment.unacknowledged.clear(index);
+		if (--segment.pending == 0) {
+			reclaim();
+		}
+	}
+
+	/**
+	 * Returns, once, the events a previous run appended and never
+	 * acknowledged, in append order. Later calls return an empty list.
+	 */
+	public synchronized List<Entry> recover() {
+		List<Entry> entries = recovered;
+		recovered = ImmutableList.of();
+		return entries;
+	}
+
+	/**
+	 * Blocks until the record of {@code sequence} has been forced to disk.
+	 * Concurrent callers share a single force.
+	 */
+	public void awaitFlushed(long sequence) throws InterruptedException {
+		flushLock.lock();
+		try {
+			if (flushedSequence >= sequence) {
+				return;
+			}
+			waiters++;
+			try {
+				flushRequested.signal();
+				while (flushedSequence < sequence) {
+					checkState(running, "journal closed");
+					flushed.await();
+				}
+			} finally {
+				waiters--;
+			}
+		} finally {
+			flushLock.unlock();
+		}
+	}
+
+	/**
+	 * Forces every record appended so far to disk.
+	 */
+	public void flush() {
+		force();
+	}
+
+	/**
+	 * Stops the flusher and forces outstanding records.
+	 */
+	@Override
+	public void close() {
+		running = false;
+		flushLock.lock();
+		try {
+			flushRequested.signalAll();
+			flushed.signalAll();
+		} finally {
+			flushLock.unlock();
+		}
+		try {
+			flusher.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		force();
+	}
+
+	/**
+	 * Sequence the next appended event will get.
+	 */
+	public synchronized long nextSequence() {
+		return nextSequence;
+	}
+
+	/**
+	 * Writes one record at the write position, rolling to a new segment when
+	 * the current one is full.
+	 */
+	private void write(byte type, long sequence, PostEvent postEvent) throws IOException {
+		checkState(running, "journal closed");
+		for (boolean rolled = false;; rolled = true) {
+			int start = writePosition;
+			ByteBuffer buffer = active.buffer;
+			if (segmentSize - start >= RECORD_HEADER) {
+				ByteBuffer body = buffer.duplicate();
+				body.position(start + RECORD_HEADER);
+				try {
+					if (postEvent != null) {
+						serializer.serialize(postEvent, body);
+					}
+					int length = body.position() - start - RECORD_HEADER;
+					buffer.putInt(start, length);
+					buffer.put(start + 8, type);
+					buffer.putLong(start + 9, sequence);
+					buffer.putInt(start + 4, checksum(buffer, start + 8, RECORD_HEADER - 8 + length));
+					writePosition = start + RECORD_HEADER + length;
+					dirty = true;
+					return;
+				} catch (BufferOverflowException e) {
+					if (rolled) {
+						throw new IOException("Event larger than a journal segment of " + segmentSize + " bytes: "
+								+ postEvent);
+					}
+				}
+			} else if (rolled) {
+				throw new IOException("Journal segment of " + segmentSize + " bytes too small");
+			}
+			roll();
+		}
+	}
+
+	private int checksum(ByteBuffer buffer, int offset, int length) {
+		ByteBuffer range = buffer.duplicate();
+		range.limit(offset + length).position(offset);
+		crc.reset();
+		crc.update(range);
+		return (int) crc.getValue();
+	}
+
+	private void roll() throws IOException {
+		Segment previous = active;
+		active = createSegment();
+		unflushed.add(previous);
+		if (previous.pending == 0) {
+			reclaim();
+		}
+	}
+
+	/**
+	 * Creates the segment numbered {@link #nextSegment}. Its file must not
+	 * exist yet: an existing segment is never opened for writing.
+	 */
+	private Segment createSegment() throws IOException {
+		long number = nextSegment;
+		File file = new File(directory, String.format("%020d%s", number, SUFFIX));
+		if (!file.createNewFile()) {
+			throw new IOException("Journal segment " + file + " already exists");
+		}
+		nextSegment++;
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		try {
+			raf.setLength(segmentSize);
+			MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+			buffer.putInt(0, MAGIC);
+			Segment segment = new Segment(file, number, buffer);
+			segment.base = nextSequence;
+			segments.put(number, segment);
+			eventSegments.put(nextSequence, segment);
+			writePosition = SEGMENT_HEADER;
+			return segment;
+		} finally {
+			raf.close();
+		}
+	}
+
+	/**
+	 * Deletes the oldest segments as long as all their events are
+	 * acknowledged; the active segment is kept.
+	 */
+	private void reclaim() {
+		for (Segment segment : segments.values()) {
+			if (segment == active || segment.pending > 0) {
+				return;
+			}
+			segments.remove(segment.number);
+			eventSegments.values().remove(segment);
+			if (!segment.file.delete()) {
+				logger.log(Level.WARNING, "Cannot delete journal segment " + segment.file);
+			}
+		}
+	}
+
+	/**
+	 * Reads the segments of a previous run. Reading a segment stops at its
+	 * first incomplete or corrupt record.
+	 */
+	private List<Entry> load() throws IOException {
+		File[] files = directory.listFiles(new FilenameFilter() {
+			@Override
+			public boolean accept(File dir, String name) {
+				return name.endsWith(SUFFIX);
+			}
+		});
+		if (files == null) {
+			throw new IOException("Cannot list journal directory " + directory);
+		}
+		Arrays.sort(files);
+
+		Map<Long, ByteBuffer> payloads = Maps.newLinkedHashMap();
+		Map<Long, Segment> owners = Maps.newHashMap();
+		for (File file : files) {
+			long number = Long.parseLong(file.getName().substring(0, file.getName().length() - SUFFIX.length()));
+			nextSegment = Math.max(nextSegment, number + 1);
+			RandomAccessFile raf = new RandomAccessFile(file, "r");
+			MappedByteBuffer buffer;
+			try {
+				buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+			} finally {
+				raf.close();
+			}
+			Segment segment = new Segment(file, number, buffer);
+			segments.put(number, segment);
+			if (buffer.capacity() < SEGMENT_HEADER || buffer.getInt(0) != MAGIC) {
+				logger.log(Level.WARNING, "Skipping journal segment " + file + " with a bad header");
+				continue;
+			}
+
+			boolean holdsEvents = false;
+			int position = SEGMENT_HEADER;
+			while (position + RECORD_HEADER <= buffer.capacity()) {
+				int length = buffer.getInt(position);
+				byte type = buffer.get(position + 8);
+				if (type == 0 || length < 0 || position + RECORD_HEADER + length > buffer.capacity()
+						|| checksum(buffer, position + 8, RECORD_HEADER - 8 + length) != buffer.getInt(position + 4)) {
+					break;
+				}
+				long sequence = buffer.getLong(position + 9);
+				if (type == EVENT) {
+					ByteBuffer payload = buffer.duplicate();
+					payload.limit(position + RECORD_HEADER + length).position(position + RECORD_HEADER);
+					payloads.put(sequence, payload.slice());
+					owners.put(sequence, segment);
+					if (!holdsEvents) {
+						segment.base = sequence;
+						eventSegments.put(sequence, segment);
+						holdsEvents = true;
+					}
+					nextSequence = Math.max(nextSequence, sequence + 1);
+				} else if (type == ACK) {
+					payloads.remove(sequence);
+				}
+				position += RECORD_HEADER + length;
+			}
+		}
+
+		List<Entry> entries = Lists.newArrayListWithCapacity(payloads.size());
+		for (Map.Entry<Long, ByteBuffer> payload : payloads.entrySet()) {
+			Segment owner = owners.get(payload.getKey());
+			owner.unacknowledged.set((int) (payload.getKey() - owner.base));
+			owner.pending++;
+			entries.add(new Entry(payload.getKey(), serializer.deserialize(payload.getValue())));
+		}
+		if (!entries.isEmpty()) {
+			logger.log(Level.INFO, entries.size() + " unacknowledged events recovered from " + directory);
+		}
+		return entries;
+	}
+
+	private void flushLoop() {
+		while (running) {
+			flushLock.lock();
+			try {
+				if (waiters == 0) {
+					flushRequested.await(flushIntervalMillis, TimeUnit.MILLISECONDS);
+				}
+			} catch (InterruptedException e) {
+				return;
+			} finally {
+				flushLock.unlock();
+			}
+			try {
+				force();
+			} catch (Throwable e) {
+				logger.log(Level.SEVERE, "Failed to flush the event journal in " + directory, e);
+			}
+		}
+	}
+
+	/**
+	 * Forces the dirty segments, then releases the callers waiting for the
+	 * records appended before the force started.
+	 */
+	private void force() {
+		long upTo;
+		List<Segment> toForce;
+		synchronized (this) {
+			if (!dirty && unflushed.isEmpty()) {
+				return;
+			}
+			upTo = lastAppended;
+			dirty = false;
+			toForce = Lists.newArrayList(unflushed);
+			unflushed.clear();
+			toForce.add(active);
+		}
+		for (Segment segment : toForce) {
+			segment.buffer.force();
+		}
+		flushLock.lock();
+		try {
+			flushedSequence = Math.max(flushedSequence, upTo);
+			flushed.signalAll();
+		} finally {
+			flushLock.unlock();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).add("directory", directory).add("segments", segments.size())
+				.toString();
+	}
+
+	/**
+	 * An event read back from the journal.
+	 */
+	public static final class Entry {
+
+		private final long sequence;
+		private final PostEvent postEvent;
+
+		Entry(long sequence, PostEvent postEvent) {
+			this.sequence = sequence;
+			this.postEvent = postEvent;
+		}
+
+		public long getSequence() {
+			return sequence;
+		}
+
+		public PostEvent getPostEvent() {
+			return postEvent;
+		}
+	}
+
+	private static final class Segment {
+
+		private final File file;
+		private final long number;
+		private final MappedByteBuffer buffer;
+
+		/** Sequence of the first event the segment holds, or would hold. */
+		private long base;
+
+		/**
+		 * Events of the segment not acknowledged yet, by sequence less
+		 * {@link #base}, and their count; guarded by the journal.
+		 */
+		private final BitSet unacknowledged = new BitSet();
+		private int pending;
+
+		Segment(File file, long number, MappedByteBuffer buffer) {
+			this.file = file;
+			this.number = number;
+			this.buffer = buffer;
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package com.hechuan.event.notice.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.hechuan.event.notice.driver.PostEvent;
+
+/**
+ * 广播事件序列化接口，日志等需要落盘或跨进程传输事件的组件通过它读写 {@link PostEvent}
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public interface EventSerializer {
+
+	/**
+	 * Writes {@code postEvent} into {@code target}, starting at its position
+	 * and advancing it past the written bytes.
+	 *
+	 * @throws java.nio.BufferOverflowException
+	 *             if {@code target} has not enough room left
+	 */
+	void serialize(PostEvent postEvent, ByteBuffer target) throws IOException;
+
+	/**
+	 * Reads back a {@link PostEvent} written by {@link #serialize}; the
+	 * remaining bytes of {@code source} are exactly the serialized form.
+	 */
+	PostEvent deserialize(ByteBuffer source) throws IOException;
+}
@@ -0,0 +1,48 @@
+package com.hechuan.event.notice.journal;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+
+import com.hechuan.event.notice.codec.ByteBufferStreams;
+import com.hechuan.event.notice.driver.PostEvent;
+import com.hechuan.event.notice.driver.Priority;
+
+/**
+ * 基于 Java 序列化的事件序列化实现：任务ID、优先级和事件对象，事件对象必须实现 {@link java.io.Serializable}
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class JavaEventSerializer implements EventSerializer {
+
+	private static final Priority[] PRIORITIES = Priority.values();
+
+	@Override
+	public void serialize(PostEvent postEvent, ByteBuffer target) throws IOException {
+		ObjectOutputStream out = new ObjectOutputStream(ByteBufferStreams.output(target));
+		out.writeUTF(postEvent.getTaskId());
+		out.writeByte(postEvent.getPriority().ordinal());
+		out.writeObject(postEvent.getEvent());
+		out.flush();
+	}
+
+	@Override
+	public PostEvent deserialize(ByteBuffer source) throws IOException {
+		ObjectInputStream in = ByteBufferStreams.objectInput(source);
+		String taskId = in.readUTF();
+		int ordinal = in.readUnsignedByte();
+		if (ordinal >= PRIORITIES.length) {
+			throw new IOException("Unknown priority " + ordinal + " of task " + taskId);
+		}
+		try {
+			return PostEvent.create().setTaskId(taskId).setPriority(PRIORITIES[ordinal]).setEvent(in.readObject());
+		} catch (ClassNotFoundException e) {
+			throw new IOException("Cannot load the event class of task " + taskId, e);
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package com.hechuan.event.notice.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+import org.springframework.stereotype.Component;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.primitives.Ints;
+import com.hechuan.event.notice.driver.EventBusMetrics;
+import com.hechuan.event.notice.driver.PriorityLaneMetrics;
+import com.hechuan.event.notice.driver.ShardedTaskEventBus;
+import com.hechuan.event.notice.driver.SubscriberMetrics;
+import com.hechuan.event.notice.driver.TaskEventBus;
+
+/**
+ * 事件总线监控端点，HTTP 路径为 /eventbus，同时由 actuator 以 JMX MBean 的形式导出；存在分片总线时一并列出各分片
+ * 
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+@Component
+public class TaskEventBusEndpoint extends AbstractEndpoint<Map<String, Object>> {
+
+	@Autowired
+	private TaskEventBus taskEventBus;
+
+	@Autowired(required = false)
+	private ShardedTaskEventBus shardedTaskEventBus;
+
+	public TaskEventBusEndpoint() {
+		super("eventbus", false);
+	}
+
+	@Override
+	public Map<String, Object> invoke() {
+		Map<String, Object> result = bus(taskEventBus.metrics());
+		if (shardedTaskEventBus != null) {
+			List<Map<String, Object>> shards = Lists.newArrayList();
+			for (EventBusMetrics shard : shardedTaskEventBus.metrics()) {
+				shards.add(bus(shard));
+			}
+			result.put("shards", shards);
+		}
+		return result;
+	}
+
+	private static Map<String, Object> bus(EventBusMetrics metrics) {
+		Map<String, Object> result = Maps.newLinkedHashMap();
+		result.put("identifier", metrics.getIdentifier());
+		result.put("posted", metrics.getPosted());
+		result.put("queued", metrics.getQueued());
+		result.put("capacity", metrics.getCapacity());
+		result.put("overflow", metrics.getOverflow());
+		result.put("dropped", metrics.getDropped());
+		result.put("rejected", metrics.getRejected());
+		result.put("pendingEvents", metrics.getPendingEvents());
+		result.put("retries", metrics.getRetries());
+		result.put("deadLetters", metrics.getDeadLetters());
+		result.put("laneDepths", Ints.asList(metrics.getLaneDepths()));
+
+		List<Map<String, Object>> priorityLanes = Lists.newArrayList();
+		for (PriorityLaneMetrics lane : metrics.getPriorityLanes()) {
+			priorityLanes.add(priorityLane(lane));
+		}
+		result.put("priorityLanes", priorityLanes);
+
+		List<Map<String, Object>> subscribers = Lists.newArrayList();
+		for (SubscriberMetrics subscriber : metrics.getSubscribers()) {
+			subscribers.add(subscriber(subscriber));
+		}
+		result.put("subscribers", subscribers);
+		return result;
+	}
+
+	private static Map<String, Object> subscriber(SubscriberMetrics metrics) {
+		Map<String, Object> subscriber = Maps.newLinkedHashMap();
+		subscriber.put("taskId", metrics.getTaskId());
+		subscriber.put("subscriber", metrics.getSubscriber());
+		subscriber.put("invocations", metrics.getInvocations());
+		subscriber.put("errors", metrics.getErrors());
+		subscriber.put("conflated", metrics.getConflated());
+		subscriber.put("queued", metrics.getQueued());
+		subscriber.put("capacity", metrics.getCapacity());
+		subscriber.put("dropped", metrics.getDropped());
+		subscriber.put("rejected", metrics.getRejected());
+
+		subscriber.put("latencyMicros", percentiles(metrics.latencySnapshot()));
+		return subscriber;
+	}
+
+	private static Map<String, Object> priorityLane(PriorityLaneMetrics metrics) {
+		Map<String, Object> lane = Maps.newLinkedHashMap();
+		lane.put("priority", metrics.getPriority());
+		lane.put("pending", metrics.getPending());
+		lane.put("dispatched", metrics.getDispatched());
+		lane.put("waitMicros", percentiles(metrics.waitSnapshot()));
+		return lane;
+	}
+
+	private static Map<String, Object> percentiles(Histogram histogram) {
+		Map<String, Object> micros = Maps.newLinkedHashMap();
+		micros.put("mean", micros(histogram.getMean()));
+		micros.put("p50", micros(histogram.getValueAtPercentile(50)));
+		micros.put("p90", micros(histogram.getValueAtPercentile(90)));
+		micros.put("p99", micros(histogram.getValueAtPercentile(99)));
+		micros.put("p999", micros(histogram.getValueAtPercentile(99.9)));
+		micros.put("max", micros(histogram.getMaxValue()));
+		return micros;
+	}
+
+	private static double micros(double nanos) {
+		return nanos / TimeUnit.MICROSECONDS.toNanos(1);
+	}
+}
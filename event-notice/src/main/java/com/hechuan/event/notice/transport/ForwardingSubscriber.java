@@ -0,0 +1,86 @@
+package com.hechuan.event.notice.transport;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Predicate;
+import com.hechuan.event.notice.driver.PostEvent;
+import com.hechuan.event.notice.driver.Subscribe;
+import com.hechuan.event.notice.driver.TaskEventBus;
+
+/**
+ * 转发监听器：注册到本地总线后，把任务ID满足条件的事件交给 {@link RemoteTransport} 发往对端
+ * <p>
+ * 监听方法订阅全部任务，按任务ID过滤；死信不转发，同一节点 {@link InboundEndpoint} 收到的事件也不再转发。
+ * 监听方法未声明可并发，事件按分发顺序交给传输层，同一任务的事件在对端保持顺序。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class ForwardingSubscriber {
+
+	private final RemoteTransport transport;
+	private final Predicate<String> taskIds;
+
+	/** Endpoint of the same bus, whose events are not forwarded back; may be {@code null}. */
+	private final InboundEndpoint inbound;
+
+	private final LongAdder forwarded = new LongAdder();
+	private final LongAdder refused = new LongAdder();
+
+	/**
+	 * Forwards the events of the task ids {@code taskIds} accepts, on a bus
+	 * that receives nothing from peers.
+	 */
+	public ForwardingSubscriber(RemoteTransport transport, Predicate<String> taskIds) {
+		this(transport, taskIds, null);
+	}
+
+	/**
+	 * Forwards the events of the task ids {@code taskIds} accepts, except
+	 * those {@code inbound} received from a peer.
+	 */
+	public ForwardingSubscriber(RemoteTransport transport, Predicate<String> taskIds, InboundEndpoint inbound) {
+		this.transport = checkNotNull(transport);
+		this.taskIds = checkNotNull(taskIds);
+		this.inbound = inbound;
+	}
+
+	@Subscribe(taskId = "*")
+	public void forward(String taskId, Object event) {
+		if (TaskEventBus.DEAD_EVENT.equals(taskId) || !taskIds.apply(taskId)
+				|| inbound != null && inbound.isReceived(event)) {
+			return;
+		}
+		if (transport.send(PostEvent.create().setTaskId(taskId).setEvent(event))) {
+			forwarded.increment();
+		} else {
+			refused.increment();
+		}
+	}
+
+	/**
+	 * @return Events handed to the transport.
+	 */
+	public long getForwarded() {
+		return forwarded.sum();
+	}
+
+	/**
+	 * @return Events the transport refused.
+	 */
+	public long getRefused() {
+		return refused.sum();
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).addValue(transport).add("forwarded", getForwarded())
+				.add("refused", getRefused()).toString();
+	}
+}
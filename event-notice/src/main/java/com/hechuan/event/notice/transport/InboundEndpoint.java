@@ -0,0 +1,90 @@
+package com.hechuan.event.notice.transport;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.MapMaker;
+import com.hechuan.event.notice.driver.PostEvent;
+import com.hechuan.event.notice.driver.TaskEventBus;
+
+/**
+ * 跨进程事件传输的接收端：把对端发来的事件重新投递到本地总线
+ * <p>
+ * 收到的事件对象按引用登记，本地的 {@link ForwardingSubscriber} 据此不再把它们转发出去，事件只跨一跳，
+ * 相互转发的节点之间不会来回传递。登记随事件对象被回收而消失。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class InboundEndpoint {
+
+	private final TaskEventBus bus;
+
+	/** Events received from a peer, by identity, weakly held. */
+	private final Set<Object> received = Collections
+			.newSetFromMap(new MapMaker().weakKeys().<Object, Boolean> makeMap());
+
+	private final LongAdder accepted = new LongAdder();
+	private final LongAdder refused = new LongAdder();
+
+	public InboundEndpoint(TaskEventBus bus) {
+		this.bus = checkNotNull(bus);
+	}
+
+	public TaskEventBus bus() {
+		return bus;
+	}
+
+	/**
+	 * Posts the events decoded from one read of a peer connection with a
+	 * single {@link TaskEventBus#postAll} call, so a bus bounded with
+	 * {@code OverflowPolicy.BLOCK} holds up the reading thread and, through
+	 * the socket buffers, the peer.
+	 *
+	 * @return the number of events the bus accepted
+	 */
+	public int receive(List<PostEvent> postEvents) {
+		for (PostEvent postEvent : postEvents) {
+			received.add(postEvent.getEvent());
+		}
+		int count = bus.postAll(postEvents);
+		accepted.add(count);
+		refused.add(postEvents.size() - count);
+		return count;
+	}
+
+	/**
+	 * Checks whether {@code event} was received from a peer.
+	 */
+	boolean isReceived(Object event) {
+		return received.contains(event);
+	}
+
+	/**
+	 * @return Received events the local bus accepted.
+	 */
+	public long getAccepted() {
+		return accepted.sum();
+	}
+
+	/**
+	 * @return Received events the local bus dropped or rejected.
+	 */
+	public long getRefused() {
+		return refused.sum();
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).addValue(bus.identifier()).add("accepted", getAccepted())
+				.add("refused", getRefused()).toString();
+	}
+}
@@ -0,0 +1,355 @@
+package com.hechuan.event.notice.transport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.Lists;
+import com.hechuan.event.notice.codec.BinaryCodec;
+import com.hechuan.event.notice.codec.BinaryEventSerializer;
+import com.hechuan.event.notice.codec.BufferPool;
+import com.hechuan.event.notice.driver.PostEvent;
+import com.hechuan.event.notice.event.TaskEvent;
+
+/**
+ * 基于 NIO 套接字的 {@link RemoteTransport}
+ * <p>
+ * {@link #send} 只把事件放入有界队列；发送线程每次取走队列中已有的全部事件（至多一批），编码为长度前缀的帧，
+ * 依次写入池化的直接缓冲，再以一次聚集写发出，批量发送时每批只有一次系统调用。帧格式为
+ * {@code [int 负载长度][负载]}，负载由 {@link BinaryEventSerializer} 编码，对端为 {@link NioTransportServer}；
+ * 两端登记的事件类型和任务ID字典必须一致，两端默认都使用 {@link #defaultSerializer()}。
+ * <p>
+ * 连接在第一批事件时建立，断开后等待 {@link #RECONNECT_DELAY_MILLIS} 再重连，期间的事件计为失败并丢弃。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class NioTransport implements RemoteTransport {
+
+	private static final Logger logger = Logger.getLogger(NioTransport.class.getName());
+
+	public static final int DEFAULT_QUEUE_CAPACITY = 64 * 1024;
+	public static final int DEFAULT_MAX_BATCH = 1024;
+	public static final int CONNECT_TIMEOUT_MILLIS = 3000;
+	public static final long RECONNECT_DELAY_MILLIS = 1000L;
+
+	/**
+	 * Largest payload of a frame, enforced by the receiving side and by the
+	 * framed bodies of {@code /event/bulk}.
+	 */
+	public static final int MAX_FRAME_LENGTH = 1024 * 1024;
+
+	/** Length prefix of a frame. */
+	public static final int FRAME_HEADER = 4;
+
+	static final int BUFFER_SIZE = 64 * 1024;
+
+	private final InetSocketAddress address;
+	private final BinaryEventSerializer serializer;
+	private final BlockingQueue<PostEvent> queue;
+	private final int maxBatch;
+	private final BufferPool pool = new BufferPool(BUFFER_SIZE, 16, true);
+
+	private final Thread sender;
+	private volatile boolean closed;
+
+	/** Connection to the peer, only touched by the sender thread. */
+	private SocketChannel channel;
+	private long reconnectAt;
+
+	private final LongAdder sent = new LongAdder();
+	private final LongAdder batches = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final LongAdder refused = new LongAdder();
+
+	/**
+	 * Creates a transport to {@code address} with a queue of
+	 * {@link #DEFAULT_QUEUE_CAPACITY} events and the
+	 * {@linkplain #defaultSerializer() default serializer}.
+	 */
+	public NioTransport(InetSocketAddress address) {
+		this(address, defaultSerializer(), DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_BATCH);
+	}
+
+	/**
+	 * @param queueCapacity
+	 *            events waiting to be sent beyond which {@link #send}
+	 *            refuses new ones
+	 * @param maxBatch
+	 *            most events sent with one write, 1 to write every event on
+	 *            its own
+	 */
+	public NioTransport(InetSocketAddress address, BinaryEventSerializer serializer, int queueCapacity,
+			int maxBatch) {
+		checkArgument(queueCapacity > 0, "queueCapacity must be positive: %s", queueCapacity);
+		checkArgument(maxBatch > 0, "maxBatch must be positive: %s", maxBatch);
+		this.address = checkNotNull(address);
+		this.serializer = checkNotNull(serializer);
+		this.queue = new ArrayBlockingQueue<PostEvent>(queueCapacity);
+		this.maxBatch = maxBatch;
+		this.sender = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				sendLoop();
+			}
+		}, "task-event-transport-" + address.getPort());
+		sender.setDaemon(true);
+		sender.start();
+	}
+
+	/**
+	 * A new serializer of the codec both ends and the framed bodies of
+	 * {@code /event/bulk} use by default: {@link TaskEvent} registered as
+	 * {@link BinaryCodec#FIRST_USER_TYPE} besides the built-in value types,
+	 * and no other class, neither by name nor through Java serialization,
+	 * since any peer able to connect can send frames.
+	 */
+	public static BinaryEventSerializer defaultSerializer() {
+		BinaryCodec codec = new BinaryCodec().register(BinaryCodec.FIRST_USER_TYPE, TaskEvent.class);
+		codec.setAllowUnregistered(false);
+		return new BinaryEventSerializer(codec);
+	}
+
+	@Override
+	public boolean send(PostEvent postEvent) {
+		checkNotNull(postEvent);
+		if (closed || !queue.offer(postEvent)) {
+			refused.increment();
+			return false;
+		}
+		return true;
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		try {
+			sender.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void sendLoop() {
+		List<PostEvent> batch = Lists.newArrayListWithCapacity(maxBatch);
+		try {
+			while (!closed || !queue.isEmpty()) {
+				PostEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				queue.drainTo(batch, maxBatch - 1);
+				write(batch);
+				batch.clear();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			disconnect();
+		}
+	}
+
+	/**
+	 * Writes {@code batch} with one gathering write, connecting first if
+	 * needed. A failed write drops the whole batch.
+	 */
+	private void write(List<PostEvent> batch) {
+		List<ByteBuffer> buffers = encode(batch);
+		try {
+			if (buffers.isEmpty()) {
+				return;
+			}
+			SocketChannel connected = connect();
+			if (connected == null) {
+				failed.add(batch.size());
+				return;
+			}
+			ByteBuffer[] frames = buffers.toArray(new ByteBuffer[buffers.size()]);
+			ByteBuffer last = frames[frames.length - 1];
+			while (last.hasRemaining()) {
+				connected.write(frames);
+			}
+			sent.add(batch.size());
+			batches.increment();
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "Lost " + batch.size() + " events sending to " + address, e);
+			failed.add(batch.size());
+			disconnect();
+			reconnectAt = System.currentTimeMillis() + RECONNECT_DELAY_MILLIS;
+		} finally {
+			for (ByteBuffer buffer : buffers) {
+				pool.release(buffer);
+			}
+		}
+	}
+
+	/**
+	 * Encodes {@code batch} as consecutive frames into pooled buffers,
+	 * returned flipped. An event that cannot be encoded is counted as failed
+	 * and removed from {@code batch}.
+	 */
+	private List<ByteBuffer> encode(List<PostEvent> batch) {
+		List<ByteBuffer> buffers = Lists.newArrayListWithCapacity(2);
+		ByteBuffer buffer = pool.acquire();
+		for (Iterator<PostEvent> it = batch.iterator(); it.hasNext();) {
+			PostEvent postEvent = it.next();
+			try {
+				if (!encodeFrame(postEvent, buffer)) {
+					if (buffer.position() > 0) {
+						buffer.flip();
+						buffers.add(buffer);
+						buffer = pool.acquire();
+					}
+					while (!encodeFrame(postEvent, buffer)) {
+						// an event larger than a pooled buffer gets one of its own
+						int capacity = buffer.capacity() * 2;
+						pool.release(buffer);
+						buffer = ByteBuffer.allocateDirect(capacity);
+					}
+				}
+			} catch (RuntimeException e) {
+				logger.log(Level.WARNING, "Cannot encode " + postEvent + " for " + address, e);
+				failed.increment();
+				it.remove();
+			}
+		}
+		if (buffer.position() > 0) {
+			buffer.flip();
+			buffers.add(buffer);
+		} else {
+			pool.release(buffer);
+		}
+		return buffers;
+	}
+
+	/**
+	 * Appends the frame of {@code postEvent} to {@code buffer}, leaving the
+	 * buffer as it was when the frame does not fit.
+	 */
+	private boolean encodeFrame(PostEvent postEvent, ByteBuffer buffer) {
+		int start = buffer.position();
+		if (buffer.remaining() <= FRAME_HEADER) {
+			return false;
+		}
+		try {
+			buffer.position(start + FRAME_HEADER);
+			serializer.serialize(postEvent, buffer);
+		} catch (BufferOverflowException e) {
+			buffer.position(start);
+			return false;
+		} catch (RuntimeException e) {
+			buffer.position(start);
+			throw e;
+		}
+		int length = buffer.position() - start - FRAME_HEADER;
+		if (length > MAX_FRAME_LENGTH) {
+			buffer.position(start);
+			throw new IllegalArgumentException("Frame of " + length + " bytes exceeds " + MAX_FRAME_LENGTH);
+		}
+		buffer.putInt(start, length);
+		return true;
+	}
+
+	private SocketChannel connect() {
+		if (channel != null) {
+			return channel;
+		}
+		if (System.currentTimeMillis() < reconnectAt) {
+			return null;
+		}
+		SocketChannel opened = null;
+		try {
+			opened = SocketChannel.open();
+			opened.socket().setTcpNoDelay(true);
+			opened.socket().connect(address, CONNECT_TIMEOUT_MILLIS);
+			channel = opened;
+			return channel;
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "Cannot connect to " + address + ", retrying in " + RECONNECT_DELAY_MILLIS
+					+ " ms", e);
+			closeQuietly(opened);
+			reconnectAt = System.currentTimeMillis() + RECONNECT_DELAY_MILLIS;
+			return null;
+		}
+	}
+
+	private void disconnect() {
+		closeQuietly(channel);
+		channel = null;
+	}
+
+	static void closeQuietly(Closeable closeable) {
+		if (closeable == null) {
+			return;
+		}
+		try {
+			closeable.close();
+		} catch (IOException e) {
+			logger.log(Level.FINE, "Failed to close " + closeable, e);
+		}
+	}
+
+	public InetSocketAddress address() {
+		return address;
+	}
+
+	/**
+	 * @return Events waiting to be sent.
+	 */
+	public int getQueued() {
+		return queue.size();
+	}
+
+	/**
+	 * @return Events written to the peer.
+	 */
+	public long getSent() {
+		return sent.sum();
+	}
+
+	/**
+	 * @return Writes to the peer, each carrying a batch of events.
+	 */
+	public long getBatches() {
+		return batches.sum();
+	}
+
+	/**
+	 * @return Events lost to connection or encoding failures.
+	 */
+	public long getFailed() {
+		return failed.sum();
+	}
+
+	/**
+	 * @return Events refused by {@link #send}.
+	 */
+	public long getRefused() {
+		return refused.sum();
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).addValue(address).add("queued", getQueued()).add("sent", getSent())
+				.add("batches", getBatches()).add("failed", getFailed()).add("refused", getRefused()).toString();
+	}
+}
@@ -0,0 +1,276 @@
+package com.hechuan.event.notice.transport;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static com.hechuan.event.notice.transport.NioTransport.FRAME_HEADER;
+import static com.hechuan.event.notice.transport.NioTransport.MAX_FRAME_LENGTH;
+import static com.hechuan.event.notice.transport.NioTransport.closeQuietly;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.Lists;
+import com.hechuan.event.notice.codec.BinaryEventSerializer;
+import com.hechuan.event.notice.codec.BufferPool;
+import com.hechuan.event.notice.driver.PostEvent;
+
+/**
+ * {@link NioTransport} 的接收端
+ * <p>
+ * 单个选择器线程接受连接并读取，每个连接一个池化的直接缓冲；每次读取后解出缓冲中的全部完整帧，一次交给
+ * {@link InboundEndpoint} 投递。总线阻塞时读取随之停顿，对端的发送由套接字缓冲反压。长度不合法的帧视为协议错误并断开连接，
+ * 无法解码的帧记录日志后跳过，投递时抛出的异常只断开当前连接。默认的编解码器与 {@link NioTransport} 的默认值相同，
+ * 只接受内置类型和 {@link com.hechuan.event.notice.event.TaskEvent}，不按类名或 Java 序列化解码；需要传输其他类型时，
+ * 两端传入登记了这些类型的同一套编解码器。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class NioTransportServer implements Closeable {
+
+	private static final Logger logger = Logger.getLogger(NioTransportServer.class.getName());
+
+	private final InetSocketAddress bindAddress;
+	private final InboundEndpoint endpoint;
+	private final BinaryEventSerializer serializer;
+	private final BufferPool pool = new BufferPool(NioTransport.BUFFER_SIZE, 16, true);
+
+	private Selector selector;
+	private ServerSocketChannel serverChannel;
+	private Thread acceptor;
+	private volatile boolean closed;
+
+	private final LongAdder received = new LongAdder();
+	private final LongAdder malformed = new LongAdder();
+
+	/**
+	 * A server decoding with {@link NioTransport#defaultSerializer()}, as the
+	 * default {@link NioTransport} encodes.
+	 */
+	public NioTransportServer(InetSocketAddress bindAddress, InboundEndpoint endpoint) {
+		this(bindAddress, endpoint, NioTransport.defaultSerializer());
+	}
+
+	public NioTransportServer(InetSocketAddress bindAddress, InboundEndpoint endpoint,
+			BinaryEventSerializer serializer) {
+		this.bindAddress = checkNotNull(bindAddress);
+		this.endpoint = checkNotNull(endpoint);
+		this.serializer = checkNotNull(serializer);
+	}
+
+	/**
+	 * Binds the listening socket and starts the selector thread.
+	 */
+	public synchronized void start() throws IOException {
+		checkState(serverChannel == null, "already started");
+		selector = Selector.open();
+		try {
+			serverChannel = ServerSocketChannel.open();
+			serverChannel.bind(bindAddress);
+			serverChannel.configureBlocking(false);
+			serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+		} catch (IOException e) {
+			closeQuietly(serverChannel);
+			closeQuietly(selector);
+			throw e;
+		}
+		acceptor = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				selectLoop();
+			}
+		}, "task-event-transport-server-" + localAddress().getPort());
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	/**
+	 * The bound address, with the actual port when bound to port 0.
+	 */
+	public InetSocketAddress localAddress() {
+		checkState(serverChannel != null, "not started");
+		return (InetSocketAddress) serverChannel.socket().getLocalSocketAddress();
+	}
+
+	/**
+	 * Stops accepting and reading, closing every connection.
+	 */
+	@Override
+	public void close() {
+		Thread thread;
+		synchronized (this) {
+			if (acceptor == null || closed) {
+				return;
+			}
+			closed = true;
+			thread = acceptor;
+		}
+		selector.wakeup();
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void selectLoop() {
+		try {
+			while (!closed) {
+				selector.select();
+				for (Iterator<SelectionKey> it = selector.selectedKeys().iterator(); it.hasNext();) {
+					SelectionKey key = it.next();
+					it.remove();
+					if (!key.isValid()) {
+						continue;
+					}
+					if (key.isAcceptable()) {
+						accept();
+					} else if (key.isReadable()) {
+						read(key);
+					}
+				}
+			}
+		} catch (IOException e) {
+			logger.log(Level.SEVERE, "Transport server on " + bindAddress + " stopped", e);
+		} finally {
+			for (SelectionKey key : selector.keys()) {
+				closeQuietly(key.channel());
+			}
+			closeQuietly(selector);
+		}
+	}
+
+	private void accept() throws IOException {
+		SocketChannel channel = serverChannel.accept();
+		if (channel == null) {
+			return;
+		}
+		channel.configureBlocking(false);
+		channel.socket().setTcpNoDelay(true);
+		channel.register(selector, SelectionKey.OP_READ, new Connection(channel, pool.acquire()));
+	}
+
+	private void read(SelectionKey key) {
+		Connection connection = (Connection) key.attachment();
+		try {
+			if (connection.channel.read(connection.buffer) < 0) {
+				connection.close(key);
+				return;
+			}
+			List<PostEvent> postEvents = connection.decode();
+			if (!postEvents.isEmpty()) {
+				received.add(postEvents.size());
+				endpoint.receive(postEvents);
+			}
+		} catch (IOException e) {
+			logger.log(Level.FINE, "Connection " + connection.channel + " failed", e);
+			connection.close(key);
+		} catch (RuntimeException e) {
+			// a bad frame length or a failing endpoint: only this connection goes
+			logger.log(Level.WARNING, "Closing " + connection.channel, e);
+			connection.close(key);
+		}
+	}
+
+	/**
+	 * @return Events decoded from every connection.
+	 */
+	public long getReceived() {
+		return received.sum();
+	}
+
+	/**
+	 * @return Frames that could not be decoded.
+	 */
+	public long getMalformed() {
+		return malformed.sum();
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).addValue(bindAddress).add("received", getReceived())
+				.add("malformed", getMalformed()).toString();
+	}
+
+	/**
+	 * A peer connection and the bytes read from it not decoded yet.
+	 */
+	private final class Connection {
+
+		final SocketChannel channel;
+		ByteBuffer buffer;
+
+		Connection(SocketChannel channel, ByteBuffer buffer) {
+			this.channel = channel;
+			this.buffer = buffer;
+		}
+
+		/**
+		 * Decodes the complete frames read so far, keeping a partial frame
+		 * at the start of the buffer, which grows when the frame would not
+		 * fit.
+		 *
+		 * @throws IllegalStateException
+		 *             on a frame length out of range
+		 */
+		List<PostEvent> decode() {
+			List<PostEvent> postEvents = Lists.newArrayList();
+			buffer.flip();
+			while (buffer.remaining() >= FRAME_HEADER) {
+				int start = buffer.position();
+				int length = buffer.getInt(start);
+				checkState(length > 0 && length <= MAX_FRAME_LENGTH, "bad frame length %s", length);
+				if (buffer.remaining() < FRAME_HEADER + length) {
+					if (FRAME_HEADER + length > buffer.capacity()) {
+						grow(FRAME_HEADER + length);
+						return postEvents;
+					}
+					break;
+				}
+				ByteBuffer frame = buffer.duplicate();
+				frame.position(start + FRAME_HEADER).limit(start + FRAME_HEADER + length);
+				buffer.position(start + FRAME_HEADER + length);
+				try {
+					postEvents.add(serializer.deserialize(frame));
+				} catch (RuntimeException e) {
+					malformed.increment();
+					logger.log(Level.WARNING, "Skipping an undecodable frame from " + channel, e);
+				}
+			}
+			buffer.compact();
+			return postEvents;
+		}
+
+		/**
+		 * Moves the unread bytes into a buffer of at least {@code capacity},
+		 * left ready for the next read.
+		 */
+		private void grow(int capacity) {
+			ByteBuffer grown = ByteBuffer.allocateDirect(Math.max(capacity, buffer.capacity() * 2));
+			grown.put(buffer);
+			pool.release(buffer);
+			buffer = grown;
+		}
+
+		void close(SelectionKey key) {
+			key.cancel();
+			closeQuietly(channel);
+			pool.release(buffer);
+		}
+	}
+}
@@ -0,0 +1,35 @@
+package com.hechuan.event.notice.transport;
+
+import java.io.Closeable;
+
+import com.hechuan.event.notice.driver.PostEvent;
+
+/**
+ * 跨进程事件传输的发送端
+ * <p>
+ * {@link ForwardingSubscriber} 把本地总线上的事件交给它发往对端，对端由 {@link InboundEndpoint} 重新投递到其本地总线。
+ * 实现必须线程安全，且 {@link #send} 不应等待网络 I/O；默认实现为 {@link NioTransport}。
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public interface RemoteTransport extends Closeable {
+
+	/**
+	 * Queues {@code postEvent} for the peer. Delivery is at most once: an
+	 * event queued while the peer is unreachable is lost.
+	 *
+	 * @return {@code false} when the transport refused the event, because it
+	 *         is closed or its queue is full
+	 */
+	boolean send(PostEvent postEvent);
+
+	/**
+	 * Sends the events already queued, then releases the connection.
+	 */
+	@Override
+	void close();
+}
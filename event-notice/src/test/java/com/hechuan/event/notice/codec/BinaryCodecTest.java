@@ -0,0 +1,294 @@
+package com.hechuan.event.notice.codec;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
+/**
+ * {@link BinaryCodec} 与 {@link Varints} 的往返测试，以及截断、损坏输入的拒绝
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class BinaryCodecTest {
+
+	private final BinaryCodec codec = new BinaryCodec();
+
+	@Test
+	public void builtInTypesRoundTrip() {
+		Object[] values = { null, "", "text", 0, Integer.MIN_VALUE, Integer.MAX_VALUE, -1L, Long.MAX_VALUE,
+				Long.MIN_VALUE, true, false, 3.25d, Double.NaN, -1.5f, (short) -300, (byte) -7, 'x', '￿' };
+		for (Object value : values) {
+			assertEquals(value, roundTrip(value));
+		}
+		assertArrayEquals(new byte[] { 1, -2, 3 }, (byte[]) roundTrip(new byte[] { 1, -2, 3 }));
+		assertArrayEquals(new byte[0], (byte[]) roundTrip(new byte[0]));
+	}
+
+	@Test
+	public void collectionsRoundTrip() {
+		List<Object> list = Lists.<Object> newArrayList("a", 1, null, Arrays.asList(2L, "b"));
+		assertEquals(list, roundTrip(list));
+
+		Map<Object, Object> map = ImmutableMap.<Object, Object> of("a", 1, 2L, Arrays.asList("c"), "d",
+				ImmutableMap.of("e", true));
+		assertEquals(map, roundTrip(map));
+	}
+
+	@Test
+	public void registeredValueIsWrittenAsItsTypeId() {
+		codec.register(BinaryCodec.FIRST_USER_TYPE, Pojo.class);
+		ByteBuffer buffer = encode(Pojo.sample());
+
+		assertEquals(BinaryCodec.FIRST_USER_TYPE, buffer.get(0));
+		assertEquals(Pojo.sample(), codec.readValue(buffer));
+		assertEquals(0, buffer.remaining());
+	}
+
+	@Test
+	public void registeredCodecRoundTrip() {
+		codec.register(BinaryCodec.FIRST_USER_TYPE + 1, BigDecimal.class, new Codec<BigDecimal>() {
+
+			@Override
+			public void encode(BinaryCodec codec, BigDecimal value, ByteBuffer target) {
+				Varints.writeString(target, value.toPlainString());
+			}
+
+			@Override
+			public BigDecimal decode(BinaryCodec codec, ByteBuffer source) {
+				return new BigDecimal(Varints.readString(source));
+			}
+		});
+
+		assertEquals(new BigDecimal("-12.50"), roundTrip(new BigDecimal("-12.50")));
+	}
+
+	@Test
+	public void unregisteredValuesRoundTripByName() {
+		assertEquals(Pojo.sample(), roundTrip(Pojo.sample()));
+		assertEquals(Color.BLUE, roundTrip(Color.BLUE));
+	}
+
+	@Test
+	public void unregisteredValueWithoutConstructorIsSerialized() {
+		assertEquals(new Serialized("order-1"), roundTrip(new Serialized("order-1")));
+	}
+
+	@Test
+	public void taskIdsRoundTripThroughTheDictionary() {
+		codec.registerTaskId("known");
+		ByteBuffer buffer = ByteBuffer.allocate(64);
+		codec.writeTaskId("known", buffer);
+		assertEquals(1, buffer.position());
+		codec.writeTaskId("unknown", buffer);
+		buffer.flip();
+
+		assertEquals("known", codec.readTaskId(buffer));
+		assertEquals("unknown", codec.readTaskId(buffer));
+	}
+
+	@Test
+	public void stringsRoundTrip() {
+		String[] values = { null, "", "ascii", "héllo", "中文", "😀 emoji 𝄞",
+				"unpaired \ud800 high", "unpaired \udc00 low" };
+		for (String value : values) {
+			ByteBuffer buffer = ByteBuffer.allocate(64);
+			Varints.writeString(buffer, value);
+			buffer.flip();
+			assertEquals(value, Varints.readString(buffer));
+			assertEquals(0, buffer.remaining());
+		}
+	}
+
+	@Test
+	public void truncatedValuesAreRejected() {
+		Object value = Arrays.asList("héllo 😀", 3.5d, Pojo.sample(), new Serialized("order-1"),
+				ImmutableMap.of("k", new byte[] { 1, 2 }));
+		ByteBuffer encoded = encode(value);
+		for (int length = 0; length < encoded.limit(); length++) {
+			ByteBuffer truncated = encoded.duplicate();
+			truncated.limit(length);
+			try {
+				codec.readValue(truncated);
+				fail("read a value out of " + length + " of " + encoded.limit() + " bytes");
+			} catch (IllegalArgumentException expected) {
+			}
+		}
+	}
+
+	@Test
+	public void stringWithTruncatedSequenceIsRejected() {
+		// one byte announced, holding the lead byte of a 4-byte sequence
+		assertMalformed(new byte[] { 2, (byte) 0xf0, 'a', 'b', 'c' });
+		assertMalformed(new byte[] { 3, 'a', (byte) 0xe4, (byte) 0xb8 });
+	}
+
+	@Test
+	public void stringWithInvalidBytesIsRejected() {
+		assertMalformed(new byte[] { 2, (byte) 0x80 });
+		assertMalformed(new byte[] { 2, (byte) 0xff });
+		assertMalformed(new byte[] { 3, (byte) 0xc3, 'a' });
+		assertMalformed(new byte[] { 5, (byte) 0xf7, (byte) 0xbf, (byte) 0xbf, (byte) 0xbf });
+		assertMalformed(new byte[] { 10, 'a' });
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unknownTypeIdIsRejected() {
+		codec.readValue(ByteBuffer.wrap(new byte[] { (byte) BinaryCodec.FIRST_USER_TYPE }));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unknownEnumOrdinalIsRejected() {
+		ByteBuffer buffer = encode(Color.RED);
+		buffer.put(buffer.limit() - 1, (byte) Color.values().length);
+		codec.readValue(buffer);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void oversizedLengthIsRejected() {
+		ByteBuffer buffer = ByteBuffer.allocate(16);
+		Varints.writeUnsignedInt(buffer, 13);
+		Varints.writeUnsignedInt(buffer, Integer.MAX_VALUE);
+		buffer.flip();
+		codec.readValue(buffer);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void deepNestingIsRejected() {
+		ByteBuffer buffer = ByteBuffer.allocate(2 * (BinaryCodec.MAX_DEPTH + 2));
+		for (int i = 0; i <= BinaryCodec.MAX_DEPTH; i++) {
+			buffer.put((byte) 13).put((byte) 1);
+		}
+		buffer.put((byte) 0).flip();
+		codec.readValue(buffer);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unregisteredValueIsRejectedWhenDisallowed() {
+		ByteBuffer buffer = encode(Pojo.sample());
+		codec.setAllowUnregistered(false);
+		codec.readValue(buffer);
+	}
+
+	@Test
+	public void corruptValuesReadOrFailWithIllegalArgument() {
+		codec.register(BinaryCodec.FIRST_USER_TYPE, Pojo.class);
+		ByteBuffer encoded = encode(Arrays.asList("héllo 😀", Pojo.sample(), Color.GREEN,
+				ImmutableMap.of("k", Arrays.asList(1L, 2.5f))));
+		Random random = new Random(20261017L);
+		for (int i = 0; i < 10000; i++) {
+			ByteBuffer corrupt = ByteBuffer.allocate(encoded.limit());
+			corrupt.put(encoded.duplicate()).flip();
+			corrupt.put(random.nextInt(corrupt.limit()), (byte) random.nextInt());
+			try {
+				codec.readValue(corrupt);
+			} catch (IllegalArgumentException expected) {
+			}
+		}
+	}
+
+	private Object roundTrip(Object value) {
+		ByteBuffer buffer = encode(value);
+		Object copy = codec.readValue(buffer);
+		assertEquals(0, buffer.remaining());
+		return copy;
+	}
+
+	private ByteBuffer encode(Object value) {
+		ByteBuffer buffer = ByteBuffer.allocate(4096);
+		codec.writeValue(value, buffer);
+		buffer.flip();
+		return buffer;
+	}
+
+	private static void assertMalformed(byte[] bytes) {
+		try {
+			Varints.readString(ByteBuffer.wrap(bytes));
+			fail("read a string out of " + Arrays.toString(bytes));
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+
+	enum Color {
+		RED, GREEN, BLUE
+	}
+
+	static class Pojo {
+
+		private long id;
+		private String name;
+		private int quantity;
+		private double amount;
+		private boolean express;
+		private char grade;
+		private Color color;
+		private Object extra;
+
+		static Pojo sample() {
+			Pojo pojo = new Pojo();
+			pojo.id = 20261017000001L;
+			pojo.name = "中文 😀";
+			pojo.quantity = -3;
+			pojo.amount = 299.5;
+			pojo.express = true;
+			pojo.grade = 'A';
+			pojo.color = Color.GREEN;
+			pojo.extra = Arrays.asList("x", 1);
+			return pojo;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Pojo)) {
+				return false;
+			}
+			Pojo other = (Pojo) obj;
+			return id == other.id && Objects.equals(name, other.name) && quantity == other.quantity
+					&& amount == other.amount && express == other.express && grade == other.grade
+					&& color == other.color && Objects.equals(extra, other.extra);
+		}
+
+		@Override
+		public int hashCode() {
+			return (int) id;
+		}
+	}
+
+	static class Serialized implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String orderId;
+
+		Serialized(String orderId) {
+			this.orderId = orderId;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Serialized && orderId.equals(((Serialized) obj).orderId);
+		}
+
+		@Override
+		public int hashCode() {
+			return orderId.hashCode();
+		}
+	}
+}
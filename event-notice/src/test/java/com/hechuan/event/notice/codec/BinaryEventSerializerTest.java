@@ -0,0 +1,70 @@
+package com.hechuan.event.notice.codec;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import com.hechuan.event.notice.driver.PostEvent;
+import com.hechuan.event.notice.driver.Priority;
+
+/**
+ * {@link BinaryEventSerializer} 的往返测试
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class BinaryEventSerializerTest {
+
+	private final BinaryEventSerializer serializer = new BinaryEventSerializer();
+
+	@Test
+	public void deserializeRestoresEveryPriority() {
+		for (Priority priority : Priority.values()) {
+			ByteBuffer buffer = ByteBuffer.allocate(256);
+			serializer.serialize(PostEvent.create().setTaskId("task").setPriority(priority).setEvent("payload"), buffer);
+			buffer.flip();
+
+			PostEvent copy = serializer.deserialize(buffer);
+
+			assertEquals("task", copy.getTaskId());
+			assertEquals(priority, copy.getPriority());
+			assertEquals("payload", copy.getEvent());
+			assertEquals(0, buffer.remaining());
+		}
+	}
+
+	@Test
+	public void decodeRestoresEveryPriority() {
+		BufferPool pool = new BufferPool(64, 4, false);
+		for (Priority priority : Priority.values()) {
+			ByteBuffer buffer = serializer.encode(PostEvent.create().setTaskId("task").setPriority(priority).setEvent(42L), pool);
+
+			PostEvent copy = serializer.decode(buffer);
+			try {
+				assertEquals("task", copy.getTaskId());
+				assertEquals(priority, copy.getPriority());
+				assertEquals(42L, copy.getEvent());
+			} finally {
+				copy.release();
+				pool.release(buffer);
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void deserializeRejectsUnknownPriority() {
+		BinaryCodec codec = new BinaryCodec();
+		ByteBuffer buffer = ByteBuffer.allocate(256);
+		codec.writeTaskId("task", buffer);
+		buffer.put((byte) Priority.values().length);
+		codec.writeValue("payload", buffer);
+		buffer.flip();
+
+		new BinaryEventSerializer(codec).deserialize(buffer);
+	}
+}
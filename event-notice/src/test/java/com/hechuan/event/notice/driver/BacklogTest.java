@@ -0,0 +1,49 @@
+package com.hechuan.event.notice.driver;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * 积压计数：无上限时的计数在设置上限后仍然准确
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class BacklogTest {
+
+	@Test
+	public void unboundedUnitsCountOnceBounded() {
+		Backlog backlog = new Backlog();
+		assertEquals(PostResult.ACCEPTED, backlog.admit(3));
+		backlog.acquire(1);
+		assertEquals(4, backlog.occupied());
+
+		backlog.setLimit(5, OverflowPolicy.REJECT, 0L);
+		assertEquals(PostResult.ACCEPTED, backlog.admit(1));
+		assertEquals(PostResult.REJECTED, backlog.admit(1));
+
+		// units taken while unbounded return to the bounded count
+		backlog.release(4);
+		assertEquals(1, backlog.occupied());
+		assertEquals(PostResult.ACCEPTED, backlog.admit(4));
+		assertEquals(PostResult.REJECTED, backlog.admit(1));
+	}
+
+	@Test
+	public void boundedUnitsReturnWhileUnbounded() {
+		Backlog backlog = new Backlog(2, OverflowPolicy.REJECT, 0L);
+		assertEquals(PostResult.ACCEPTED, backlog.admit(2));
+
+		backlog.setLimit(Backlog.UNBOUNDED, OverflowPolicy.REJECT, 0L);
+		backlog.release(2);
+		assertEquals(0, backlog.occupied());
+
+		backlog.setLimit(2, OverflowPolicy.REJECT, 0L);
+		assertEquals(PostResult.ACCEPTED, backlog.admit(2));
+		assertEquals(PostResult.REJECTED, backlog.admit(1));
+	}
+}
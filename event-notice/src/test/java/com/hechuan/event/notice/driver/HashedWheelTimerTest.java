@@ -0,0 +1,106 @@
+package com.hechuan.event.notice.driver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * 分层时间轮：跨层级边界的任务逐层下放后按时到期，取消的任务不再执行
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class HashedWheelTimerTest {
+
+	private static final long TICK_NANOS = TimeUnit.MICROSECONDS.toNanos(20L);
+
+	/** Lateness tolerated for a loaded machine, well below a turn of level 1. */
+	private static final long SLACK_NANOS = TimeUnit.MILLISECONDS.toNanos(500L);
+
+	private final HashedWheelTimer timer = new HashedWheelTimer(TICK_NANOS, TimeUnit.NANOSECONDS,
+			new ThreadFactoryBuilder().setNameFormat("wheel-timer-test").setDaemon(true).build());
+
+	@Test
+	public void timeoutsCascadeAcrossLevelBoundaries() throws InterruptedException {
+		// level 0 spans 256 ticks, level 1 65536
+		long[] delayTicks = { 1, 255, 256, 257, 1000, 65535, 65536, 65537, 70000 };
+		Probe[] probes = new Probe[delayTicks.length];
+		for (int i = 0; i < delayTicks.length; i++) {
+			probes[i] = new Probe(delayTicks[i] * TICK_NANOS);
+			timer.schedule(probes[i], probes[i].delayNanos, TimeUnit.NANOSECONDS);
+		}
+
+		for (Probe probe : probes) {
+			assertTrue(probe + " did not expire", probe.ran.await(10L, TimeUnit.SECONDS));
+			assertTrue(probe.isExpired());
+			assertTrue(probe + " expired early", probe.elapsed() >= probe.delayNanos);
+			assertTrue(probe + " expired late", probe.elapsed() < probe.delayNanos + SLACK_NANOS);
+		}
+	}
+
+	@Test
+	public void cancelledTimeoutsNeverRun() throws InterruptedException {
+		Probe beforeTransfer = new Probe(TimeUnit.MILLISECONDS.toNanos(50L));
+		Probe inUpperLevel = new Probe(TimeUnit.MILLISECONDS.toNanos(50L));
+		Probe sameSlot = new Probe(TimeUnit.MILLISECONDS.toNanos(50L));
+		timer.schedule(beforeTransfer, beforeTransfer.delayNanos, TimeUnit.NANOSECONDS);
+		assertTrue(beforeTransfer.cancel());
+
+		timer.schedule(inUpperLevel, inUpperLevel.delayNanos, TimeUnit.NANOSECONDS);
+		timer.schedule(sameSlot, sameSlot.delayNanos, TimeUnit.NANOSECONDS);
+		// lets the worker link them into the wheel
+		Thread.sleep(5L);
+		assertTrue(inUpperLevel.cancel());
+		assertFalse(inUpperLevel.cancel());
+
+		assertTrue(sameSlot.ran.await(10L, TimeUnit.SECONDS));
+		assertFalse(sameSlot.cancel());
+		Thread.sleep(20L);
+		assertTrue(beforeTransfer.isCancelled());
+		assertTrue(inUpperLevel.isCancelled());
+		assertEquals(1L, beforeTransfer.ran.getCount());
+		assertEquals(1L, inUpperLevel.ran.getCount());
+	}
+
+	/**
+	 * Records when it runs, relative to when it was created.
+	 */
+	static final class Probe extends HashedWheelTimer.Timeout {
+
+		final long delayNanos;
+		final long createdAt = System.nanoTime();
+		final AtomicLong ranAt = new AtomicLong();
+		final CountDownLatch ran = new CountDownLatch(1);
+
+		Probe(long delayNanos) {
+			super(null);
+			this.delayNanos = delayNanos;
+		}
+
+		@Override
+		void run() {
+			ranAt.set(System.nanoTime());
+			ran.countDown();
+		}
+
+		long elapsed() {
+			return ranAt.get() - createdAt;
+		}
+
+		@Override
+		public String toString() {
+			return "timeout after " + delayNanos / TICK_NANOS + " ticks";
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package com.hechuan.event.notice.driver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+/**
+ * 邮箱在多个投递线程争用下只由一个线程排空，且保持每个投递线程的入队顺序
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class MailboxTest {
+
+	private static final int PRODUCERS = 4;
+	private static final int TASKS_PER_PRODUCER = 20000;
+
+	private final Mailbox mailbox = new Mailbox();
+
+	@Test
+	public void onlyTheFirstProducerDrains() {
+		final List<String> ran = Lists.newArrayList();
+		assertTrue(mailbox.enqueue(record(ran, "a")));
+		assertFalse(mailbox.enqueue(record(ran, "b")));
+
+		mailbox.drain();
+		assertEquals(Lists.newArrayList("a", "b"), ran);
+		assertTrue(mailbox.enqueue(record(ran, "c")));
+	}
+
+	@Test
+	public void contendedProducersAreDrainedOneAtATimeInOrder() throws InterruptedException {
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicBoolean overlapped = new AtomicBoolean();
+		// only written by the draining thread, which hands over through the mailbox state
+		final int[] lastSeen = new int[PRODUCERS];
+		final int[] outOfOrder = new int[1];
+		final AtomicInteger ran = new AtomicInteger();
+
+		final CountDownLatch start = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(PRODUCERS);
+		for (int p = 0; p < PRODUCERS; p++) {
+			final int producer = p;
+			lastSeen[producer] = -1;
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+						for (int i = 0; i < TASKS_PER_PRODUCER; i++) {
+							final int sequence = i;
+							boolean drain = mailbox.enqueue(new Runnable() {
+								@Override
+								public void run() {
+									if (running.incrementAndGet() != 1) {
+										overlapped.set(true);
+									}
+									if (lastSeen[producer] != sequence - 1) {
+										outOfOrder[0]++;
+									}
+									lastSeen[producer] = sequence;
+									ran.incrementAndGet();
+									running.decrementAndGet();
+								}
+							});
+							if (drain) {
+								mailbox.drain();
+							}
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					} finally {
+						done.countDown();
+					}
+				}
+			}).start();
+		}
+
+		start.countDown();
+		assertTrue(done.await(30L, TimeUnit.SECONDS));
+		assertFalse("two threads drained at once", overlapped.get());
+		assertEquals(PRODUCERS * TASKS_PER_PRODUCER, ran.get());
+		assertEquals(0, outOfOrder[0]);
+		for (int last : lastSeen) {
+			assertEquals(TASKS_PER_PRODUCER - 1, last);
+		}
+	}
+
+	private static Runnable record(final List<String> ran, final String name) {
+		return new Runnable() {
+			@Override
+			public void run() {
+				ran.add(name);
+			}
+		};
+	}
+}
@@ -0,0 +1,187 @@
+package com.hechuan.event.notice.driver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.eventbus.AllowConcurrentEvents;
+
+/**
+ * 总线积压已满时各溢出策略对新事件的处理
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class OverflowPolicyTest {
+
+	private final QueueingExecutor executor = new QueueingExecutor();
+	private final TaskEventBus bus = new TaskEventBus("overflow", executor);
+	private final Listener listener = new Listener();
+
+	@Test
+	public void blockGivesUpAfterTheTimeout() {
+		fill(OverflowPolicy.BLOCK, 20L);
+
+		long start = System.nanoTime();
+		assertEquals(PostResult.TIMED_OUT, post("c"));
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20L));
+
+		executor.runAll();
+		assertEquals(ImmutableList.of("a", "b"), listener.received);
+		assertEquals(1L, bus.backlog().rejected());
+		assertEquals(1, bus.deadLetters().size());
+	}
+
+	@Test
+	public void blockResumesOnceRoomIsReturned() throws InterruptedException {
+		fill(OverflowPolicy.BLOCK, TimeUnit.SECONDS.toMillis(10L));
+		Thread releaser = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					// lets the post below block first
+					Thread.sleep(20L);
+				} catch (InterruptedException e) {
+					return;
+				}
+				executor.runNext();
+			}
+		});
+		releaser.start();
+
+		assertEquals(PostResult.ACCEPTED, post("c"));
+		releaser.join();
+
+		executor.runAll();
+		assertEquals(ImmutableList.of("a", "b", "c"), listener.received);
+		assertEquals(0L, bus.backlog().rejected());
+	}
+
+	@Test
+	public void dropNewestDiscardsTheNewEvent() {
+		fill(OverflowPolicy.DROP_NEWEST, 0L);
+
+		assertEquals(PostResult.DROPPED, post("c"));
+
+		executor.runAll();
+		assertEquals(ImmutableList.of("a", "b"), listener.received);
+		assertEquals(1L, bus.backlog().dropped());
+		assertEquals(0, bus.deadLetters().size());
+	}
+
+	@Test
+	public void dropOldestMakesRoomForTheNewEvent() {
+		fill(OverflowPolicy.DROP_OLDEST, 0L);
+
+		assertEquals(PostResult.ACCEPTED, post("c"));
+		assertEquals(PostResult.ACCEPTED, post("d"));
+
+		executor.runAll();
+		assertEquals(ImmutableList.of("c", "d"), listener.received);
+		assertEquals(2L, bus.backlog().dropped());
+		assertEquals(0, bus.backlog().occupied());
+	}
+
+	@Test
+	public void dropOldestSkipsStartedDeliveries() {
+		fill(OverflowPolicy.DROP_OLDEST, 0L);
+		executor.runNext();
+		assertEquals(PostResult.ACCEPTED, post("c"));
+
+		assertEquals(PostResult.ACCEPTED, post("d"));
+
+		executor.runAll();
+		assertEquals(ImmutableList.of("a", "c", "d"), listener.received);
+		assertEquals(1L, bus.backlog().dropped());
+	}
+
+	@Test
+	public void rejectRefusesTheNewEvent() {
+		fill(OverflowPolicy.REJECT, 0L);
+
+		assertEquals(PostResult.REJECTED, post("c"));
+
+		executor.runAll();
+		assertEquals(ImmutableList.of("a", "b"), listener.received);
+		assertEquals(1L, bus.backlog().rejected());
+		assertEquals(1, bus.deadLetters().size());
+	}
+
+	@Test
+	public void callerRunsDeliversOnThePostingThread() {
+		fill(OverflowPolicy.CALLER_RUNS, 0L);
+
+		assertEquals(PostResult.RAN_ON_CALLER, post("c"));
+		assertEquals(ImmutableList.of("c"), listener.received);
+		assertEquals(Thread.currentThread(), listener.lastThread);
+
+		executor.runAll();
+		assertEquals(ImmutableList.of("c", "a", "b"), listener.received);
+		assertEquals(0, bus.backlog().occupied());
+	}
+
+	/**
+	 * Bounds the bus to two deliveries and posts two events the executor
+	 * holds until the test runs them.
+	 */
+	private void fill(OverflowPolicy overflow, long blockTimeoutMillis) {
+		bus.setCapacity(2, overflow, blockTimeoutMillis, TimeUnit.MILLISECONDS);
+		bus.register(listener);
+		assertEquals(PostResult.ACCEPTED, post("a"));
+		assertEquals(PostResult.ACCEPTED, post("b"));
+		assertEquals(2, bus.backlog().occupied());
+	}
+
+	private PostResult post(String event) {
+		return bus.post(PostEvent.create().setTaskId("overflow").setEvent(event));
+	}
+
+	/**
+	 * Holds every task until the test runs it.
+	 */
+	static final class QueueingExecutor implements Executor {
+
+		private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+
+		@Override
+		public void execute(Runnable command) {
+			tasks.add(command);
+		}
+
+		void runNext() {
+			tasks.remove().run();
+		}
+
+		void runAll() {
+			Runnable task;
+			while ((task = tasks.poll()) != null) {
+				task.run();
+			}
+		}
+	}
+
+	public static class Listener {
+
+		final List<String> received = new CopyOnWriteArrayList<String>();
+		volatile Thread lastThread;
+
+		@Subscribe(taskId = "overflow")
+		@AllowConcurrentEvents
+		public void on(String event) {
+			received.add(event);
+			lastThread = Thread.currentThread();
+		}
+	}
+}
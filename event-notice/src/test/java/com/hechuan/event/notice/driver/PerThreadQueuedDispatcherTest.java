@@ -0,0 +1,87 @@
+package com.hechuan.event.notice.driver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.eventbus.AllowConcurrentEvents;
+
+/**
+ * 按线程排队的分发器：分发失败时排在其后的事件照常投递
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class PerThreadQueuedDispatcherTest {
+
+	@Test
+	public void eventsQueuedBehindAFailedDispatchAreDelivered() {
+		RejectingExecutor executor = new RejectingExecutor();
+		TaskEventBus bus = new TaskEventBus("queued", executor);
+		bus.setCapacity(16, OverflowPolicy.REJECT, 0L, TimeUnit.MILLISECONDS);
+		Listener listener = new Listener(bus, executor);
+		bus.register(listener);
+
+		try {
+			bus.post(PostEvent.create().setTaskId("queue").setEvent("outer"));
+			fail("the rejected dispatch was not reported");
+		} catch (RejectedExecutionException expected) {
+		}
+
+		assertEquals(ImmutableList.of("outer", "after-1", "after-2"), listener.received);
+		assertEquals(0, bus.backlog().occupied());
+	}
+
+	/**
+	 * Runs tasks on the calling thread, refusing the next one once armed.
+	 */
+	static final class RejectingExecutor implements Executor {
+
+		boolean rejectNext;
+
+		@Override
+		public void execute(Runnable command) {
+			if (rejectNext) {
+				rejectNext = false;
+				throw new RejectedExecutionException("full");
+			}
+			command.run();
+		}
+	}
+
+	public static class Listener {
+
+		private final TaskEventBus bus;
+		private final RejectingExecutor executor;
+		final List<String> received = Lists.newArrayList();
+
+		Listener(TaskEventBus bus, RejectingExecutor executor) {
+			this.bus = bus;
+			this.executor = executor;
+		}
+
+		@Subscribe(taskId = "queue")
+		@AllowConcurrentEvents
+		public void on(String event) {
+			received.add(event);
+			if ("outer".equals(event)) {
+				// queued on this thread until the outer dispatch returns
+				executor.rejectNext = true;
+				bus.post(PostEvent.create().setTaskId("queue").setEvent("rejected"));
+				bus.post(PostEvent.create().setTaskId("queue").setEvent("after-1"));
+				bus.post(PostEvent.create().setTaskId("queue").setEvent("after-2"));
+			}
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.hechuan.event.notice.driver;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.junit.Test;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+
+/**
+ * 同步投递回收池事件时的堆分配：分发路径不应逐事件分配
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class PostAllocationTest {
+
+	private static final String TASK_ID = "alloc";
+
+	/** Heap a pooled post may allocate on average, in bytes. */
+	private static final double MAX_POOLED_BYTES_PER_POST = 8;
+
+	private static final int WARMUP_POSTS = 500000;
+	private static final int MEASURED_POSTS = 200000;
+
+	@Test
+	public void pooledPostDoesNotAllocate() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) threads;
+		assumeTrue(allocation.isThreadAllocatedMemorySupported() && allocation.isThreadAllocatedMemoryEnabled());
+
+		TaskEventBus bus = new TaskEventBus("allocation");
+		Listener listener = new Listener();
+		bus.register(listener);
+		Integer event = 42;
+
+		// lets the JIT compile the post path before measuring
+		post(bus, event, WARMUP_POSTS);
+		long threadId = Thread.currentThread().getId();
+		long before = allocation.getThreadAllocatedBytes(threadId);
+		post(bus, event, MEASURED_POSTS);
+		double bytesPerPost = (double) (allocation.getThreadAllocatedBytes(threadId) - before) / MEASURED_POSTS;
+
+		assertTrue("received " + listener.received, listener.received == WARMUP_POSTS + MEASURED_POSTS);
+		assertTrue("pooled post allocated " + bytesPerPost + " bytes", bytesPerPost <= MAX_POOLED_BYTES_PER_POST);
+	}
+
+	private static void post(TaskEventBus bus, Integer event, int posts) {
+		for (int i = 0; i < posts; i++) {
+			PostEvent postEvent = PostEvent.obtain().setTaskId(TASK_ID).setEvent(event);
+			bus.post(postEvent);
+			postEvent.release();
+		}
+	}
+
+	public static class Listener {
+
+		long received;
+
+		@Subscribe(taskId = TASK_ID)
+		@AllowConcurrentEvents
+		public void on(Integer event) {
+			received++;
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package com.hechuan.event.notice.driver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+/**
+ * 环形缓冲分发器：按发布顺序投递，缓冲写满时等待的投递线程在停止后失败返回
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class RingBufferDispatcherTest {
+
+	private final RingBufferDispatcher dispatcher = new RingBufferDispatcher(2, 1, 1, WaitStrategy.blocking());
+	private final TaskEventBus bus = new TaskEventBus("ring", dispatcher);
+
+	@After
+	public void tearDown() {
+		dispatcher.halt();
+	}
+
+	@Test
+	public void deliversInPublicationOrderThroughAWrappingBuffer() throws InterruptedException {
+		Listener listener = new Listener(1000);
+		bus.register(listener);
+
+		List<Integer> posted = Lists.newArrayList();
+		for (int i = 0; i < 1000; i++) {
+			posted.add(i);
+			bus.post(PostEvent.create().setTaskId("ring").setEvent(i));
+		}
+
+		assertTrue(listener.delivered.await(10L, TimeUnit.SECONDS));
+		assertEquals(posted, listener.received);
+	}
+
+	@Test
+	public void producerWaitingOnAFullBufferFailsOnceHalted() throws InterruptedException {
+		Listener listener = new Listener(1);
+		bus.register(listener);
+		// the consumer holds the slot of the first event, the second fills the buffer
+		bus.post(PostEvent.create().setTaskId("ring").setEvent(-1));
+		assertTrue(listener.started.await(10L, TimeUnit.SECONDS));
+		bus.post(PostEvent.create().setTaskId("ring").setEvent(1));
+
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		Thread producer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					bus.post(PostEvent.create().setTaskId("ring").setEvent(2));
+				} catch (Throwable e) {
+					failure.set(e);
+				}
+			}
+		});
+		producer.start();
+		waitUntilParked(producer);
+
+		dispatcher.halt();
+		producer.join(TimeUnit.SECONDS.toMillis(10L));
+
+		assertEquals(Thread.State.TERMINATED, producer.getState());
+		assertTrue(String.valueOf(failure.get()), failure.get() instanceof IllegalStateException);
+		listener.release.countDown();
+	}
+
+	private static void waitUntilParked(Thread thread) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+		while (thread.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+			Thread.sleep(1L);
+		}
+		assertEquals(Thread.State.TIMED_WAITING, thread.getState());
+	}
+
+	public static class Listener {
+
+		final List<Integer> received = new CopyOnWriteArrayList<Integer>();
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final CountDownLatch delivered;
+
+		Listener(int expected) {
+			this.delivered = new CountDownLatch(expected);
+		}
+
+		@Subscribe(taskId = "ring")
+		public void on(Integer event) throws InterruptedException {
+			if (event < 0) {
+				// holds the consumer thread until the test is done
+				started.countDown();
+				release.await(10L, TimeUnit.SECONDS);
+				return;
+			}
+			received.add(event);
+			delivered.countDown();
+		}
+	}
+}
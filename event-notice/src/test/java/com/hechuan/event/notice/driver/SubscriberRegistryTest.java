@@ -0,0 +1,55 @@
+package com.hechuan.event.notice.driver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+/**
+ * 注销只移除该监听对象上的监听方法
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class SubscriberRegistryTest {
+
+	private final TaskEventBus bus = new TaskEventBus("registry");
+
+	@Test
+	public void unregisterKeepsOtherListenersOfTheSameClass() {
+		Listener first = new Listener();
+		Listener second = new Listener();
+		bus.register(first);
+		bus.register(second);
+
+		bus.unregister(first);
+
+		Subscriber[] remaining = bus.registry().getSubscribers("registry", String.class);
+		assertEquals(1, remaining.length);
+		assertSame(second, remaining[0].target);
+		assertSame(second, bus.registry().getSubscribers("registry", Integer.class)[0].target);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unregisterRejectsAListenerNotRegistered() {
+		Listener listener = new Listener();
+		bus.register(listener);
+		bus.unregister(listener);
+
+		bus.unregister(listener);
+	}
+
+	public static class Listener {
+
+		@Subscribe(taskId = "registry")
+		public void on(String event) {
+		}
+
+		@Subscribe(taskId = "registry")
+		public void onNumber(Integer event) {
+		}
+	}
+}
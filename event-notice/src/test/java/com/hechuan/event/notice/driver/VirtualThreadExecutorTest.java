@@ -0,0 +1,45 @@
+package com.hechuan.event.notice.driver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * 虚拟线程执行器只在支持虚拟线程的 JDK 上创建
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class VirtualThreadExecutorTest {
+
+	@Test
+	public void createdOnlyWhereSupported() throws InterruptedException {
+		Optional<VirtualThreadExecutor> executor = VirtualThreadExecutor.create(2);
+		assertEquals(VirtualThreadExecutor.isSupported(), executor.isPresent());
+		if (!executor.isPresent()) {
+			return;
+		}
+		final CountDownLatch ran = new CountDownLatch(1);
+		executor.get().execute(new Runnable() {
+			@Override
+			public void run() {
+				ran.countDown();
+			}
+		});
+		assertTrue(ran.await(10L, TimeUnit.SECONDS));
+		assertEquals(2, executor.get().maxConcurrencyPerSubscriber());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeConcurrencyIsRejected() {
+		VirtualThreadExecutor.create(-1);
+	}
+}
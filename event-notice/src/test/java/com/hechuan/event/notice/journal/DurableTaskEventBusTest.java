@@ -0,0 +1,96 @@
+package com.hechuan.event.notice.journal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.hechuan.event.notice.codec.BinaryEventSerializer;
+import com.hechuan.event.notice.driver.PostEvent;
+import com.hechuan.event.notice.driver.Subscribe;
+import com.hechuan.event.notice.driver.SubscriberResult;
+
+/**
+ * {@link DurableTaskEventBus} 的确认测试
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class DurableTaskEventBusTest {
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private EventJournal journal;
+
+	@After
+	public void tearDown() {
+		if (journal != null) {
+			journal.close();
+		}
+	}
+
+	@Test
+	public void handledEventsAreAcknowledged() throws Exception {
+		File directory = folder.getRoot();
+		journal = open(directory);
+		DurableTaskEventBus bus = new DurableTaskEventBus("durable", journal);
+		bus.register(new Listener());
+
+		bus.post(PostEvent.create().setTaskId("order").setEvent("ok"));
+		List<SubscriberResult> results = bus.postAsync(PostEvent.create().setTaskId("order").setEvent("ok")).get();
+		assertTrue(results.get(0).isSuccess());
+
+		assertEquals(0, reopen(directory).size());
+	}
+
+	@Test
+	public void failedEventsAreAcknowledgedOnceDeadLettered() throws Exception {
+		File directory = folder.getRoot();
+		journal = open(directory);
+		DurableTaskEventBus bus = new DurableTaskEventBus("durable", journal);
+		bus.register(new Listener());
+
+		for (int i = 0; i < 60; i++) {
+			bus.post(PostEvent.create().setTaskId("order").setEvent("fail"));
+		}
+		List<SubscriberResult> results = bus.postAsync(PostEvent.create().setTaskId("order").setEvent("fail")).get();
+		assertFalse(results.get(0).isSuccess());
+
+		assertEquals(61, bus.deadLetters().getTotal());
+		// the failed events no longer pin their segments
+		assertTrue(directory.list().length <= 2);
+		assertEquals(0, reopen(directory).size());
+	}
+
+	private List<EventJournal.Entry> reopen(File directory) throws IOException {
+		journal.close();
+		journal = open(directory);
+		return journal.recover();
+	}
+
+	private static EventJournal open(File directory) throws IOException {
+		return new EventJournal(directory, 1024, 10L, new BinaryEventSerializer());
+	}
+
+	public static class Listener {
+
+		@Subscribe(taskId = "order")
+		public void on(String event) {
+			if ("fail".equals(event)) {
+				throw new IllegalStateException("rejected " + event);
+			}
+		}
+	}
+}
@@ -0,0 +1,198 @@
+package com.hechuan.event.notice.journal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.hechuan.event.notice.codec.BinaryEventSerializer;
+import com.hechuan.event.notice.driver.PostEvent;
+
+/**
+ * {@link EventJournal} 的确认、分段回收与恢复测试
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class EventJournalTest {
+
+	private static final int SEGMENT_SIZE = 1024;
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private EventJournal journal;
+
+	@After
+	public void tearDown() {
+		if (journal != null) {
+			journal.close();
+		}
+	}
+
+	@Test
+	public void unacknowledgedEventsAreRecovered() throws IOException {
+		File directory = folder.getRoot();
+		journal = open(directory);
+		long first = journal.append(event("first"));
+		long second = journal.append(event("second"));
+		long third = journal.append(event("third"));
+		journal.acknowledge(second);
+		journal.close();
+
+		journal = open(directory);
+		List<EventJournal.Entry> entries = journal.recover();
+
+		assertEquals(2, entries.size());
+		assertEquals(first, entries.get(0).getSequence());
+		assertEquals("first", entries.get(0).getPostEvent().getEvent());
+		assertEquals(third, entries.get(1).getSequence());
+		assertEquals("third", entries.get(1).getPostEvent().getEvent());
+		assertTrue(journal.recover().isEmpty());
+	}
+
+	@Test
+	public void recoveryStopsAtATruncatedRecord() throws IOException {
+		File directory = folder.getRoot();
+		journal = open(directory);
+		journal.append(event("first"));
+		journal.append(event("second"));
+		journal.append(event("torn"));
+		journal.close();
+		tearLastRecord(segmentFiles(directory)[0]);
+
+		journal = open(directory);
+		List<EventJournal.Entry> entries = journal.recover();
+
+		assertEquals(2, entries.size());
+		assertEquals("first", entries.get(0).getPostEvent().getEvent());
+		assertEquals("second", entries.get(1).getPostEvent().getEvent());
+
+		// the journal keeps going past the torn record
+		long next = journal.append(event("next"));
+		journal.close();
+		journal = open(directory);
+		entries = journal.recover();
+		assertEquals(3, entries.size());
+		assertEquals(next, entries.get(2).getSequence());
+		assertEquals("next", entries.get(2).getPostEvent().getEvent());
+	}
+
+	@Test
+	public void acknowledgedSegmentsAreReclaimed() throws IOException {
+		File directory = folder.getRoot();
+		journal = open(directory);
+		long[] sequences = new long[100];
+		for (int i = 0; i < sequences.length; i++) {
+			sequences[i] = journal.append(event("event-" + i));
+		}
+		assertTrue(segmentFiles(directory).length > 2);
+
+		for (long sequence : sequences) {
+			journal.acknowledge(sequence);
+		}
+
+		assertTrue(Arrays.toString(segmentFiles(directory)), segmentFiles(directory).length <= 2);
+	}
+
+	@Test
+	public void repeatedAcknowledgementIsIgnored() throws IOException {
+		File directory = folder.getRoot();
+		journal = open(directory);
+		long[] sequences = new long[40];
+		for (int i = 0; i < sequences.length; i++) {
+			sequences[i] = journal.append(event("event-" + i));
+		}
+		// acknowledging the first event many times must not free the segment of the others
+		for (int i = 0; i < sequences.length; i++) {
+			journal.acknowledge(sequences[0]);
+		}
+		journal.close();
+
+		journal = open(directory);
+		assertEquals(sequences.length - 1, journal.recover().size());
+	}
+
+	@Test
+	public void acknowledgementAfterReclaimIsIgnored() throws IOException {
+		File directory = folder.getRoot();
+		journal = open(directory);
+		long[] sequences = new long[100];
+		for (int i = 0; i < sequences.length; i++) {
+			sequences[i] = journal.append(event("event-" + i));
+		}
+		for (long sequence : sequences) {
+			journal.acknowledge(sequence);
+		}
+		long pending = journal.append(event("pending"));
+		for (long sequence : sequences) {
+			journal.acknowledge(sequence);
+		}
+		journal.close();
+
+		journal = open(directory);
+		List<EventJournal.Entry> entries = journal.recover();
+		assertEquals(1, entries.size());
+		assertEquals(pending, entries.get(0).getSequence());
+	}
+
+	private static EventJournal open(File directory) throws IOException {
+		return new EventJournal(directory, SEGMENT_SIZE, 10L, new BinaryEventSerializer());
+	}
+
+	private static PostEvent event(String payload) {
+		return PostEvent.create().setTaskId("journal").setEvent(payload);
+	}
+
+	private static File[] segmentFiles(File directory) {
+		File[] files = directory.listFiles(new FilenameFilter() {
+			@Override
+			public boolean accept(File dir, String name) {
+				return name.endsWith(".journal");
+			}
+		});
+		Arrays.sort(files);
+		return files;
+	}
+
+	/**
+	 * Zeroes the second half of the last record of {@code segment}, as a
+	 * crash in the middle of writing it would leave it.
+	 */
+	private static void tearLastRecord(File segment) throws IOException {
+		RandomAccessFile file = new RandomAccessFile(segment, "rw");
+		try {
+			int position = 8;
+			int last = -1;
+			while (true) {
+				file.seek(position);
+				int length = file.readInt();
+				file.seek(position + 8);
+				if (file.readByte() == 0) {
+					break;
+				}
+				last = position;
+				position += 17 + length;
+			}
+			int end = position;
+			int from = last + (end - last) / 2;
+			file.seek(from);
+			file.write(new byte[end - from]);
+		} finally {
+			file.close();
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package com.hechuan.event.notice.journal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import com.hechuan.event.notice.driver.PostEvent;
+import com.hechuan.event.notice.driver.Priority;
+
+/**
+ * {@link JavaEventSerializer} 的往返测试
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class JavaEventSerializerTest {
+
+	private final JavaEventSerializer serializer = new JavaEventSerializer();
+
+	@Test
+	public void deserializeRestoresEveryPriority() throws IOException {
+		for (Priority priority : Priority.values()) {
+			ByteBuffer buffer = ByteBuffer.allocate(1024);
+			serializer.serialize(PostEvent.create().setTaskId("task").setPriority(priority).setEvent("payload"), buffer);
+			buffer.flip();
+
+			PostEvent copy = serializer.deserialize(buffer);
+
+			assertEquals("task", copy.getTaskId());
+			assertEquals(priority, copy.getPriority());
+			assertEquals("payload", copy.getEvent());
+		}
+	}
+}
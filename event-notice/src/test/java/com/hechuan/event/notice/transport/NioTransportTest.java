@@ -0,0 +1,118 @@
+package com.hechuan.event.notice.transport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.hechuan.event.notice.driver.PostEvent;
+import com.hechuan.event.notice.driver.Priority;
+import com.hechuan.event.notice.driver.Subscribe;
+import com.hechuan.event.notice.driver.TaskEventBus;
+import com.hechuan.event.notice.event.TaskEvent;
+
+/**
+ * {@link NioTransport} 与 {@link NioTransportServer} 的本机回环测试，两端均使用默认编解码器
+ *
+ * @author hechuan
+ *
+ * @created 2026年10月17日
+ *
+ * @version 1.0.0
+ */
+public class NioTransportTest {
+
+	private static final long TIMEOUT_SECONDS = 10L;
+
+	private final BlockingQueue<String> delivered = new LinkedBlockingQueue<String>();
+	private final List<NioTransport> transports = Lists.newArrayList();
+	private TaskEventBus bus;
+	private NioTransportServer server;
+
+	@Before
+	public void setUp() {
+		bus = new TaskEventBus("remote");
+		bus.register(new Listener());
+	}
+
+	@After
+	public void tearDown() {
+		for (NioTransport transport : transports) {
+			transport.close();
+		}
+		if (server != null) {
+			server.close();
+		}
+	}
+
+	@Test
+	public void defaultEndsExchangeTaskEvents() throws Exception {
+		start(new InboundEndpoint(bus));
+		NioTransport transport = connect();
+
+		for (int i = 0; i < 100; i++) {
+			assertTrue(transport.send(PostEvent.create().setTaskId("order").setPriority(Priority.HIGH)
+					.setEvent(new TaskEvent("order-" + i))));
+		}
+
+		for (int i = 0; i < 100; i++) {
+			assertEquals("order-" + i, delivered.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+		}
+		assertEquals(100, server.getReceived());
+		assertEquals(0, server.getMalformed());
+	}
+
+	@Test
+	public void failingEndpointClosesOnlyItsConnection() throws Exception {
+		start(new InboundEndpoint(bus) {
+			@Override
+			public int receive(List<PostEvent> postEvents) {
+				for (PostEvent postEvent : postEvents) {
+					if ("poison".equals(((TaskEvent) postEvent.getEvent()).getTaskId())) {
+						throw new IllegalArgumentException("poisoned");
+					}
+				}
+				return super.receive(postEvents);
+			}
+		});
+
+		connect().send(PostEvent.create().setTaskId("order").setEvent(new TaskEvent("poison")));
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+		while (server.getReceived() == 0 && System.nanoTime() < deadline) {
+			Thread.sleep(10L);
+		}
+		assertEquals(1, server.getReceived());
+
+		connect().send(PostEvent.create().setTaskId("order").setEvent(new TaskEvent("order-1")));
+		assertEquals("order-1", delivered.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+	}
+
+	private void start(InboundEndpoint endpoint) throws IOException {
+		server = new NioTransportServer(new InetSocketAddress("127.0.0.1", 0), endpoint);
+		server.start();
+	}
+
+	private NioTransport connect() {
+		NioTransport transport = new NioTransport(server.localAddress());
+		transports.add(transport);
+		return transport;
+	}
+
+	public class Listener {
+
+		@Subscribe(taskId = "order")
+		public void on(TaskEvent event) {
+			delivered.add(event.getTaskId());
+		}
+	}
+}